@@ -0,0 +1,74 @@
+package com.booking.tests.jmh;
+
+import com.booking.tests.core.InProcessFilter;
+import com.booking.tests.core.InProcessHandler;
+import com.booking.tests.core.InProcessTransport;
+import com.booking.tests.core.SpecFactory;
+import com.booking.tests.core.TransportResponse;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * One POST /booking through Rest Assured, answered in-process (InProcessTransport: no socket).
+ * - bare:       Rest Assured alone, ending in the same in-process handler (baseline)
+ * - fullChain:  SpecFactory.requestJson() itself, i.e. exactly the filters every test request runs
+ *               (flight recorder, created-booking bookkeeping, correlation id, log-on-failure, retry,
+ *               tracing, metrics)
+ * The difference is the framework's own overhead per request. Run with -prof gc for bytes/op.
+ * The fork runs with cleanup.enabled=false, so the created id is parsed but no journal is written.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dcleanup.enabled=false")
+public class FilterChainBenchmark {
+
+    private RequestSpecification bare;
+    private RequestSpecification fullChain;
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        body = Fixtures.bookingJson();
+        TransportResponse created = new TransportResponse(200,
+                Map.of("Content-Type", List.of("application/json")), Fixtures.createResponseJson());
+        InProcessHandler handler = request -> created;
+
+        // installing drops the cached specs; the next requestJson() builds SpecFactory's own chain
+        // with this handler as its innermost filter
+        InProcessTransport.install(handler);
+        fullChain = SpecFactory.requestJson();
+        bare = new RequestSpecBuilder()
+                .setBaseUri("http://bench.invalid")
+                .setConfig(SpecFactory.restAssuredConfig())
+                .setContentType(ContentType.JSON)
+                .setAccept(ContentType.JSON)
+                .addFilter(new InProcessFilter(handler))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        InProcessTransport.uninstall();
+    }
+
+    @Benchmark
+    public int bare() {
+        return given().spec(bare).cookie("token", "abc123").body(body).post("/booking").statusCode();
+    }
+
+    @Benchmark
+    public int fullChain() {
+        return given().spec(fullChain).cookie("token", "abc123").body(body).post("/booking").statusCode();
+    }
+}
@@ -0,0 +1,25 @@
+package com.booking.tests.jmh;
+
+import com.booking.tests.builders.BookingBuilder;
+import com.booking.tests.core.Json;
+import com.booking.tests.models.BookingModels;
+
+import java.nio.charset.StandardCharsets;
+
+/** Payloads shared by the benchmarks: one realistic booking and the API's create response for it. */
+final class Fixtures {
+    private Fixtures() {}
+
+    static BookingModels.Booking booking() {
+        return new BookingBuilder().name("Jim", "Brown").price(111).needs("Breakfast").build();
+    }
+
+    static byte[] bookingJson() {
+        return Json.writeBytes(booking());
+    }
+
+    static byte[] createResponseJson() {
+        return ("{\"bookingid\":1,\"booking\":" + new String(bookingJson(), StandardCharsets.UTF_8) + "}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,50 @@
+package com.booking.tests.jmh;
+
+import com.booking.tests.core.Json;
+import com.booking.tests.models.BookingModels;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/** Booking <-> JSON with the shared mapper (Json), the path every typed BookingClient call takes. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonBenchmark {
+
+    private BookingModels.Booking booking;
+    private byte[] bookingJson;
+    private byte[] createResponseJson;
+
+    @Setup
+    public void setUp() {
+        booking = Fixtures.booking();
+        bookingJson = Fixtures.bookingJson();
+        createResponseJson = Fixtures.createResponseJson();
+    }
+
+    @Benchmark
+    public byte[] serializeBooking() {
+        return Json.writeBytes(booking);
+    }
+
+    @Benchmark
+    public BookingModels.Booking deserializeBooking() {
+        return Json.read(bookingJson, BookingModels.Booking.class);
+    }
+
+    /** Same bytes, read through an InputStream as StreamedResponse.as(...) does. */
+    @Benchmark
+    public BookingModels.Booking deserializeBookingFromStream() {
+        return Json.read(new ByteArrayInputStream(bookingJson), BookingModels.Booking.class);
+    }
+
+    @Benchmark
+    public BookingModels.CreateBookingResponse deserializeCreateResponse() {
+        return Json.read(createResponseJson, BookingModels.CreateBookingResponse.class);
+    }
+}
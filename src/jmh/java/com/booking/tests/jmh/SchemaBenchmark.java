@@ -0,0 +1,62 @@
+package com.booking.tests.jmh;
+
+import com.booking.tests.core.Json;
+import com.booking.tests.support.SchemaRegistry;
+import com.booking.tests.support.Schemas;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.hamcrest.Matcher;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.module.jsv.JsonSchemaValidator.matchesJsonSchemaInClasspath;
+
+/**
+ * JSON schema checks of a create-booking response.
+ * - classpathMatcher: matchesJsonSchemaInClasspath per check (load + compile every time; the old Schemas)
+ * - schemasMatcher:   body(Schemas.createResp()) today, backed by the precompiled SchemaRegistry
+ * - registryBytes / registryTree: SchemaRegistry.validate from raw bytes / an already-parsed tree
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchemaBenchmark {
+
+    private byte[] bytes;
+    private String text;
+    private JsonNode tree;
+    private Matcher<?> schemasMatcher;
+
+    @Setup
+    public void setUp() throws IOException {
+        bytes = Fixtures.createResponseJson();
+        text = new String(bytes, StandardCharsets.UTF_8);
+        tree = Json.mapper().readTree(bytes);
+        schemasMatcher = Schemas.createResp();
+    }
+
+    @Benchmark
+    public boolean classpathMatcher() {
+        return matchesJsonSchemaInClasspath(Schemas.CREATE_RESP).matches(text);
+    }
+
+    @Benchmark
+    public boolean schemasMatcher() {
+        return schemasMatcher.matches(text);
+    }
+
+    @Benchmark
+    public boolean registryBytes() {
+        return SchemaRegistry.validate(Schemas.CREATE_RESP, bytes).valid();
+    }
+
+    @Benchmark
+    public boolean registryTree() {
+        return SchemaRegistry.validate(Schemas.CREATE_RESP, tree).valid();
+    }
+}
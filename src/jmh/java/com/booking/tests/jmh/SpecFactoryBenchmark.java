@@ -0,0 +1,42 @@
+package com.booking.tests.jmh;
+
+import com.booking.tests.core.SpecFactory;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Cost of getting a request spec:
+ * - cached:  what every request pays today (map lookup)
+ * - rebuilt: what every request paid before specs were cached (build the filters and the spec;
+ *            the shared RA config, transports and token cache are left alone)
+ * - given:   cached spec merged into a fresh given(), i.e. the real per-request setup
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpecFactoryBenchmark {
+
+    private final SpecFactory.Profile profile = SpecFactory.Profile.defaults();
+
+    @Benchmark
+    public RequestSpecification cached() {
+        return SpecFactory.requestJson();
+    }
+
+    @Benchmark
+    public RequestSpecification rebuilt() {
+        return SpecFactory.build(profile);
+    }
+
+    @Benchmark
+    public RequestSpecification given_withCachedSpec() {
+        return given().spec(SpecFactory.requestJson());
+    }
+}
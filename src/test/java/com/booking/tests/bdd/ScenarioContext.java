@@ -0,0 +1,44 @@
+package com.booking.tests.bdd;
+
+import com.booking.tests.builders.PayloadTemplate;
+import com.booking.tests.models.BookingModels;
+import io.restassured.response.Response;
+
+/**
+ * State of one running scenario, shared by all its step classes.
+ *
+ * cucumber-picocontainer creates one instance per scenario (and one BookingClient) and hands the
+ * same ones to every step class that asks for them in its constructor:
+ * <pre>
+ *   public BookingLifecycleSteps(BookingClient client, ScenarioContext ctx) { ... }
+ * </pre>
+ * Step classes keep no state of their own, so scenarios can run in parallel
+ * (cucumber.execution.parallel.* in junit-platform.properties). A scenario runs on one thread
+ * from start to end, so nothing here needs locking. What is expensive and shared across scenarios
+ * (specs, tokens, schemas, templates) stays in the thread-safe caches: SpecFactory,
+ * BookingClient.tokens(), SchemaRegistry, PayloadTemplate.load.
+ */
+public class ScenarioContext {
+
+    /** Auth token of this scenario (from the shared token cache). */
+    public String token;
+
+    /** Booking this scenario is building or sent last. */
+    public BookingModels.Booking booking;
+
+    /** Parsed create response, and the id of the booking it created. */
+    public BookingModels.CreateBookingResponse created;
+    public int bookingId;
+
+    /** Booking as last read back (GET, or the PUT response). */
+    public BookingModels.Booking fetched;
+
+    /** Last raw response, for steps that assert any status. */
+    public Response response;
+
+    /** Status the scenario expects (e.g. from an Examples row), for later checks. */
+    public Integer expectedStatus;
+
+    /** Payload template chosen by the scenario (compiled and cached across scenarios). */
+    public PayloadTemplate template;
+}
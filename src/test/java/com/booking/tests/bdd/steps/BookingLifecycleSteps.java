@@ -1,5 +1,6 @@
 package com.booking.tests.bdd.steps;
 
+import com.booking.tests.bdd.ScenarioContext;
 import com.booking.tests.core.SpecFactory;
 import com.booking.tests.models.BookingClient;
 import com.booking.tests.models.BookingModels;
@@ -12,24 +13,25 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 public class BookingLifecycleSteps {
 
-    private final BookingClient client = new BookingClient();
+    // Both injected per scenario by cucumber-picocontainer (see ScenarioContext)
+    private final BookingClient client;
+    private final ScenarioContext ctx;
 
-    private String token;
-    private BookingModels.Booking request;
-    private BookingModels.CreateBookingResponse createResp;
-    private BookingModels.Booking fetched;
-    private int bookingId;
+    public BookingLifecycleSteps(BookingClient client, ScenarioContext ctx) {
+        this.client = client;
+        this.ctx = ctx;
+    }
 
     @Given("I have a valid auth token")
     public void i_have_a_valid_auth_token() {
-        token = client.createToken();
-        assertThat(token).isNotBlank();
+        ctx.token = client.createToken();
+        assertThat(ctx.token).isNotBlank();
     }
 
     @When("I create a booking for {string} {string}")
     public void i_create_a_booking_for(String firstname, String lastname) {
         // Build the Booking request using public fields
-        request = new BookingModels.Booking();
+        var request = ctx.booking = new BookingModels.Booking();
         request.firstname = firstname;
         request.lastname = lastname;
         request.totalprice = 123;
@@ -44,46 +46,46 @@ public class BookingLifecycleSteps {
         request.additionalneeds = "Breakfast";
 
         // Call BookingClient.create()
-        createResp = client.create(request);
-        bookingId = createResp.bookingid;  // access public field, not getBookingid()
+        ctx.created = client.create(request);
+        ctx.bookingId = ctx.created.bookingid;  // access public field, not getBookingid()
     }
 
     @Then("the booking should be created successfully")
     public void the_booking_should_be_created_successfully() {
-        assertThat(createResp).isNotNull();
-        assertThat(createResp.bookingid).isNotNull();
-        assertThat(createResp.booking).isNotNull();
+        assertThat(ctx.created).isNotNull();
+        assertThat(ctx.created.bookingid).isNotNull();
+        assertThat(ctx.created.booking).isNotNull();
     }
 
     @When("I fetch the booking by id")
     public void i_fetch_the_booking_by_id() {
-        fetched = client.get(bookingId);
+        ctx.fetched = client.get(ctx.bookingId);
     }
 
     @Then("the booking details should be {string} {string}")
     public void the_booking_details_should_be(String expectedFirst, String expectedLast) {
-        assertThat(fetched.firstname).isEqualTo(expectedFirst);
-        assertThat(fetched.lastname).isEqualTo(expectedLast);
+        assertThat(ctx.fetched.firstname).isEqualTo(expectedFirst);
+        assertThat(ctx.fetched.lastname).isEqualTo(expectedLast);
     }
 
     @When("I update the booking to add {string} as additional needs")
     public void i_update_the_booking_to_add_as_additional_needs(String additionalNeeds) {
         // Update the field directly
-        request.additionalneeds = additionalNeeds;
+        ctx.booking.additionalneeds = additionalNeeds;
 
         // Send update using BookingClient
-        BookingModels.Booking updated = client.update(bookingId, request, token);
-        fetched = updated; // keep latest state for further assertions
+        BookingModels.Booking updated = client.update(ctx.bookingId, ctx.booking);
+        ctx.fetched = updated; // keep latest state for further assertions
     }
 
     @Then("the updated booking should have {string} as additional needs")
     public void the_updated_booking_should_have_as_additional_needs(String expectedNeeds) {
-        assertThat(fetched.additionalneeds).isEqualTo(expectedNeeds);
+        assertThat(ctx.fetched.additionalneeds).isEqualTo(expectedNeeds);
     }
 
     @When("I delete the booking")
     public void i_delete_the_booking() {
-        client.delete(bookingId, token);
+        client.delete(ctx.bookingId);
     }
 
     @Then("the booking should no longer exist")
@@ -92,7 +94,7 @@ public class BookingLifecycleSteps {
         given()
                 .spec(SpecFactory.requestJson())
                 .when()
-                .get("/booking/{id}", bookingId)
+                .get("/booking/{id}", ctx.bookingId)
                 .then()
                 .statusCode(404);
     }
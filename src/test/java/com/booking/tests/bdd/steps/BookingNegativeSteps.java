@@ -1,17 +1,21 @@
 package com.booking.tests.bdd.steps;
 
+import com.booking.tests.bdd.ScenarioContext;
 import com.booking.tests.core.SpecFactory;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
 import io.qameta.allure.Step;
-import io.restassured.response.Response;
 
 import static io.restassured.RestAssured.given;
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class BookingNegativeSteps {
 
-    private Response response;
+    private final ScenarioContext ctx; // injected per scenario (see ScenarioContext)
+
+    public BookingNegativeSteps(ScenarioContext ctx) {
+        this.ctx = ctx;
+    }
 
     @When("I post a valid booking JSON to path {string}")
     @Step("POST valid booking JSON to path: {path}")
@@ -30,7 +34,7 @@ public class BookingNegativeSteps {
         }
         """;
 
-        response = given()
+        ctx.response = given()
                 .spec(SpecFactory.requestJson())   // reuse your global HTTP config
                 .body(body)
                 .when()
@@ -43,7 +47,7 @@ public class BookingNegativeSteps {
         // Deliberately broken JSON (missing quotes/commas etc.)
         String badBody = "{ this is : not valid json";
 
-        response = given()
+        ctx.response = given()
                 .spec(SpecFactory.requestJson())
                 .body(badBody)
                 .when()
@@ -53,7 +57,7 @@ public class BookingNegativeSteps {
     @Then("the negative response status code should be {int}")
     @Step("Verify negative response status code = {statusCode}")
     public void the_negative_response_status_code_should_be(int statusCode) {
-        assertThat(response).as("Response should not be null").isNotNull();
-        response.then().statusCode(statusCode);
+        assertThat(ctx.response).as("Response should not be null").isNotNull();
+        ctx.response.then().statusCode(statusCode);
     }
 }
@@ -0,0 +1,13 @@
+package com.booking.tests.bdd.steps;
+
+import com.booking.tests.stub.BookingEmulator;
+import io.cucumber.java.BeforeAll;
+
+/** With env = "stub", runs the scenarios against the in-JVM BookingEmulator (see stub/BookingEmulator). */
+public class EmulatorHooks {
+
+    @BeforeAll
+    public static void startEmulator() {
+        BookingEmulator.startIfEnabled();
+    }
+}
@@ -0,0 +1,28 @@
+package com.booking.tests.bdd.steps;
+
+import com.booking.tests.core.FlightRecorder;
+import io.cucumber.java.After;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Attaches the HTTP flight recorder (the last N exchanges of the scenario's thread)
+ * to a failed scenario; shows up in the Allure report through allure-cucumber7-jvm.
+ */
+public class FlightRecorderHooks {
+
+    @Before
+    public void clearRecorder() {
+        FlightRecorder.clear();
+    }
+
+    @After
+    public void attachOnFailure(Scenario scenario) {
+        if (scenario.isFailed() && !FlightRecorder.isEmpty()) {
+            scenario.attach(FlightRecorder.render().getBytes(StandardCharsets.UTF_8), "text/plain",
+                    "HTTP flight recorder");
+        }
+    }
+}
@@ -1,12 +1,12 @@
 package com.booking.tests.bdd.steps;
 
+import com.booking.tests.bdd.ScenarioContext;
 import com.booking.tests.models.BookingClient;
 import com.booking.tests.models.BookingModels;
 import io.cucumber.datatable.DataTable;
 import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
 import io.qameta.allure.Step;
-import io.restassured.response.Response;
 
 import java.time.LocalDate;
 import java.util.Map;
@@ -15,12 +15,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 public class PostBookingDataTableSteps {
 
-    private final BookingClient client = new BookingClient();
+    // Both injected per scenario by cucumber-picocontainer. Scenario state lives in ctx:
+    // booking (built from the DataTable), response (raw), created (parsed body), expectedStatus.
+    private final BookingClient client;
+    private final ScenarioContext ctx;
 
-    private BookingModels.Booking bookingRequest;                 // Request built from DataTable
-    private Response rawResponse;                                 // Raw HTTP response
-    private BookingModels.CreateBookingResponse bookingResponse;  // Parsed response body
-    private Integer expectedStatusCode;                           // For later checks
+    public PostBookingDataTableSteps(BookingClient client, ScenarioContext ctx) {
+        this.client = client;
+        this.ctx = ctx;
+    }
 
     @When("I create a booking without template using data")
     @Step("Create booking from DataTable without JSON template")
@@ -37,7 +40,7 @@ public class PostBookingDataTableSteps {
                 new BookingModels.BookingDates(checkin, checkout);
 
         // 3) Build BookingModels.Booking directly (no JSON template at all)
-        bookingRequest = new BookingModels.Booking();
+        var bookingRequest = ctx.booking = new BookingModels.Booking();
         bookingRequest.firstname       = data.get("firstname");
         bookingRequest.lastname        = data.get("lastname");
         bookingRequest.totalprice      = Integer.parseInt(data.get("totalprice"));
@@ -46,19 +49,19 @@ public class PostBookingDataTableSteps {
         bookingRequest.additionalneeds = data.get("additionalneeds");
 
         // 4) Call API via BookingClient (raw Response, so we can assert status & body)
-        rawResponse = client.createRaw(bookingRequest);
+        ctx.response = client.createRaw(bookingRequest);
     }
 
     @Then("the datatable booking response status code should be {int}")
     @Step("Verify datatable booking response status code = {statusCode}")
     public void the_datatable_booking_response_status_code_should_be(Integer statusCode) {
-        expectedStatusCode = statusCode;
+        ctx.expectedStatus = statusCode;
 
-        assertThat(rawResponse)
+        assertThat(ctx.response)
                 .as("Raw response must not be null")
                 .isNotNull();
 
-        rawResponse.then()
+        ctx.response.then()
                 .statusCode(statusCode);
     }
 
@@ -66,13 +69,13 @@ public class PostBookingDataTableSteps {
     @Step("Verify datatable booking response body matches DataTable")
     public void the_datatable_booking_details_should_match(DataTable expectedTable) {
 
-        assertThat(rawResponse)
+        assertThat(ctx.response)
                 .as("Raw response must not be null before verifying body")
                 .isNotNull();
 
         // Only verify body for successful 200 responses
-        if (expectedStatusCode != null && expectedStatusCode == 200) {
-            bookingResponse = rawResponse.then()
+        if (ctx.expectedStatus != null && ctx.expectedStatus == 200) {
+            var bookingResponse = ctx.created = ctx.response.then()
                     .extract()
                     .as(BookingModels.CreateBookingResponse.class);
 
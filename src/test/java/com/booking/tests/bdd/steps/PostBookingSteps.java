@@ -1,79 +1,60 @@
 package com.booking.tests.bdd.steps;
 
+import com.booking.tests.bdd.ScenarioContext;
+import com.booking.tests.builders.PayloadTemplate;
 import com.booking.tests.models.BookingClient;
 import com.booking.tests.models.BookingModels;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import io.cucumber.datatable.DataTable;
 import io.cucumber.java.en.*;
 import io.qameta.allure.Step;
-import io.restassured.response.Response;
 
-import java.io.InputStream;
-import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class PostBookingSteps {
 
-    private final BookingClient client = new BookingClient();
+    // Both injected per scenario by cucumber-picocontainer. Scenario state lives in ctx:
+    // template, response (raw, any status; the body is the template filled with Examples data),
+    // created (parsed, 200 only) and expectedStatus (from the Examples table).
+    private final BookingClient client;
+    private final ScenarioContext ctx;
 
-    private String jsonTemplate;                                  // RAW template with {{placeholders}}
-    private BookingModels.Booking bookingRequest;                 // Request object built from template + Examples data
-    private Response rawResponse;                                 // Raw HTTP response (for all status codes)
-    private BookingModels.CreateBookingResponse bookingResponse;  // Parsed response (for 200 only)
-    private Integer expectedStatusCode;                           // Store from Examples table
+    public PostBookingSteps(BookingClient client, ScenarioContext ctx) {
+        this.client = client;
+        this.ctx = ctx;
+    }
 
     @Given("I have booking template {string}")
     @Step("Load booking template: {templateName}")
-    public void i_have_booking_template(String templateName) throws Exception {
-        String path = "payloads/" + templateName;
-
-        InputStream is = getClass().getClassLoader().getResourceAsStream(path);
-        assertThat(is)
-                .as("Template file %s must exist under src/test/resources/payloads", path)
-                .isNotNull();
-
-        jsonTemplate = new String(is.readAllBytes(), StandardCharsets.UTF_8);
-        assertThat(jsonTemplate).isNotBlank();
+    public void i_have_booking_template(String templateName) {
+        // Read and compiled once per template name for the whole run (see PayloadTemplate),
+        // not once per scenario / Examples row.
+        ctx.template = PayloadTemplate.load(templateName);
+        assertThat(ctx.template.placeholders()).isNotEmpty();
     }
 
     @When("I create a booking with data")
     @Step("Create booking from Scenario Outline data")
-    public void i_create_a_booking_with_data(DataTable dataTable) throws Exception {
-        // Convert DataTable (key | value) into Map<String, String>
+    public void i_create_a_booking_with_data(DataTable dataTable) {
+        // Convert DataTable (key | value) into Map<String, String>; an empty cell is null
         Map<String, String> data = dataTable.asMap(String.class, String.class);
 
-        // Replace placeholders {{key}} in the JSON template
-        String resolvedJson = jsonTemplate;
-        for (Map.Entry<String, String> entry : data.entrySet()) {
-            String key = entry.getKey();       // e.g. "firstname"
-            String value = entry.getValue();   // e.g. "John" or "100" or "true"
-            String placeholder = "{{" + key + "}}";
-            if (value == null) {
-                System.out.println("WARNING: DataTable value for key '" + key + "' is null. Replacing with empty string.");
-                value = "";
-            }
-            resolvedJson = resolvedJson.replace(placeholder, value);
-        }
-
-        // Map resolved JSON into BookingModels.Booking using Jackson
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());
-
-        bookingRequest = mapper.readValue(resolvedJson, BookingModels.Booking.class);
+        // Fill the {{placeholders}} (JSON-escaped) straight into UTF-8 bytes; a key the template
+        // does not have, or a placeholder without a key, fails here with both lists in the message
+        byte[] json = ctx.template.render(data);
 
-        // Call BookingClient.createRaw() so we can assert any status code (200, 400, etc.)
-        rawResponse = client.createRaw(bookingRequest);
+        // Post those bytes as they are (no Booking object parsed and re-serialized in between);
+        // createRaw() lets us assert any status code (200, 400, etc.)
+        ctx.response = client.createRaw(json);
     }
 
     @Then("the booking response status code should be {int}")
     @Step("Verify booking response status code = {statusCode}")
     public void the_booking_response_status_code_should_be(Integer statusCode) {
-        expectedStatusCode = statusCode;
-        assertThat(rawResponse).as("Raw response must not be null").isNotNull();
-        rawResponse.then().statusCode(statusCode);
+        ctx.expectedStatus = statusCode;
+        assertThat(ctx.response).as("Raw response must not be null").isNotNull();
+        ctx.response.then().statusCode(statusCode);
     }
 
     @Then("the booking firstname should be {string}")
@@ -81,14 +62,14 @@ public class PostBookingSteps {
     public void the_booking_firstname_should_be(String expectedFirstname) {
         // Only verify firstname for successful (200) responses.
         // For negative cases (400, etc.), we typically don't expect a booking object at all.
-        if (expectedStatusCode != null && expectedStatusCode == 200) {
-            bookingResponse = rawResponse.then()
+        if (ctx.expectedStatus != null && ctx.expectedStatus == 200) {
+            ctx.created = ctx.response.then()
                     .extract()
                     .as(BookingModels.CreateBookingResponse.class);
 
-            assertThat(bookingResponse).isNotNull();
-            assertThat(bookingResponse.booking).isNotNull();
-            assertThat(bookingResponse.booking.firstname).isEqualTo(expectedFirstname);
+            assertThat(ctx.created).isNotNull();
+            assertThat(ctx.created.booking).isNotNull();
+            assertThat(ctx.created.booking.firstname).isEqualTo(expectedFirstname);
         } else {
             // For non-200 cases, you can either:
             // - assert that 'booking' is null,
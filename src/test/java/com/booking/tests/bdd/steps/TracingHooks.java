@@ -0,0 +1,34 @@
+package com.booking.tests.bdd.steps;
+
+import com.booking.tests.core.Span;
+import com.booking.tests.core.Tracer;
+import io.cucumber.java.After;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+
+/**
+ * One trace per scenario: a root span that parents the client steps and HTTP calls it makes
+ * (see core/Tracer). Cucumber creates a new hooks instance per scenario, so a field is enough.
+ */
+public class TracingHooks {
+
+    private Span span;
+
+    @Before(order = 0)
+    public void startScenarioSpan(Scenario scenario) {
+        span = Tracer.start("Scenario: " + scenario.getName(), Span.Kind.INTERNAL, null)
+                .attribute("scenario.uri", scenario.getUri().toString())
+                .attribute("scenario.line", scenario.getLine())
+                .enter();
+    }
+
+    @After(order = 0)
+    public void endScenarioSpan(Scenario scenario) {
+        if (span != null) {
+            if (scenario.isFailed()) {
+                span.error("Scenario " + scenario.getStatus());
+            }
+            span.close();
+        }
+    }
+}
@@ -1,36 +1,41 @@
 package com.booking.tests.booking;
+import com.booking.tests.builders.BookingBuilder;
+import com.booking.tests.config.Config;
+import com.booking.tests.models.AsyncBookingClient;
 import com.booking.tests.models.BookingClient;
 import com.booking.tests.models.BookingModels.*;
-import net.datafaker.Faker;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import java.time.Duration;
+import java.util.List;
 import static org.assertj.core.api.Assertions.assertThat;
-import java.time.LocalDate;
 
+/**
+ * Ordered flow: each method builds on the previous one, so in parallel mode the methods stay
+ * on one thread in order (the class itself still runs alongside other classes).
+ * State lives in instance fields: one instance per class (PER_CLASS), nothing static.
+ */
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Execution(ExecutionMode.SAME_THREAD)
 @Tag("e2e")
 public class BookingLifecycleTest extends com.booking.tests.support.BaseTest {
-    static BookingClient client;
-    static Faker faker;
-    static int bookingId;
-    static String token;
+    private BookingClient client;
+    private Booking booking;
+    private int bookingId;
+    private String token;
 
     @BeforeAll
-    static void init() {
+    void init() {
         client = new BookingClient();
-        faker = new Faker();
         token = client.createToken();
         assertThat(token).isNotBlank();
     }
 
     @Test @Order(1)
     void createBooking() {
-        var b = new Booking();
-        b.firstname = faker.name().firstName();
-        b.lastname  = faker.name().lastName();
-        b.totalprice = faker.number().numberBetween(80, 400);
-        b.depositpaid = true;
-        b.bookingdates = new BookingDates(LocalDate.of(2025, 12, 20), LocalDate.of(2025, 12, 22));
-        b.additionalneeds = "Breakfast";
+        // pre-generated, seeded data with a name no other test gets (see TestDataPool)
+        var b = booking = BookingBuilder.unique().build();
 
         var resp = client.create(b);
         bookingId = resp.bookingid;
@@ -43,24 +48,41 @@ public class BookingLifecycleTest extends com.booking.tests.support.BaseTest {
     void getBooking() {
         var got = client.get(bookingId);
         assertThat(got).isNotNull();
-        assertThat(got.bookingdates.checkin).isEqualTo(LocalDate.of(2025, 12, 20));
+        assertThat(got.bookingdates.checkin).isEqualTo(booking.bookingdates.checkin);
     }
 
     @Test @Order(3)
+    void listBookings_byName_containsIt() {
+        var byName = new BookingFilter().firstname(booking.firstname).lastname(booking.lastname);
+        assertThat(client.listIds(byName)).contains(bookingId);
+        try (var ids = client.streamIds(null)) {
+            assertThat(ids.nextPage(5)).isNotEmpty().hasSizeLessThanOrEqualTo(5);
+        }
+    }
+
+    @Test @Order(4)
+    void getBooking_async_fanOut() {
+        // timeouts, cancellation and fail-fast are covered against a scripted handler in AsyncBookingClientTest
+        var async = new AsyncBookingClient().withTimeout(Duration.ofMillis(Config.timeoutMs()));
+        var got = async.getAll(List.of(bookingId, bookingId, bookingId)).join();
+        assertThat(got).hasSize(3).allSatisfy(b -> assertThat(b.lastname).isEqualTo(booking.lastname));
+    }
+
+    @Test @Order(5)
     void updateBooking_lastnameChanges() {
         var update = client.get(bookingId);
         update.lastname = "Updated";
-        var updated = client.update(bookingId, update, token);
+        var updated = client.update(bookingId, update);
         assertThat(updated.lastname).isEqualTo("Updated");
     }
 
-    @Test @Order(4)
+    @Test @Order(6)
     void deleteBooking_andVerifyGone() {
-        client.delete(bookingId, token);
+        client.delete(bookingId);
         // A subsequent GET commonly returns 404 or 418/Not Found depending on reset timing;
         // For simplicity, we just try and assert non-200:
         io.restassured.RestAssured.given()
-                .when().get("https://restful-booker.herokuapp.com/booking/{id}", bookingId)
+                .when().get(Config.baseUrl() + "/booking/{id}", bookingId)
                 .then().statusCode(org.hamcrest.Matchers.anyOf(
                         org.hamcrest.Matchers.is(404), org.hamcrest.Matchers.is(418), org.hamcrest.Matchers.is(405)
                 ));
@@ -0,0 +1,35 @@
+package com.booking.tests.booking;
+
+import com.booking.tests.config.Config;
+import com.booking.tests.load.LoadEngine;
+import com.booking.tests.load.LoadReport;
+import com.booking.tests.support.BaseTest;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the load profile from the {@code load} block of application.conf.
+ * Skipped unless asked for: {@code mvn test -Dtest=BookingLoadTest -Dload.enabled=true}
+ * (override any setting inline, e.g. {@code -Dload.model=closed -Dload.users=50}).
+ */
+@Tag("load")
+@Execution(ExecutionMode.SAME_THREAD)
+@EnabledIfSystemProperty(named = "load.enabled", matches = "true")
+class BookingLoadTest extends BaseTest {
+
+    @Test
+    void bookingFlow_underConfiguredLoad_staysWithinErrorBudget() {
+        LoadReport report = LoadEngine.fromConfig().run();
+        report.writeHgrm(Path.of(Config.stringOr("load.reportDir", "target/load")));
+
+        assertThat(report.iterations()).isPositive();
+        assertThat(report.errorRate()).isLessThanOrEqualTo(Config.doubleOr("load.maxErrorRate", 0.01));
+    }
+}
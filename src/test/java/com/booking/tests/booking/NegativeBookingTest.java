@@ -1,5 +1,6 @@
 package com.booking.tests.booking;
 
+import com.booking.tests.config.Config;
 import com.booking.tests.core.SpecFactory;
 import com.booking.tests.models.BookingClient;
 import com.booking.tests.models.BookingModels.Booking;
@@ -23,12 +24,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 class NegativeBookingTest extends BaseTest {
 
     private final BookingClient client = new BookingClient();
-    private static final String BASE = "https://restful-booker.herokuapp.com";
 
     @Test
     void auth_withBadCredentials_shouldNotReturnToken() {
         // Correct JSON body
-        var resp = given().baseUri(BASE).contentType("application/json")
+        var resp = given().baseUri(Config.baseUrl()).contentType("application/json")
                 .body("""
                   {"username":"admin","password":"wrong"}
                   """)
@@ -137,7 +137,7 @@ class NegativeBookingTest extends BaseTest {
            "bookingdates":{"checkin":"2025-12-01","checkout":"2025-12-02"}}
           """;
 
-        given().baseUri(BASE)
+        given().baseUri(Config.baseUrl())
                 .header("Content-Type", "text/plain") // intentional misuse
                 .body(payload)
                 .when().post("/booking")
@@ -1,5 +1,7 @@
 package com.booking.tests.booking;
 
+import com.booking.tests.builders.BookingBuilder;
+import com.booking.tests.config.Config;
 import com.booking.tests.core.SpecFactory;
 import com.booking.tests.models.BookingClient;
 import com.booking.tests.models.BookingModels.Booking;
@@ -12,9 +14,11 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.time.LocalDate;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import static io.restassured.RestAssured.given;
@@ -30,7 +34,6 @@ import static io.restassured.RestAssured.given;
 @DisplayName("Negative test boilerplate (add scenarios here)")
 public class NegativeSuiteTemplate extends BaseTest {
 
-    private static final String BASE = "https://restful-booker.herokuapp.com";
     private final BookingClient client = new BookingClient();
 
     // ---------------------------------------------------------------------------
@@ -57,7 +60,7 @@ public class NegativeSuiteTemplate extends BaseTest {
         @DisplayName("PUT without token/basic => 401 or 403")
         void put_withoutAuth_shouldBe401or403() {
             var created = client.create(aValidBooking());
-            Neg.putNoAuthExpecting(aValidBooking(), "/booking/" + created.bookingid, 401, 403);
+            Neg.putNoAuthExpecting(aValidBooking(), "/booking/{id}", Map.of("id", created.bookingid), 401, 403);
         }
 
         @Test
@@ -74,7 +77,7 @@ public class NegativeSuiteTemplate extends BaseTest {
         @Test
         @DisplayName("Auth with bad creds returns reason, not token")
         void auth_withBadCreds_shouldReturnReason() {
-            given().baseUri(BASE).contentType("application/json")
+            given().baseUri(Config.baseUrl()).contentType("application/json")
                     .body("""
                 {"username":"admin","password":"wrong"}
                 """)
@@ -149,7 +152,7 @@ public class NegativeSuiteTemplate extends BaseTest {
         {"firstname":"CT","lastname":"Wrong","totalprice":100,"depositpaid":true,
          "bookingdates":{"checkin":"2025-12-01","checkout":"2025-12-02"}}
         """;
-            Neg.postWithContentType(BASE, "text/plain", payload, "/booking", 400, 415, 500);
+            Neg.postWithContentType(Config.baseUrl(), "text/plain", payload, "/booking", 400, 415, 500);
         }
 
         // TODO: add: missing Accept header, unexpected charset, gzip mismatch, etc.
@@ -205,7 +208,14 @@ public class NegativeSuiteTemplate extends BaseTest {
         {"firstname":"P","lastname":"CT","totalprice":100,"depositpaid":true,
          "bookingdates":{"checkin":"2025-12-01","checkout":"2025-12-02"}}
         """;
-            Neg.postWithContentType(BASE, ct, payload, "/booking", 400, 415, 500);
+            Neg.postWithContentType(Config.baseUrl(), ct, payload, "/booking", 400, 415, 500);
+        }
+
+        /** One required field dropped from an otherwise valid, pooled booking (see BookingBuilder.Invalid). */
+        @ParameterizedTest(name = "[{index}] POST /booking {0} -> should fail")
+        @EnumSource(BookingBuilder.Invalid.class)
+        void post_withInvalidVariant_shouldFail(BookingBuilder.Invalid kind) {
+            Neg.postExpecting(BookingBuilder.unique().invalid(kind).build(), "/booking", 400, 500);
         }
     }
 
@@ -2,13 +2,13 @@ package com.booking.tests.booking;
 
 
 
+import com.booking.tests.builders.BookingBuilder;
+import com.booking.tests.config.Config;
+import com.booking.tests.core.SpecFactory;
 import com.booking.tests.models.BookingClient;
-import com.booking.tests.models.BookingModels.*;
 import com.booking.tests.support.Schemas;
 import io.qameta.allure.Epic;
-import net.datafaker.Faker;
 import org.junit.jupiter.api.Test;
-import java.time.LocalDate;
 
 import static io.restassured.module.jsv.JsonSchemaValidator.matchesJsonSchemaInClasspath;
 import static io.restassured.RestAssured.given;
@@ -18,7 +18,6 @@ import static org.assertj.core.api.Assertions.assertThat;
 class SchemaContractTest extends com.booking.tests.support.BaseTest{
 
     private final BookingClient client = new BookingClient();
-    private final Faker faker = new Faker();
 
     @Test
     void authResponse_matchesSchema() {
@@ -27,7 +26,7 @@ class SchemaContractTest extends com.booking.tests.support.BaseTest{
 
         // Re-hit /auth to validate schema on-wire (not just extracted)
         given()
-                .baseUri("https://restful-booker.herokuapp.com")
+                .baseUri(Config.baseUrl())
                 .contentType("application/json")
                 .body("""
         {"username":"admin","password":"password123"}
@@ -39,18 +38,11 @@ class SchemaContractTest extends com.booking.tests.support.BaseTest{
 
     @Test
     void createAndGetBooking_matchSchemas() {
-        var req = new Booking();
-        req.firstname = faker.name().firstName();
-        req.lastname = faker.name().lastName();
-        req.totalprice = faker.number().numberBetween(90, 300);
-        req.depositpaid = true;
-        req.bookingdates = new BookingDates(LocalDate.of(2025, 12, 20), LocalDate.of(2025, 12, 22));
-        req.additionalneeds = "Breakfast";
+        var req = BookingBuilder.unique().build();
 
-        // Validate create response
+        // Validate create response (through the shared spec, so the booking is cleaned up)
         given()
-                .baseUri("https://restful-booker.herokuapp.com")
-                .contentType("application/json")
+                .spec(SpecFactory.requestJson())
                 .body(req)
                 .when().post("/booking")
                 .then().statusCode(200)
@@ -59,7 +51,7 @@ class SchemaContractTest extends com.booking.tests.support.BaseTest{
         // Fetch the created booking id using typed client then validate GET schema
         var created = new BookingClient().create(req);
         given()
-                .baseUri("https://restful-booker.herokuapp.com")
+                .baseUri(Config.baseUrl())
                 .when().get("/booking/{id}", created.bookingid)
                 .then().statusCode(200)
                 .body(Schemas.booking());
@@ -3,10 +3,33 @@ package com.booking.tests.builders;
 import com.booking.tests.models.BookingModels;
 import java.time.LocalDate;
 
+/**
+ * Fluent bookings for tests. {@code new BookingBuilder()} is one fixed, valid booking (stable
+ * fixtures, benchmarks); {@link #unique()} starts from the next booking of the shared
+ * {@link TestDataPool} instead: seeded, pre-generated, with a name no other test in the run gets.
+ * {@link #invalid(Invalid)} breaks it in one known way for negative tests.
+ */
 public final class BookingBuilder {
-    private final BookingModels.Booking b = new BookingModels.Booking();
+
+    /** Ways to make a booking the API must reject (each drops one required field). */
+    public enum Invalid {
+        NO_FIRSTNAME, NO_LASTNAME, NO_BOOKINGDATES, NO_CHECKIN, NO_CHECKOUT;
+
+        void applyTo(BookingModels.Booking b) {
+            switch (this) {
+                case NO_FIRSTNAME -> b.firstname = null;
+                case NO_LASTNAME -> b.lastname = null;
+                case NO_BOOKINGDATES -> b.bookingdates = null;
+                case NO_CHECKIN -> b.bookingdates = new BookingModels.BookingDates(null, b.bookingdates.checkout);
+                case NO_CHECKOUT -> b.bookingdates = new BookingModels.BookingDates(b.bookingdates.checkin, null);
+            }
+        }
+    }
+
+    private final BookingModels.Booking b;
 
     public BookingBuilder() {
+        b = new BookingModels.Booking();
         b.firstname = "John";
         b.lastname = "Doe";
         b.totalprice = 150;
@@ -14,9 +37,18 @@ public final class BookingBuilder {
         b.bookingdates = new BookingModels.BookingDates(LocalDate.of(2025, 12, 20), LocalDate.of(2025, 12, 22));
         b.additionalneeds = "Breakfast";
     }
+
+    private BookingBuilder(BookingModels.Booking from) {
+        b = from;
+    }
+
+    /** Starts from the next pooled booking (unique name, seeded price/dates/needs). */
+    public static BookingBuilder unique() { return new BookingBuilder(TestDataPool.shared().next()); }
+
     public BookingBuilder name(String f, String l){ b.firstname=f; b.lastname=l; return this; }
     public BookingBuilder price(int p){ b.totalprice=p; return this; }
     public BookingBuilder dates(LocalDate in, LocalDate out){ b.bookingdates = new BookingModels.BookingDates(in,out); return this; }
     public BookingBuilder needs(String n){ b.additionalneeds=n; return this; }
+    public BookingBuilder invalid(Invalid kind){ kind.applyTo(b); return this; }
     public BookingModels.Booking build(){ return b; }
 }
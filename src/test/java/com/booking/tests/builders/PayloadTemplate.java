@@ -0,0 +1,289 @@
+package com.booking.tests.builders;
+
+import com.booking.tests.core.Json;
+import com.fasterxml.jackson.core.JsonProcessingException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * A JSON payload with {@code {{name}}} placeholders (src/test/resources/payloads), compiled once:
+ * the text between placeholders is stored as UTF-8 bytes and every placeholder as a slot, so
+ * {@link #render(Map)} only copies those bytes and writes the values in between. No file I/O,
+ * no scanning and no String building per render; the result is the request body as-is.
+ *
+ * Each slot knows where it sits:
+ * - inside a JSON string ({@code "{{firstname}}"}): the value is written JSON-escaped;
+ * - as a bare value ({@code {{totalprice}}}): a number, true, false or null goes in as-is, an empty
+ *   value (or null) becomes null and anything else a JSON string, so the body always stays valid
+ *   JSON and a bad value is rejected by the API, not by our own parser.
+ *
+ * Checked when compiled: placeholder syntax and that the payload is well-formed JSON.
+ * Checked on every render: no placeholder without a value, no value without a placeholder.
+ * {@link #load(String)} caches by name; templates are immutable and shared across threads.
+ */
+public final class PayloadTemplate {
+
+    private static final ConcurrentMap<String, PayloadTemplate> CACHE = new ConcurrentHashMap<>();
+    private static final Pattern NAME = Pattern.compile("[A-Za-z_][A-Za-z0-9_.-]*");
+    private static final Pattern JSON_LITERAL = Pattern.compile("-?(0|[1-9]\\d*)(\\.\\d+)?([eE][+-]?\\d+)?|true|false|null");
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+
+    private final String name;
+    private final byte[][] literals;   // literals[i] comes before slot i; one more than slots
+    private final String[] slots;
+    private final boolean[] quoted;    // slot sits inside a JSON string
+    private final Set<String> names;   // distinct slot names, sorted
+    private final int literalBytes;
+
+    private PayloadTemplate(String name, byte[][] literals, String[] slots, boolean[] quoted) {
+        this.name = name;
+        this.literals = literals;
+        this.slots = slots;
+        this.quoted = quoted;
+        this.names = Collections.unmodifiableSortedSet(new TreeSet<>(Arrays.asList(slots)));
+        int n = 0;
+        for (byte[] l : literals) n += l.length;
+        this.literalBytes = n;
+    }
+
+    /** The compiled {@code payloads/<name>} from the test classpath; read and compiled once per name. */
+    public static PayloadTemplate load(String name) {
+        return CACHE.computeIfAbsent(name, PayloadTemplate::readResource);
+    }
+
+    private static PayloadTemplate readResource(String name) {
+        String path = "payloads/" + name;
+        try (InputStream in = PayloadTemplate.class.getClassLoader().getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalArgumentException("No payload template " + path + " under src/test/resources");
+            }
+            return compile(name, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read payload template " + path, e);
+        }
+    }
+
+    /** Compiles {@code text}; fails with IllegalArgumentException on a bad placeholder or malformed JSON. */
+    public static PayloadTemplate compile(String name, String text) {
+        List<byte[]> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        List<Boolean> quoted = new ArrayList<>();
+        boolean inString = false;
+        int from = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '{' && i + 1 < text.length() && text.charAt(i + 1) == '{') {
+                int end = text.indexOf("}}", i + 2);
+                if (end < 0) {
+                    throw new IllegalArgumentException(name + ": unclosed '{{' at " + position(text, i));
+                }
+                String slot = text.substring(i + 2, end).trim();
+                if (!NAME.matcher(slot).matches()) {
+                    throw new IllegalArgumentException(name + ": bad placeholder '{{" + slot + "}}' at " + position(text, i));
+                }
+                literals.add(text.substring(from, i).getBytes(StandardCharsets.UTF_8));
+                slots.add(slot);
+                quoted.add(inString);
+                i = end + 1;
+                from = end + 2;
+            } else if (c == '"') {
+                inString = !inString;
+            } else if (c == '\\' && inString) {
+                i++; // skip the escaped char (\" does not end the string)
+            }
+        }
+        literals.add(text.substring(from).getBytes(StandardCharsets.UTF_8));
+
+        boolean[] q = new boolean[quoted.size()];
+        for (int i = 0; i < q.length; i++) q[i] = quoted.get(i);
+        PayloadTemplate template = new PayloadTemplate(name, literals.toArray(byte[][]::new), slots.toArray(String[]::new), q);
+        template.checkWellFormed();
+        return template;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /** Placeholder names, sorted (each once, however often it appears). */
+    public Set<String> placeholders() {
+        return names;
+    }
+
+    /**
+     * The payload with every placeholder replaced, as UTF-8 JSON.
+     *
+     * @param values one entry per placeholder (String, Number, Boolean or null); see the class doc
+     * @throws IllegalArgumentException if a placeholder has no entry or an entry has no placeholder
+     */
+    public byte[] render(Map<String, ?> values) {
+        checkKeys(values);
+        Out out = new Out(literalBytes + slots.length * 16);
+        for (int i = 0; i < slots.length; i++) {
+            out.write(literals[i]);
+            Object v = values.get(slots[i]);
+            if (quoted[i]) {
+                out.escaped(v == null ? "" : v.toString());
+            } else {
+                bare(out, v);
+            }
+        }
+        out.write(literals[slots.length]);
+        return out.bytes();
+    }
+
+    private static void bare(Out out, Object v) {
+        if (v == null || (v instanceof CharSequence s && s.isEmpty())) {
+            out.write(NULL);
+        } else if (v instanceof Number || v instanceof Boolean) {
+            out.ascii(v.toString());
+        } else {
+            String s = v.toString();
+            if (JSON_LITERAL.matcher(s).matches()) {
+                out.ascii(s);
+            } else {
+                out.quoted(s);
+            }
+        }
+    }
+
+    private void checkKeys(Map<String, ?> values) {
+        if (values.size() == names.size() && names.containsAll(values.keySet())) {
+            return; // the usual case: exactly the placeholders
+        }
+        Set<String> missing = new TreeSet<>(names);
+        missing.removeAll(values.keySet());
+        Set<String> unknown = new TreeSet<>(values.keySet());
+        unknown.removeAll(names);
+        throw new IllegalArgumentException(name + ": " + (missing.isEmpty() ? "" : "no value for " + missing)
+                + (missing.isEmpty() || unknown.isEmpty() ? "" : ", ")
+                + (unknown.isEmpty() ? "" : "no placeholder for " + unknown) + " (placeholders: " + names + ")");
+    }
+
+    /** Renders with placeholder values of the right shape and parses the result. */
+    private void checkWellFormed() {
+        Map<String, Object> sample = new LinkedHashMap<>();
+        for (String n : names) sample.put(n, "0");
+        try {
+            Json.mapper().readTree(render(sample));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException(name + ": not valid JSON once placeholders are filled in: "
+                    + e.getOriginalMessage() + " at " + e.getLocation().offsetDescription(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String position(String text, int index) {
+        int line = 1;
+        int col = 1;
+        for (int i = 0; i < index; i++) {
+            if (text.charAt(i) == '\n') {
+                line++;
+                col = 1;
+            } else {
+                col++;
+            }
+        }
+        return "line " + line + ", column " + col;
+    }
+
+    /** Growable byte buffer with JSON-escaping UTF-8 writes. */
+    private static final class Out {
+        private byte[] buf;
+        private int len;
+
+        Out(int capacity) {
+            buf = new byte[Math.max(64, capacity)];
+        }
+
+        void write(byte[] b) {
+            ensure(b.length);
+            System.arraycopy(b, 0, buf, len, b.length);
+            len += b.length;
+        }
+
+        void ascii(String s) {
+            ensure(s.length());
+            for (int i = 0; i < s.length(); i++) buf[len++] = (byte) s.charAt(i);
+        }
+
+        void quoted(String s) {
+            ensure(1);
+            buf[len++] = '"';
+            escaped(s);
+            ensure(1);
+            buf[len++] = '"';
+        }
+
+        /** {@code s} as the inside of a JSON string: quote, backslash and control chars escaped, UTF-8. */
+        void escaped(String s) {
+            ensure(s.length() * 3);
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (c == '"' || c == '\\') {
+                    buf[len++] = '\\';
+                    buf[len++] = (byte) c;
+                } else if (c < 0x20) {
+                    ensure(6 + s.length() * 3);
+                    buf[len++] = '\\';
+                    switch (c) {
+                        case '\n' -> buf[len++] = 'n';
+                        case '\r' -> buf[len++] = 'r';
+                        case '\t' -> buf[len++] = 't';
+                        case '\b' -> buf[len++] = 'b';
+                        case '\f' -> buf[len++] = 'f';
+                        default -> {
+                            buf[len++] = 'u';
+                            buf[len++] = '0';
+                            buf[len++] = '0';
+                            buf[len++] = HEX[c >> 4];
+                            buf[len++] = HEX[c & 0xF];
+                        }
+                    }
+                } else if (c < 0x80) {
+                    buf[len++] = (byte) c;
+                } else if (c < 0x800) {
+                    buf[len++] = (byte) (0xC0 | (c >> 6));
+                    buf[len++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, s.charAt(++i));
+                    buf[len++] = (byte) (0xF0 | (cp >> 18));
+                    buf[len++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    buf[len++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    buf[len++] = (byte) (0x80 | (cp & 0x3F));
+                } else {
+                    char e = Character.isSurrogate(c) ? '\uFFFD' : c; // lone surrogate: not encodable
+                    buf[len++] = (byte) (0xE0 | (e >> 12));
+                    buf[len++] = (byte) (0x80 | ((e >> 6) & 0x3F));
+                    buf[len++] = (byte) (0x80 | (e & 0x3F));
+                }
+            }
+        }
+
+        byte[] bytes() {
+            return len == buf.length ? buf : Arrays.copyOf(buf, len);
+        }
+
+        private void ensure(int extra) {
+            if (len + extra > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + extra));
+            }
+        }
+    }
+}
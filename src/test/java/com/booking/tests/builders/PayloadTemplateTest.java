@@ -0,0 +1,96 @@
+package com.booking.tests.builders;
+
+import com.booking.tests.core.Json;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@Tag("unit")
+class PayloadTemplateTest {
+
+    private final PayloadTemplate template = PayloadTemplate.compile("t.json",
+            "{\"name\":\"{{name}}\",\"price\":{{price}},\"note\":\"say \\\"{{note}}\\\" twice\",\"same\":{{name}}}");
+
+    @Test
+    void slots_knowWhetherTheySitInAString() {
+        String json = render(Map.of("name", "42", "price", "42", "note", "x"));
+
+        assertThat(json).isEqualTo("{\"name\":\"42\",\"price\":42,\"note\":\"say \\\"x\\\" twice\",\"same\":42}");
+        assertThat(template.placeholders()).containsExactly("name", "note", "price");
+    }
+
+    @Test
+    void bareSlots_takeLiteralsAsIs_andQuoteAnythingElse() throws IOException {
+        var values = new HashMap<String, Object>();
+        values.put("name", "abc");
+        values.put("price", "");
+        values.put("note", "n");
+        assertThat(render(values)).contains("\"price\":null").contains("\"same\":\"abc\"");
+
+        values.put("name", "true");
+        values.put("price", 12.5);
+        assertThat(render(values)).contains("\"price\":12.5").contains("\"same\":true");
+
+        values.put("price", null);
+        values.put("name", "1e");
+        JsonNode parsed = parse(values);
+        assertThat(parsed.get("price").isNull()).isTrue();
+        assertThat(parsed.get("same").asText()).isEqualTo("1e");
+    }
+
+    @Test
+    void stringSlots_areEscaped() throws IOException {
+        String tricky = "q\" b\\ nl\n tab\t ctl\u0001 e\u00e9 euro\u20ac smile\uD83D\uDE00";
+        JsonNode parsed = parse(Map.of("name", tricky, "price", 1, "note", "x"));
+
+        assertThat(parsed.get("name").asText()).isEqualTo(tricky);
+        assertThat(parsed.get("same").asText()).isEqualTo(tricky);
+        assertThat(render(Map.of("name", "\u0001", "price", 1, "note", "x"))).contains("\"name\":\"\\u0001\"");
+    }
+
+    @Test
+    void loneSurrogate_becomesReplacementChar() throws IOException {
+        JsonNode parsed = parse(Map.of("name", "a\uD83Db", "price", 1, "note", "\uDE00"));
+
+        assertThat(parsed.get("name").asText()).isEqualTo("a\uFFFDb");
+        assertThat(parsed.get("note").asText()).isEqualTo("say \"\uFFFD\" twice");
+    }
+
+    @Test
+    void missingAndUnknownKeys_areNamed() {
+        assertThatThrownBy(() -> template.render(Map.of("name", "a", "price", 1, "extra", "x")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("no value for [note]")
+                .hasMessageContaining("no placeholder for [extra]")
+                .hasMessageContaining("placeholders: [name, note, price]");
+        assertThatThrownBy(() -> template.render(Map.of("name", "a", "price", 1)))
+                .hasMessageContaining("no value for [note]")
+                .hasMessageNotContaining("no placeholder");
+    }
+
+    @Test
+    void badTemplates_failWhenCompiled() {
+        assertThatThrownBy(() -> PayloadTemplate.compile("a.json", "{\"a\":\"{{name\"}"))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("unclosed '{{' at line 1, column 7");
+        assertThatThrownBy(() -> PayloadTemplate.compile("b.json", "{\"a\":{{1x}}}"))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("bad placeholder '{{1x}}'");
+        assertThatThrownBy(() -> PayloadTemplate.compile("c.json", "{\"a\":{{x}},}"))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("not valid JSON");
+    }
+
+    private String render(Map<String, ?> values) {
+        return new String(template.render(values), StandardCharsets.UTF_8);
+    }
+
+    private JsonNode parse(Map<String, ?> values) throws IOException {
+        return Json.mapper().readTree(template.render(values));
+    }
+}
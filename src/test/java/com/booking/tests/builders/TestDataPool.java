@@ -0,0 +1,281 @@
+package com.booking.tests.builders;
+
+import com.booking.tests.config.Config;
+import com.booking.tests.models.BookingModels;
+import net.datafaker.Faker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Seeded, pre-generated booking data, so no test builds a Faker or formats names on its own thread.
+ *
+ * The pool is generated once per (seed, size) with Datafaker into a compact file
+ * ({@code testdata.dir}/bookings-s&lt;seed&gt;-n&lt;size&gt;.bin) and memory-mapped read-only; later
+ * runs only map it. SuiteLifecycle opens it before the first test, so generation never lands in
+ * a measured path. File layout (big-endian):
+ * <pre>
+ *   int magic 'BKDP', int version, long seed, int size, int firstNames, int lastNames
+ *   firstNames x (short length, UTF-8 bytes), lastNames x (same)
+ *   size x 12-byte record: short first, short last, short price, byte deposit, byte needs,
+ *                          short checkin (days from today), byte nights, byte pad
+ * </pre>
+ *
+ * {@link #next()} hands out slots through one atomic cursor, so parallel threads never get the
+ * same one, and every slot has its own (firstname, lastname) pair. Once the pool is used up it
+ * starts over with "-2", "-3", ... appended to the last name: names stay unique within a run.
+ * The same seed gives every run (and every shard JVM) the same pairs, so {@link #next()} also
+ * appends a per-JVM run tag ({@code testdata.runTag}): "Brown-k3f9x", so a run on a shared
+ * environment never finds the bookings of another run, or another shard, under its names.
+ * Reads are absolute gets on the mapped buffer: no locks, no shared mutable state but the cursor.
+ */
+public final class TestDataPool {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TestDataPool.class);
+    private static final int MAGIC = 0x424B4450; // "BKDP"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 28;
+    private static final int RECORD_BYTES = 12;
+    private static final String[] NEEDS = {null, "Breakfast", "Late checkout", "Lunch", "Dinner", "Airport transfer"};
+
+    private static volatile TestDataPool shared;
+
+    private final long seed;
+    private final int size;
+    private final String[] firstNames;
+    private final String[] lastNames;
+    private final MappedByteBuffer records;
+    private final int recordsOffset;
+    private final LocalDate today = LocalDate.now();
+    private final AtomicLong cursor = new AtomicLong();
+    private final String runTag = runTag(Config.stringOr("testdata.runTag", "auto"));
+
+    private TestDataPool(long seed, int size, String[] firstNames, String[] lastNames,
+                         MappedByteBuffer records, int recordsOffset) {
+        this.seed = seed;
+        this.size = size;
+        this.firstNames = firstNames;
+        this.lastNames = lastNames;
+        this.records = records;
+        this.recordsOffset = recordsOffset;
+    }
+
+    /** The pool configured under {@code testdata} in application.conf, opened (or generated) on first use. */
+    public static TestDataPool shared() {
+        TestDataPool p = shared;
+        if (p == null) {
+            synchronized (TestDataPool.class) {
+                p = shared;
+                if (p == null) {
+                    long seed = Config.longOr("testdata.seed", 20240601L);
+                    int size = Config.intOr("testdata.size", 4096);
+                    Path dir = Path.of(Config.stringOr("testdata.dir", "target/test-data"));
+                    shared = p = open(dir.resolve("bookings-s" + seed + "-n" + size + ".bin"), seed, size);
+                }
+            }
+        }
+        return p;
+    }
+
+    /** Maps {@code file}, generating it first if it is missing or was written for another seed/size. */
+    public static TestDataPool open(Path file, long seed, int size) {
+        try {
+            if (!matches(file, seed, size)) {
+                long start = System.nanoTime();
+                generate(file, seed, size);
+                LOG.info("Generated {} bookings (seed {}) into {} in {} ms", size, seed, file,
+                        (System.nanoTime() - start) / 1_000_000);
+            }
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+                MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+                buf.position(HEADER_BYTES);
+                String[] first = readNames(buf, buf.getInt(20));
+                String[] last = readNames(buf, buf.getInt(24));
+                return new TestDataPool(seed, size, first, last, buf, buf.position());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the test-data pool " + file, e);
+        }
+    }
+
+    /** A fresh, unique booking; safe to mutate (each call builds new objects). */
+    public BookingModels.Booking next() {
+        long n = cursor.getAndIncrement();
+        var b = booking((int) (n % size), n / size);
+        if (!runTag.isEmpty()) {
+            b.lastname = b.lastname + "-" + runTag;
+        }
+        return b;
+    }
+
+    /** Slot {@code slot} as generated (same seed, same data, no run tag), without moving the cursor. */
+    public BookingModels.Booking get(int slot) {
+        if (slot < 0 || slot >= size) {
+            throw new IndexOutOfBoundsException("slot " + slot + " of " + size);
+        }
+        return booking(slot, 0);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    /** What {@link #next()} appends to the last names of this JVM ("" = nothing). */
+    public String runTag() {
+        return runTag;
+    }
+
+    /** Bookings handed out by {@link #next()} so far. */
+    public long used() {
+        return cursor.get();
+    }
+
+    private BookingModels.Booking booking(int slot, long round) {
+        int at = recordsOffset + slot * RECORD_BYTES;
+        var b = new BookingModels.Booking();
+        b.firstname = firstNames[records.getShort(at)];
+        b.lastname = round == 0 ? lastNames[records.getShort(at + 2)] : lastNames[records.getShort(at + 2)] + "-" + (round + 1);
+        b.totalprice = records.getShort(at + 4);
+        b.depositpaid = records.get(at + 6) != 0;
+        b.additionalneeds = NEEDS[records.get(at + 7)];
+        LocalDate checkin = today.plusDays(records.getShort(at + 8));
+        b.bookingdates = new BookingModels.BookingDates(checkin, checkin.plusDays(records.get(at + 10)));
+        return b;
+    }
+
+    /** "auto": 5 random base-36 characters, new for every JVM; "" or "none": no tag; else as given. */
+    private static String runTag(String configured) {
+        String tag = configured.trim();
+        if (tag.equals("auto")) {
+            long n = ThreadLocalRandom.current().nextLong(36L * 36 * 36 * 36 * 36);
+            return String.format("%5s", Long.toString(n, 36)).replace(' ', '0');
+        }
+        return tag.equals("none") ? "" : tag;
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // Generation (once per seed/size; also runnable on its own: main)
+    // ---------------------------------------------------------------------------------------------
+
+    /** Pre-generates the configured pool, e.g. in a CI cache step: {@code java ... TestDataPool}. */
+    public static void main(String[] args) {
+        TestDataPool p = shared();
+        System.out.println("Test-data pool ready: " + p.size() + " bookings, seed " + p.seed());
+    }
+
+    static void generate(Path file, long seed, int size) throws IOException {
+        Random random = new Random(seed);
+        Faker faker = new Faker(Locale.ENGLISH, random);
+        // enough distinct names for `size` distinct pairs, capped so an index fits a short
+        int perSide = (int) Math.min(4096, Math.max(64, Math.ceil(Math.sqrt(size)) * 2));
+        String[] first = distinct(() -> faker.name().firstName(), perSide);
+        String[] last = distinct(() -> faker.name().lastName(), perSide);
+        long pairs = (long) first.length * last.length;
+        if (pairs < size) {
+            throw new IllegalStateException("Only " + pairs + " distinct name pairs for testdata.size " + size);
+        }
+
+        int namesBytes = namesBytes(first) + namesBytes(last);
+        ByteBuffer buf = ByteBuffer.allocate(HEADER_BYTES + namesBytes + size * RECORD_BYTES);
+        buf.putInt(MAGIC).putInt(VERSION).putLong(seed).putInt(size).putInt(first.length).putInt(last.length);
+        writeNames(buf, first);
+        writeNames(buf, last);
+
+        // `size` distinct (first, last) pairs in seeded random order
+        Set<Long> used = new LinkedHashSet<>(size * 2);
+        while (used.size() < size) {
+            used.add(Math.floorMod(random.nextLong(), pairs));
+        }
+        for (long pair : used) {
+            buf.putShort((short) (pair % first.length))
+               .putShort((short) (pair / first.length))
+               .putShort((short) (50 + random.nextInt(451)))
+               .put((byte) (random.nextInt(10) < 7 ? 1 : 0))
+               .put((byte) random.nextInt(NEEDS.length))
+               .putShort((short) (7 + random.nextInt(359)))
+               .put((byte) (1 + random.nextInt(14)))
+               .put((byte) 0);
+        }
+
+        // write aside and move, so parallel forks never map a half-written file
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path tmp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        Files.write(tmp, buf.array());
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static boolean matches(Path file, long seed, int size) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) < HEADER_BYTES) {
+            return false;
+        }
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.allocate(HEADER_BYTES);
+            ch.read(head, 0);
+            head.flip();
+            return head.getInt() == MAGIC && head.getInt() == VERSION && head.getLong() == seed && head.getInt() == size;
+        }
+    }
+
+    private static String[] distinct(Supplier<String> names, int wanted) {
+        Set<String> out = new LinkedHashSet<>();
+        for (int tries = 0; out.size() < wanted && tries < wanted * 50; tries++) {
+            String name = names.get();
+            if (!name.isBlank() && name.length() <= 64) {
+                out.add(name);
+            }
+        }
+        return out.toArray(String[]::new);
+    }
+
+    private static int namesBytes(String[] names) {
+        int n = 0;
+        for (String s : names) {
+            n += 2 + s.getBytes(StandardCharsets.UTF_8).length;
+        }
+        return n;
+    }
+
+    private static void writeNames(ByteBuffer buf, String[] names) {
+        for (String s : names) {
+            byte[] utf8 = s.getBytes(StandardCharsets.UTF_8);
+            buf.putShort((short) utf8.length).put(utf8);
+        }
+    }
+
+    private static String[] readNames(ByteBuffer buf, int count) {
+        String[] names = new String[count];
+        for (int i = 0; i < count; i++) {
+            byte[] utf8 = new byte[buf.getShort()];
+            buf.get(utf8);
+            names[i] = new String(utf8, StandardCharsets.UTF_8);
+        }
+        return names;
+    }
+}
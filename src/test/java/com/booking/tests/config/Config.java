@@ -4,14 +4,39 @@ package com.booking.tests.config;
 import com.typesafe.config.ConfigFactory;
 
 public final class Config {
-    private static final com.typesafe.config.Config C =
-            ConfigFactory.parseResources("application.conf")
-                    .withFallback(ConfigFactory.load());
+    private static volatile com.typesafe.config.Config C = load();
+
+    // -Dkey=value wins over application-<env>.conf, which wins over application.conf
+    // (e.g. -Dload.ratePerSec=20, or -Denv=stub to pick up application-stub.conf).
+    private static com.typesafe.config.Config load() {
+        com.typesafe.config.Config base = ConfigFactory.systemProperties()
+                .withFallback(ConfigFactory.parseResources("application.conf"))
+                .withFallback(ConfigFactory.load());
+        String env = base.hasPath("env") ? base.getString("env") : "local";
+        return ConfigFactory.systemProperties()
+                .withFallback(ConfigFactory.parseResources("application-" + env + ".conf"))
+                .withFallback(base);
+    }
+
+    /** Re-read the config files (e.g. after a test changed system properties). */
+    public static synchronized void reload() {
+        ConfigFactory.invalidateCaches();
+        C = load();
+    }
 
     public static String env()      { return C.hasPath("env") ? C.getString("env") : "local"; }
     public static String baseUrl()   { return C.getString("baseUrl"); }
     public static int timeoutMs()    { return C.getInt("timeoutMs"); }
     public static String user()      { return C.getString("auth.username"); }
     public static String pass()      { return C.getString("auth.password"); }
-}
 
+    // Optional settings: fall back to a default when the key is absent.
+    public static int intOr(String path, int def)          { return C.hasPath(path) ? C.getInt(path) : def; }
+    public static long longOr(String path, long def)       { return C.hasPath(path) ? C.getLong(path) : def; }
+    public static double doubleOr(String path, double def) { return C.hasPath(path) ? C.getDouble(path) : def; }
+    public static boolean boolOr(String path, boolean def) { return C.hasPath(path) ? C.getBoolean(path) : def; }
+    public static String stringOr(String path, String def) { return C.hasPath(path) ? C.getString(path) : def; }
+    public static java.util.List<String> stringListOr(String path, java.util.List<String> def) {
+        return C.hasPath(path) ? C.getStringList(path) : def;
+    }
+}
@@ -9,6 +9,8 @@ package com.booking.tests.core;
 // (like headers, cookies, body, authentication, etc.) before it is sent.
 import io.restassured.specification.RequestSpecification;
 
+import java.util.function.Supplier;
+
 // Static import of RestAssured.given() method.
 // This allows us to call 'given()' directly without prefixing it with 'RestAssured.' every time.
 // 'given()' is the starting point in Rest Assured to build a request.
@@ -120,4 +122,72 @@ public abstract class ApiClient {
         // 'basic(user, pass)' sets the username and password.
         return givenJson().auth().preemptive().basic(user, pass);
     }
+
+    /**
+     * The HTTP backend used for typed calls (create/get/update/...).
+     *
+     * - By default this is Rest Assured (same spec and filters as givenJson()).
+     * - Set transport.backend = "jdk" in application.conf to use java.net.http.HttpClient
+     *   (HTTP/2, async) instead; see HttpTransport for the trade-offs.
+     */
+    protected HttpTransport transport() {
+        return Transports.configured();
+    }
+
+    /**
+     * The backend for calls that read the body as it arrives ({@link HttpTransport#stream}):
+     * {@link #transport()}, unless that is Rest Assured, whose filters read every body into memory
+     * before the caller sees it; then the JDK backend (the in-process handler while one is installed).
+     */
+    protected HttpTransport streamingTransport() {
+        HttpTransport t = transport();
+        return t == Transports.restAssured() ? Transports.named("jdk") : t;
+    }
+
+    /**
+     * Starts a trace span for one client operation and makes it current, so the HTTP spans of
+     * the call become its children. Usually through {@link #step(String, Supplier)}.
+     */
+    protected static Span step(String name) {
+        return Tracer.start(name, Span.Kind.INTERNAL).enter();
+    }
+
+    /**
+     * Runs one client operation in its own span (see {@link #step(String)}); a failure marks the
+     * span as failed before it is rethrown:
+     *     return step("BookingClient.get", () -> { ... });
+     */
+    protected static <T> T step(String name, Supplier<T> operation) {
+        Span span = step(name);
+        try {
+            return operation.get();
+        } catch (RuntimeException | Error e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.close();
+        }
+    }
+
+    /** Same as {@link #step(String, Supplier)} for an operation without a result. */
+    protected static void step(String name, Runnable operation) {
+        step(name, () -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    /**
+     * Fails with a readable AssertionError (like Rest Assured's statusCode(...) check)
+     * when the response does not have the expected status.
+     */
+    protected static TransportResponse expectStatus(TransportRequest request, TransportResponse response, int expected) {
+        if (response.status() != expected) {
+            String body = response.bodyAsString();
+            throw new AssertionError("Expected status code <" + expected + "> but was <" + response.status()
+                    + "> for " + request.describe() + ". Body: "
+                    + (body.length() > 500 ? body.substring(0, 500) + "..." : body));
+        }
+        return response;
+    }
 }
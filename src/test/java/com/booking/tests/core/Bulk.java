@@ -0,0 +1,107 @@
+package com.booking.tests.core;
+
+import com.booking.tests.config.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Runs one async call per input with bounded concurrency and an optional start rate, for bulk
+ * fixture work (BookingClient.createAll / deleteAll).
+ *
+ * The calling thread walks the inputs: it waits for the next start slot ({@code ratePerSec}),
+ * then for a free in-flight permit ({@code concurrency}), then starts the call and moves on.
+ * Results are collected per item in input order; one failure does not stop the others.
+ * Settings come from the {@code bulk} block in application.conf.
+ */
+public final class Bulk {
+
+    private static final Logger LOG = LoggerFactory.getLogger(Bulk.class);
+
+    /** concurrency = calls in flight at once; ratePerSec = starts per second (0 = no limit). */
+    public record Settings(int concurrency, double ratePerSec, String backend) {
+        public Settings {
+            concurrency = Math.max(1, concurrency);
+            ratePerSec = Math.max(0, ratePerSec);
+        }
+
+        public static Settings fromConfig() {
+            return new Settings(Config.intOr("bulk.concurrency", 16), Config.doubleOr("bulk.ratePerSec", 0),
+                    Config.stringOr("bulk.backend", "jdk"));
+        }
+
+        public Settings withConcurrency(int concurrency) {
+            return new Settings(concurrency, ratePerSec, backend);
+        }
+
+        public Settings withRatePerSec(double ratePerSec) {
+            return new Settings(concurrency, ratePerSec, backend);
+        }
+
+        /** The transport bulk calls go through (see Transports.named). */
+        public HttpTransport transport() {
+            return Transports.named(backend);
+        }
+    }
+
+    private Bulk() {}
+
+    public static <I, O> BulkResult<O> run(String name, Stream<I> inputs, Settings settings,
+                                           Function<I, CompletableFuture<O>> call) {
+        Semaphore inFlight = new Semaphore(settings.concurrency());
+        long interval = settings.ratePerSec() > 0 ? (long) (1e9 / settings.ratePerSec()) : 0;
+        List<CompletableFuture<BulkResult.Item<O>>> pending = new ArrayList<>();
+        long start = System.nanoTime();
+        long next = start;
+
+        Iterator<I> it = inputs.iterator();
+        for (int index = 0; it.hasNext(); index++) {
+            I input = it.next();
+            if (interval > 0) {
+                sleepUntil(next);
+                next = Math.max(next, System.nanoTime()) + interval; // no catch-up burst after a stall
+            }
+            inFlight.acquireUninterruptibly();
+            CompletableFuture<O> future;
+            try {
+                future = call.apply(input);
+            } catch (RuntimeException | AssertionError e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            int at = index;
+            pending.add(future
+                    .whenComplete((value, error) -> inFlight.release())
+                    .handle((value, error) -> new BulkResult.Item<>(at, error == null ? value : null, unwrap(error))));
+        }
+
+        List<BulkResult.Item<O>> items = new ArrayList<>(pending.size());
+        for (CompletableFuture<BulkResult.Item<O>> f : pending) {
+            items.add(f.join());
+        }
+        BulkResult<O> result = new BulkResult<>(name, items, Duration.ofNanos(System.nanoTime() - start));
+        LOG.info("{} (concurrency {}, {} via {})", result.summary(), settings.concurrency(),
+                interval > 0 ? "max " + settings.ratePerSec() + "/s" : "no rate limit", settings.backend());
+        return result;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private static void sleepUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
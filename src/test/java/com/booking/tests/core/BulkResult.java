@@ -0,0 +1,77 @@
+package com.booking.tests.core;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Outcome of a {@link Bulk} run: one {@link Item} per input, in input order, plus timing.
+ * A failed item keeps its error instead of failing the whole run; call {@link #requireAllOk()}
+ * when every item must succeed (typical for fixture seeding).
+ */
+public record BulkResult<T>(String name, List<Item<T>> items, Duration elapsed) {
+
+    /** Result for the input at {@code index}: a value, or the error that item failed with. */
+    public record Item<T>(int index, T value, Throwable error) {
+        public boolean ok() {
+            return error == null;
+        }
+    }
+
+    public int succeeded() {
+        int n = 0;
+        for (Item<T> item : items) {
+            if (item.ok()) n++;
+        }
+        return n;
+    }
+
+    public int failed() {
+        return items.size() - succeeded();
+    }
+
+    /** Values in input order; null where the item failed. */
+    public List<T> values() {
+        List<T> out = new ArrayList<>(items.size());
+        for (Item<T> item : items) {
+            out.add(item.value());
+        }
+        return out;
+    }
+
+    public List<Item<T>> failures() {
+        List<Item<T>> out = new ArrayList<>();
+        for (Item<T> item : items) {
+            if (!item.ok()) out.add(item);
+        }
+        return out;
+    }
+
+    /** Completed items per second of wall-clock time. */
+    public double perSecond() {
+        double secs = elapsed.toNanos() / 1e9;
+        return secs == 0 ? 0 : items.size() / secs;
+    }
+
+    /** The values, or an AssertionError naming the first few failures. */
+    public List<T> requireAllOk() {
+        List<Item<T>> failures = failures();
+        if (failures.isEmpty()) {
+            return values();
+        }
+        StringBuilder sb = new StringBuilder(name).append(": ").append(failures.size()).append(" of ")
+                .append(items.size()).append(" failed");
+        for (Item<T> f : failures.subList(0, Math.min(3, failures.size()))) {
+            sb.append("\n  #").append(f.index()).append(": ").append(f.error());
+        }
+        AssertionError error = new AssertionError(sb.toString());
+        error.initCause(failures.get(0).error());
+        throw error;
+    }
+
+    public String summary() {
+        return String.format(Locale.ROOT, "%s: %d ok, %d failed in %.2fs = %.0f/s",
+                name, succeeded(), failed(), elapsed.toNanos() / 1e9, perSecond());
+    }
+}
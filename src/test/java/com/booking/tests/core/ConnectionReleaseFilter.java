@@ -0,0 +1,24 @@
+package com.booking.tests.core;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Reads (buffers) every response body so its connection goes straight back to the pool.
+ * Why: Rest Assured only releases a connection when the body stream is consumed. A test that
+ * checks just the status code would otherwise keep its pooled connection leased forever.
+ * Must be the LAST filter so that every attempt (including retried ones) is released.
+ */
+public class ConnectionReleaseFilter implements Filter {
+    @Override
+    public Response filter(FilterableRequestSpecification req,
+                           FilterableResponseSpecification res,
+                           FilterContext ctx) {
+        Response response = ctx.next(req, res);
+        response.asByteArray(); // cached by RA; later asString()/as(...) reuse it
+        return response;
+    }
+}
@@ -0,0 +1,37 @@
+package com.booking.tests.core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.IOException;
+
+/**
+ * Records the id of every booking a successful POST /booking creates in {@link ResourceRegistry},
+ * so bookings created by raw requests (given().spec(...).post("/booking")) are cleaned up at the
+ * end of the run like those created by BookingClient. Sits outside RetryFilter: only the final
+ * response counts.
+ */
+public class CreatedBookingFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification req,
+                           FilterableResponseSpecification res,
+                           FilterContext ctx) {
+        Response response = ctx.next(req, res);
+        if (response.statusCode() == 200 && "POST".equals(req.getMethod())
+                && "/booking".equals(req.getUserDefinedPath())) {
+            try {
+                JsonNode created = Json.mapper().readTree(response.asByteArray());
+                ResourceRegistry.shared().record(created.path("bookingid").asInt(),
+                        created.path("booking").path("lastname").textValue());
+            } catch (IOException e) {
+                // not a create response; nothing to record
+            }
+        }
+        return response;
+    }
+}
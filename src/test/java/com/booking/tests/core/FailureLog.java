@@ -0,0 +1,201 @@
+package com.booking.tests.core;
+
+import com.booking.tests.config.Config;
+import io.restassured.http.Cookie;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Background logger for failed HTTP exchanges (used by the *LogOnFailureFilter classes).
+ *
+ * The request thread only takes a cheap snapshot (the request body by reference, a copy of the
+ * header list, at most {@code log.failures.maxBodyBytes} of the response body copied off its
+ * stream) and offers it to a bounded queue; it never formats, redacts or touches the console. A single daemon thread drains the queue, redacts with {@link Redactor}
+ * and writes one SLF4J record per exchange (logger "http.failures").
+ *
+ * If the queue is full the entry is dropped and counted, so a burst of failures slows nothing down.
+ * Call {@link #flush()} before the JVM exits (SuiteLifecycle does) to write what is still queued.
+ */
+public final class FailureLog {
+
+    private static final Logger LOG = LoggerFactory.getLogger("http.failures");
+
+    /** What we keep of one failed exchange until the writer gets to it. */
+    record Entry(boolean redact, String method, String uri, List<Header> headers, List<Cookie> cookies,
+                 Map<String, ?> query, Object requestBody,
+                 int status, String statusLine, List<Header> responseHeaders, byte[] responseBody,
+                 long responseLength) {}
+
+    private static final int MAX_BODY_BYTES = Math.max(0, Config.intOr("log.failures.maxBodyBytes", 8192));
+    private static final FailureLog INSTANCE = new FailureLog(
+            Config.intOr("log.failures.queueSize", 1024), Redactor.fromConfig());
+
+    private final BlockingQueue<Entry> queue;
+    private final Redactor redactor;
+    private final Redactor plain;
+    private final LongAdder dropped = new LongAdder();
+    /** Accepted and not yet written: queued, or taken by the writer and being formatted. */
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Thread writer;
+
+    private FailureLog(int capacity, Redactor redactor) {
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.redactor = redactor;
+        this.plain = redactor.capOnly();
+        this.writer = new Thread(this::drainForever, "failure-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /** Queue a failed exchange for logging; never blocks. {@code redact=false} logs secrets as-is. */
+    public static void submit(FilterableRequestSpecification req, Response response, boolean redact) {
+        byte[] head;
+        long length;
+        try (InputStream body = bodyStream(response)) {
+            head = body.readNBytes(MAX_BODY_BYTES);
+            length = head.length + body.available();
+        } catch (IOException e) {
+            head = new byte[0];
+            length = 0;
+        }
+        INSTANCE.offer(new Entry(redact, req.getMethod(), req.getURI(),
+                List.copyOf(req.getHeaders().asList()),
+                req.getCookies() == null ? List.of() : List.copyOf(req.getCookies().asList()),
+                req.getQueryParams(), req.getBody(),
+                response.statusCode(), response.statusLine(),
+                response.getHeaders() == null ? List.of() : List.copyOf(response.getHeaders().asList()),
+                head, length));
+    }
+
+    /**
+     * The response body as a stream that leaves it readable for the test. Behind SpecFactory's
+     * inner filters the body is already buffered and Rest Assured hands out a view of it; a body
+     * still on the wire would be consumed by reading it here, so it is buffered first (Rest Assured
+     * keeps that buffer for the test's own read).
+     */
+    private static InputStream bodyStream(Response response) {
+        InputStream in = response.asInputStream();
+        if (in == null) {
+            return InputStream.nullInputStream();
+        }
+        return in instanceof ByteArrayInputStream ? in : new ByteArrayInputStream(response.asByteArray());
+    }
+
+    /**
+     * Writes everything still queued and waits (up to 5 s) for the entry the writer thread may be
+     * in the middle of; call at the end of the run.
+     */
+    public static void flush() {
+        INSTANCE.drainNow();
+    }
+
+    /** Entries lost because the queue was full. */
+    public static long dropped() {
+        return INSTANCE.dropped.sum();
+    }
+
+    private void offer(Entry e) {
+        pending.incrementAndGet();
+        if (!queue.offer(e)) {
+            pending.decrementAndGet();
+            dropped.increment();
+        }
+    }
+
+    private void drainForever() {
+        long reportedDrops = 0;
+        while (true) {
+            try {
+                Entry e = queue.poll(1, TimeUnit.SECONDS);
+                if (e != null) {
+                    writeAndRelease(e);
+                }
+                long drops = dropped.sum();
+                if (drops > reportedDrops) {
+                    LOG.warn("{} failure log entries dropped (queue full)", drops - reportedDrops);
+                    reportedDrops = drops;
+                }
+            } catch (InterruptedException ie) {
+                return;
+            } catch (RuntimeException ex) {
+                // Logging must never break the test flow
+                LOG.warn("Failure log writer: {}", ex.toString());
+            }
+        }
+    }
+
+    private synchronized void drainNow() {
+        List<Entry> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        rest.forEach(this::writeAndRelease);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        try {
+            for (long left; pending.get() > 0 && (left = deadline - System.nanoTime()) > 0; ) {
+                TimeUnit.NANOSECONDS.timedWait(this, left);
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeAndRelease(Entry e) {
+        try {
+            write(e);
+        } finally {
+            if (pending.decrementAndGet() == 0) {
+                synchronized (this) {
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    private void write(Entry e) {
+        Redactor r = e.redact() ? redactor : plain;
+        var sb = new StringBuilder(1024);
+        sb.append("=== Request").append(e.redact() ? " (redacted)" : "").append(" ===\n");
+        sb.append(e.method()).append(' ').append(e.uri()).append('\n');
+        for (Header h : e.headers()) {
+            sb.append("Header: ").append(h.getName()).append(": ").append(r.value(h.getName(), h.getValue())).append('\n');
+        }
+        for (Cookie c : e.cookies()) {
+            sb.append("Cookie: ").append(c.getName()).append('=').append(r.value(c.getName(), c.getValue())).append('\n');
+        }
+        if (e.query() != null) {
+            e.query().forEach((k, v) -> sb.append("Query: ").append(k).append('=').append(r.value(k, String.valueOf(v))).append('\n'));
+        }
+        String body = requestBody(r, e.requestBody());
+        if (!body.isBlank()) {
+            sb.append("Body: ").append(body).append('\n');
+        }
+        sb.append("=== Response ===\n");
+        sb.append("Status: ").append(e.status()).append(" (").append(e.statusLine()).append(")\n");
+        for (Header h : e.responseHeaders()) {
+            sb.append("Header: ").append(h.getName()).append(": ").append(h.getValue()).append('\n');
+        }
+        sb.append("Body: ").append(r.body(e.responseBody(), e.responseLength()));
+        LOG.warn("{} {} -> {}\n{}", e.method(), e.uri(), e.status(), sb);
+    }
+
+    // Body as Rest Assured stored it: byte[] / String / char[] / anything else.
+    private static String requestBody(Redactor r, Object body) {
+        if (body == null) return "";
+        if (body instanceof byte[] bytes) return r.body(bytes);
+        return r.body(body instanceof char[] chars ? new String(chars) : body.toString());
+    }
+}
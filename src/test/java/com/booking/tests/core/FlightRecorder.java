@@ -0,0 +1,188 @@
+package com.booking.tests.core;
+
+import com.booking.tests.config.Config;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-thread "black box" of the last N HTTP exchanges, so a failed test can show the calls
+ * that led up to it, not just the one that returned >= 400.
+ *
+ * Hot path ({@link #record}): write a few fields into preallocated arrays of this thread's ring
+ * buffer - no formatting; bodies are kept by reference, as far as {@code flightRecorder.bodies} allows:
+ * - "truncate" (default): bodies up to maxBodyBytes by reference, larger ones as a copy of their
+ *   first maxBodyBytes (all the report ever shows), so a parsed 1 MB list is not pinned by the ring
+ * - "sample": like truncate, but only for failed exchanges (>= 400, no response) and every
+ *   {@code sampleEvery}-th one; "errors": failed exchanges only; "none": no bodies; "full": as received
+ * Everything expensive (redaction, truncation, text) happens in {@link #render()}, which only
+ * runs when a test has failed (see support/FlightRecorderExtension and bdd/steps/FlightRecorderHooks).
+ *
+ * Calls made on other threads (sendAsync, load engine, bulk helpers) land in those threads' buffers.
+ * Settings: {@code flightRecorder} block in application.conf.
+ */
+public final class FlightRecorder {
+
+    private static final boolean ENABLED = Config.boolOr("flightRecorder.enabled", true);
+    private static final int SIZE = Math.max(1, Config.intOr("flightRecorder.size", 32));
+    private static final Redactor REDACTOR = Redactor.fromConfig().withMaxBodyBytes(
+            Config.intOr("flightRecorder.maxBodyBytes", 2048));
+    private static final DateTimeFormatter TIME =
+            DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private static final Retention BODIES = Retention.valueOf(
+            Config.stringOr("flightRecorder.bodies", "truncate").toUpperCase(Locale.ROOT));
+    private static final int SAMPLE_EVERY = Math.max(1, Config.intOr("flightRecorder.sampleEvery", 10));
+    private static final int KEEP_BYTES = Math.max(0, Config.intOr("flightRecorder.maxBodyBytes", 2048));
+
+    /** What {@link #record} keeps of request/response bodies (flightRecorder.bodies). */
+    enum Retention { FULL, TRUNCATE, SAMPLE, ERRORS, NONE }
+
+    private static final ThreadLocal<Ring> RING = ThreadLocal.withInitial(() -> new Ring(SIZE));
+
+    private FlightRecorder() {}
+
+    /** Fixed-size slots, reused forever; {@code count} tells how many are valid. */
+    private static final class Ring {
+        final long[] startMillis;
+        final long[] durationNanos;
+        final int[] status;
+        final String[] method;
+        final String[] uri;
+        final Object[] requestBody;
+        final byte[][] responseBody;
+        final int[] responseLength; // as received; the kept body may be shorter or null
+        final Throwable[] error;
+        long count;
+
+        Ring(int size) {
+            startMillis = new long[size];
+            durationNanos = new long[size];
+            status = new int[size];
+            method = new String[size];
+            uri = new String[size];
+            requestBody = new Object[size];
+            responseBody = new byte[size][];
+            responseLength = new int[size];
+            error = new Throwable[size];
+        }
+
+        void clear() {
+            count = 0;
+            Arrays.fill(requestBody, null); // drop body references
+            Arrays.fill(responseBody, null);
+            Arrays.fill(error, null);
+        }
+    }
+
+    public static boolean enabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Records one exchange on the current thread.
+     *
+     * @param status      HTTP status, or -1 if there was no response
+     * @param requestBody body as the client held it (byte[], String, char[] or null)
+     * @param error       exception instead of a response, or null
+     */
+    public static void record(String method, String uri, long startMillis, long durationNanos, int status,
+                              Object requestBody, byte[] responseBody, Throwable error) {
+        if (!ENABLED) {
+            return;
+        }
+        Ring r = RING.get();
+        int i = (int) (r.count % r.status.length);
+        r.startMillis[i] = startMillis;
+        r.durationNanos[i] = durationNanos;
+        r.status[i] = status;
+        r.method[i] = method;
+        r.uri[i] = uri;
+        boolean keep = switch (BODIES) {
+            case FULL, TRUNCATE -> true;
+            case SAMPLE -> status < 0 || status >= 400 || r.count % SAMPLE_EVERY == 0;
+            case ERRORS -> status < 0 || status >= 400;
+            case NONE -> false;
+        };
+        r.requestBody[i] = keep ? retain(requestBody) : null;
+        r.responseBody[i] = keep ? retain(responseBody) : null;
+        r.responseLength[i] = responseBody == null ? 0 : responseBody.length;
+        r.error[i] = error;
+        r.count++;
+    }
+
+    private static <T> T retain(T body) {
+        if (BODIES == Retention.FULL) {
+            return body;
+        }
+        if (body instanceof byte[] bytes && bytes.length > KEEP_BYTES) {
+            @SuppressWarnings("unchecked")
+            T head = (T) Arrays.copyOf(bytes, KEEP_BYTES);
+            return head;
+        }
+        return body; // small, or a String/char[] the caller still holds anyway
+    }
+
+    /** Forget this thread's exchanges (start of a test / scenario). */
+    public static void clear() {
+        if (ENABLED) {
+            RING.get().clear();
+        }
+    }
+
+    public static boolean isEmpty() {
+        return !ENABLED || RING.get().count == 0;
+    }
+
+    /** This thread's recorded exchanges, oldest first, with redacted and truncated bodies. */
+    public static String render() {
+        Ring r = RING.get();
+        int size = r.status.length;
+        long first = Math.max(0, r.count - size);
+        var sb = new StringBuilder(512);
+        sb.append("Last ").append(r.count - first).append(" HTTP exchange(s) on ")
+          .append(Thread.currentThread().getName());
+        if (first > 0) {
+            sb.append(" (").append(first).append(" older ones overwritten)");
+        }
+        sb.append('\n');
+        for (long n = first; n < r.count; n++) {
+            int i = (int) (n % size);
+            sb.append('\n').append('#').append(n + 1).append(' ')
+              .append(TIME.format(Instant.ofEpochMilli(r.startMillis[i]))).append("  ")
+              .append(r.method[i]).append(' ').append(r.uri[i]).append(" -> ")
+              .append(r.status[i] < 0 ? "no response" : String.valueOf(r.status[i]))
+              .append(" in ").append(TimeUnit.NANOSECONDS.toMillis(r.durationNanos[i])).append(" ms\n");
+            String req = body(r.requestBody[i]);
+            if (!req.isEmpty()) {
+                sb.append("  request:  ").append(req).append('\n');
+            }
+            if (r.error[i] != null) {
+                sb.append("  error:    ").append(r.error[i]).append('\n');
+            } else if (r.responseBody[i] != null) {
+                String res = REDACTOR.body(r.responseBody[i]);
+                int cut = r.responseLength[i] - r.responseBody[i].length;
+                if (cut > 0) {
+                    res += "... (" + cut + " more bytes)";
+                }
+                if (!res.isEmpty()) {
+                    sb.append("  response: ").append(res).append('\n');
+                }
+            } else if (r.responseLength[i] > 0) {
+                sb.append("  response: (").append(r.responseLength[i]).append(" bytes, not kept: flightRecorder.bodies = ")
+                  .append(BODIES.name().toLowerCase(Locale.ROOT)).append(")\n");
+            }
+        }
+        return sb.toString();
+    }
+
+    private static String body(Object b) {
+        if (b == null) return "";
+        if (b instanceof byte[] bytes) return REDACTOR.body(bytes);
+        return REDACTOR.body(b instanceof char[] chars ? new String(chars) : b.toString());
+    }
+}
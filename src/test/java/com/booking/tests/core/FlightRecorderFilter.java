@@ -0,0 +1,35 @@
+package com.booking.tests.core;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Feeds every exchange (passing or not) into this thread's {@link FlightRecorder}.
+ * Put it FIRST so the timing covers retries and the other filters.
+ */
+public class FlightRecorderFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification req,
+                           FilterableResponseSpecification res,
+                           FilterContext ctx) {
+        if (!FlightRecorder.enabled()) {
+            return ctx.next(req, res);
+        }
+        long wall = System.currentTimeMillis();
+        long start = System.nanoTime();
+        try {
+            Response response = ctx.next(req, res);
+            FlightRecorder.record(req.getMethod(), req.getURI(), wall, System.nanoTime() - start,
+                    response.statusCode(), req.getBody(), response.asByteArray(), null);
+            return response;
+        } catch (Throwable t) {
+            FlightRecorder.record(req.getMethod(), req.getURI(), wall, System.nanoTime() - start,
+                    -1, req.getBody(), null, t);
+            throw t;
+        }
+    }
+}
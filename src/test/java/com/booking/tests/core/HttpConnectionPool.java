@@ -0,0 +1,361 @@
+package com.booking.tests.core;
+
+import com.booking.tests.config.Config;
+import org.apache.http.HttpHost;
+import org.apache.http.client.utils.URIUtils;
+import org.apache.http.conn.ClientConnectionManager;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ManagedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.scheme.PlainSocketFactory;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.ssl.SSLSocketFactory;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.params.BasicHttpParams;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.BasicHttpContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSocket;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One shared keep-alive connection pool behind every Rest Assured request.
+ *
+ * Why: by default Rest Assured creates a brand-new Apache HttpClient (and so a new TCP + TLS
+ * connection) for every call. Here all clients lease connections from the same pool, TLS
+ * sessions are resumed through one shared SSLContext, idle connections are evicted in the
+ * background, and we count what happens so the pool can be sized from real numbers.
+ *
+ * Rest Assured 5 is still built on the HttpClient 4 "AbstractHttpClient" API, hence the
+ * deprecated classes. Rest Assured shuts down a client's connection manager after each
+ * request; the manager we hand out ignores that, so only {@link #close()} ends the pool.
+ */
+@SuppressWarnings("deprecation")
+public final class HttpConnectionPool implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HttpConnectionPool.class);
+
+    private static volatile HttpConnectionPool shared;
+
+    /** Pool sizing, read from the {@code http.pool} block of application.conf. */
+    public record Settings(boolean enabled, int maxTotal, int maxPerRoute, long idleEvictMs,
+                           long keepAliveMs, long leaseTimeoutMs, int tlsSessionCacheSize, int prewarm) {
+
+        public static Settings fromConfig() {
+            return new Settings(
+                    Config.boolOr("http.pool.enabled", true),
+                    Config.intOr("http.pool.maxTotal", 64),
+                    Config.intOr("http.pool.maxPerRoute", 32),
+                    Config.longOr("http.pool.idleEvictMs", 30_000),
+                    Config.longOr("http.pool.keepAliveMs", 60_000),
+                    Config.longOr("http.pool.leaseTimeoutMs", 10_000),
+                    Config.intOr("http.pool.tlsSessionCacheSize", 256),
+                    Config.intOr("http.pool.prewarm", 0));
+        }
+    }
+
+    /** Point-in-time view of the pool; print it to size maxTotal/maxPerRoute. */
+    public record Stats(int leased, int available, int pending, int max,
+                        long leases, long leaseWaitNanosTotal, long leaseWaitNanosMax,
+                        long connectionsOpened, long tlsHandshakes, long tlsResumed) {
+
+        public double avgLeaseWaitMillis() {
+            return leases == 0 ? 0 : leaseWaitNanosTotal / 1e6 / leases;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "leased=%d available=%d pending=%d max=%d | leases=%d avgWait=%.3fms maxWait=%.3fms"
+                            + " | opened=%d tlsHandshakes=%d tlsResumed=%d",
+                    leased, available, pending, max, leases, avgLeaseWaitMillis(), leaseWaitNanosMax / 1e6,
+                    connectionsOpened, tlsHandshakes, tlsResumed);
+        }
+    }
+
+    private final Settings settings;
+    private final PoolingClientConnectionManager pool;
+    private final ClientConnectionManager sharedView;
+    private final ScheduledExecutorService evictor;
+
+    private final LongAdder leases = new LongAdder();
+    private final LongAdder leaseWaitNanos = new LongAdder();
+    private final LongAccumulator leaseWaitMax = new LongAccumulator(Math::max, 0);
+    private final LongAdder opened = new LongAdder();
+    private final LongAdder handshakes = new LongAdder();
+    private final LongAdder resumed = new LongAdder();
+
+    public HttpConnectionPool(Settings settings) {
+        this.settings = settings;
+
+        SchemeRegistry schemes = new SchemeRegistry();
+        schemes.register(new Scheme("http", 80, new CountingPlainSocketFactory()));
+        schemes.register(new Scheme("https", 443, new CountingSslSocketFactory(sharedSslContext())));
+
+        this.pool = new PoolingClientConnectionManager(schemes);
+        pool.setMaxTotal(settings.maxTotal());
+        pool.setDefaultMaxPerRoute(settings.maxPerRoute());
+        this.sharedView = new NonClosingTimedManager();
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "http-pool-evictor");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1_000, settings.idleEvictMs() / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /** The suite-wide pool, created on first use from application.conf. */
+    public static HttpConnectionPool shared() {
+        HttpConnectionPool p = shared;
+        if (p == null) {
+            synchronized (HttpConnectionPool.class) {
+                p = shared;
+                if (p == null) {
+                    shared = p = new HttpConnectionPool(Settings.fromConfig());
+                }
+            }
+        }
+        return p;
+    }
+
+    public static boolean enabled() {
+        return Config.boolOr("http.pool.enabled", true);
+    }
+
+    /** Close the shared pool if it was ever created (end of the test run). */
+    public static synchronized void closeShared() {
+        if (shared != null) {
+            shared.close();
+            shared = null;
+        }
+    }
+
+    public static boolean isStarted() {
+        return shared != null;
+    }
+
+    public Settings settings() {
+        return settings;
+    }
+
+    /** Client factory for {@code HttpClientConfig.httpClientFactory(...)}: cheap client, shared pool. */
+    public DefaultHttpClient newClient() {
+        DefaultHttpClient client = new DefaultHttpClient(sharedView);
+        client.setKeepAliveStrategy((response, context) -> {
+            long hint = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return hint > 0 ? Math.min(hint, settings.keepAliveMs()) : settings.keepAliveMs();
+        });
+        return client;
+    }
+
+    /**
+     * Open {@code connections} connections to {@code baseUrl} up front (TCP + TLS) and park
+     * them in the pool, so the first tests don't pay the handshake cost.
+     *
+     * @return how many connections were actually opened
+     */
+    public int prewarm(String baseUrl, int connections) {
+        HttpHost target = URIUtils.extractHost(URI.create(baseUrl));
+        boolean secure = pool.getSchemeRegistry().getScheme(target.getSchemeName()).isLayered();
+        HttpRoute route = new HttpRoute(target, null, secure);
+
+        HttpParams params = new BasicHttpParams();
+        HttpConnectionParams.setConnectionTimeout(params, Config.timeoutMs());
+        HttpConnectionParams.setSoTimeout(params, Config.timeoutMs());
+
+        // Lease all first so they are distinct connections, then open them concurrently.
+        List<ManagedClientConnection> leased = new ArrayList<>();
+        int ok = 0;
+        try (ExecutorService openers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < connections; i++) {
+                leased.add(sharedView.requestConnection(route, null)
+                        .getConnection(settings.leaseTimeoutMs(), TimeUnit.MILLISECONDS));
+            }
+            List<Future<?>> opening = new ArrayList<>();
+            for (ManagedClientConnection conn : leased) {
+                opening.add(openers.submit(() -> {
+                    conn.open(route, new BasicHttpContext(), params);
+                    conn.markReusable();
+                    return null;
+                }));
+            }
+            for (Future<?> f : opening) {
+                try {
+                    f.get();
+                    ok++;
+                } catch (Exception e) {
+                    LOG.warn("Pre-warm connection to {} failed: {}", baseUrl, e.toString());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ConnectionPoolTimeoutException e) {
+            LOG.warn("Pre-warm stopped: pool exhausted after {} connections", leased.size());
+        } finally {
+            for (ManagedClientConnection conn : leased) {
+                sharedView.releaseConnection(conn, settings.keepAliveMs(), TimeUnit.MILLISECONDS);
+            }
+        }
+        return ok;
+    }
+
+    public Stats stats() {
+        PoolStats total = pool.getTotalStats();
+        return new Stats(total.getLeased(), total.getAvailable(), total.getPending(), total.getMax(),
+                leases.sum(), leaseWaitNanos.sum(), leaseWaitMax.get(),
+                opened.sum(), handshakes.sum(), resumed.sum());
+    }
+
+    private void evictIdle() {
+        try {
+            pool.closeExpiredConnections();
+            pool.closeIdleConnections(settings.idleEvictMs(), TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            LOG.debug("Idle eviction failed", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        evictor.shutdownNow();
+        pool.shutdown();
+    }
+
+    private SSLContext sharedSslContext() {
+        try {
+            // One context == one client session cache, so repeat connections resume TLS sessions.
+            SSLContext ctx = SSLContext.getInstance("TLS");
+            ctx.init(null, null, null);
+            ctx.getClientSessionContext().setSessionCacheSize(settings.tlsSessionCacheSize());
+            return ctx;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot initialise TLS for the connection pool", e);
+        }
+    }
+
+    /** What every HttpClient sees: the shared pool, timed leases, and a shutdown() that does nothing. */
+    private final class NonClosingTimedManager implements ClientConnectionManager {
+
+        @Override
+        public SchemeRegistry getSchemeRegistry() {
+            return pool.getSchemeRegistry();
+        }
+
+        @Override
+        public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+            ClientConnectionRequest request = pool.requestConnection(route, state);
+            return new ClientConnectionRequest() {
+                @Override
+                public ManagedClientConnection getConnection(long timeout, TimeUnit unit)
+                        throws InterruptedException, ConnectionPoolTimeoutException {
+                    long start = System.nanoTime();
+                    try {
+                        return request.getConnection(timeout, unit);
+                    } finally {
+                        long waited = System.nanoTime() - start;
+                        leases.increment();
+                        leaseWaitNanos.add(waited);
+                        leaseWaitMax.accumulate(waited);
+                    }
+                }
+
+                @Override
+                public void abortRequest() {
+                    request.abortRequest();
+                }
+            };
+        }
+
+        @Override
+        public void releaseConnection(ManagedClientConnection conn, long validDuration, TimeUnit unit) {
+            pool.releaseConnection(conn, validDuration, unit);
+        }
+
+        @Override
+        public void closeIdleConnections(long idletime, TimeUnit unit) {
+            pool.closeIdleConnections(idletime, unit);
+        }
+
+        @Override
+        public void closeExpiredConnections() {
+            pool.closeExpiredConnections();
+        }
+
+        @Override
+        public void shutdown() {
+            // Intentionally ignored: Rest Assured calls this after every request.
+        }
+    }
+
+    private final class CountingPlainSocketFactory extends PlainSocketFactory {
+        @Override
+        public Socket connectSocket(Socket socket, InetSocketAddress remote, InetSocketAddress local,
+                                    HttpParams params) throws IOException {
+            opened.increment();
+            return super.connectSocket(socket, remote, local, params);
+        }
+    }
+
+    private final class CountingSslSocketFactory extends SSLSocketFactory {
+
+        CountingSslSocketFactory(SSLContext ctx) {
+            super(ctx, SSLSocketFactory.BROWSER_COMPATIBLE_HOSTNAME_VERIFIER);
+        }
+
+        @Override
+        public Socket createSocket(HttpParams params) throws IOException {
+            return watch(super.createSocket(params));
+        }
+
+        @Override
+        public Socket createLayeredSocket(Socket socket, String host, int port, HttpParams params)
+                throws IOException {
+            return watch(super.createLayeredSocket(socket, host, port, params));
+        }
+
+        @Override
+        public Socket connectSocket(Socket socket, InetSocketAddress remote, InetSocketAddress local,
+                                    HttpParams params) throws IOException {
+            opened.increment();
+            return super.connectSocket(socket, remote, local, params);
+        }
+
+        private Socket watch(Socket socket) {
+            if (socket instanceof SSLSocket ssl) {
+                long createdAt = System.currentTimeMillis();
+                ssl.addHandshakeCompletedListener(e -> {
+                    handshakes.increment();
+                    // A session older than the socket was resumed from the cache (no full handshake).
+                    if (e.getSession().getCreationTime() < createdAt) {
+                        resumed.increment();
+                    }
+                });
+            }
+            return socket;
+        }
+    }
+}
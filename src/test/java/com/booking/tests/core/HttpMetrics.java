@@ -0,0 +1,304 @@
+package com.booking.tests.core;
+
+import com.booking.tests.config.Config;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import java.util.zip.DataFormatException;
+
+/**
+ * Run-wide HTTP metrics per endpoint ("PUT /booking/{id}") and status class (2xx, 4xx, ..., "error"
+ * when there was no response): nanosecond latency histograms plus request, retry and byte counters.
+ * Fed by {@link MetricsFilter} (Rest Assured), JdkHttpTransport and RetryFilter.
+ *
+ * Lock-free on the hot path: the endpoint lookup is a ConcurrentHashMap get (a lock only the first
+ * time an endpoint is seen), latencies go into HdrHistogram {@link Recorder}s (wait-free writers)
+ * and counters are LongAdders. Percentiles are computed once, when the reports are written.
+ *
+ * At the end of the run SuiteLifecycle writes {@code http.prom} (Prometheus text format) and
+ * {@code http.json} to {@code metrics.dir} and attaches {@link #table()} to the Allure report.
+ */
+public final class HttpMetrics {
+
+    private static final boolean ENABLED = Config.boolOr("metrics.enabled", true);
+    private static final String[] STATUS_CLASSES = {"error", "1xx", "2xx", "3xx", "4xx", "5xx"};
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    /** Counters and latencies of one endpoint + status class. */
+    static final class Series {
+        final Recorder latency = new Recorder(3); // auto-resizing, nanoseconds
+        final Histogram total = new Histogram(3); // interval snapshots are folded in here at report time
+        final LongAdder count = new LongAdder();
+        final LongAdder retries = new LongAdder();
+        final LongAdder bytesOut = new LongAdder();
+        final LongAdder bytesIn = new LongAdder();
+    }
+
+    /** All status classes of one endpoint, preallocated, so recording never allocates. */
+    static final class Endpoint {
+        final String method;
+        final String route;
+        final Series[] byClass = new Series[STATUS_CLASSES.length];
+
+        Endpoint(String method, String route) {
+            this.method = method;
+            this.route = route;
+            for (int i = 0; i < byClass.length; i++) {
+                byClass[i] = new Series();
+            }
+        }
+    }
+
+    private static final ConcurrentMap<String, Endpoint> ENDPOINTS = new ConcurrentHashMap<>();
+
+    private HttpMetrics() {}
+
+    public static boolean enabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Records one HTTP attempt.
+     *
+     * @param route  path template, e.g. "/booking/{id}" (never the resolved path: keeps cardinality low)
+     * @param status HTTP status, or -1 if the call threw
+     */
+    public static void record(String method, String route, int status, long latencyNanos, long bytesOut, long bytesIn) {
+        if (!ENABLED) {
+            return;
+        }
+        Series s = series(method, route, status);
+        s.latency.recordValue(Math.max(0, latencyNanos));
+        s.count.increment();
+        if (bytesOut > 0) s.bytesOut.add(bytesOut);
+        if (bytesIn > 0) s.bytesIn.add(bytesIn);
+    }
+
+    /**
+     * Counts a retry (called by RetryFilter before it replays the request), under the status class
+     * of the attempt that is being retried (-1 if it threw).
+     */
+    public static void retry(String method, String route, int status) {
+        if (ENABLED) {
+            series(method, route, status).retries.increment();
+        }
+    }
+
+    private static Series series(String method, String route, int status) {
+        String key = method + ' ' + route;
+        Endpoint e = ENDPOINTS.get(key);
+        if (e == null) {
+            e = ENDPOINTS.computeIfAbsent(key, k -> new Endpoint(method, route));
+        }
+        return e.byClass[status >= 100 && status < 600 ? status / 100 : 0];
+    }
+
+    /** Forgets everything recorded so far. */
+    public static synchronized void reset() {
+        ENDPOINTS.clear();
+    }
+
+    /** One row of the summary: a non-empty endpoint + status class. */
+    public record Row(String method, String route, String statusClass, long count, long retries,
+                      long bytesOut, long bytesIn, Histogram latency) {
+
+        public boolean error() {
+            return !statusClass.equals("2xx") && !statusClass.equals("3xx") && !statusClass.equals("1xx");
+        }
+
+        public double millisAt(double percentile) {
+            return latency.getValueAtPercentile(percentile) / 1e6;
+        }
+    }
+
+    /** Snapshot of everything recorded so far, sorted by endpoint then status class. */
+    public static synchronized List<Row> rows() {
+        List<Row> rows = new ArrayList<>();
+        for (Endpoint e : ENDPOINTS.values()) {
+            for (int i = 0; i < e.byClass.length; i++) {
+                Series s = e.byClass[i];
+                s.total.add(s.latency.getIntervalHistogram());
+                long count = s.count.sum();
+                if (count > 0) {
+                    rows.add(new Row(e.method, e.route, STATUS_CLASSES[i], count, s.retries.sum(),
+                            s.bytesOut.sum(), s.bytesIn.sum(), s.total.copy()));
+                }
+            }
+        }
+        rows.sort(Comparator.comparing(Row::route).thenComparing(Row::method).thenComparing(Row::statusClass));
+        return rows;
+    }
+
+    /** Percentile table (milliseconds), one row per endpoint + status class. */
+    public static String table() {
+        return table(rows());
+    }
+
+    static String table(List<Row> rows) {
+        var sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "%-28s %-6s %7s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "status", "count", "retries", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "mean ms"));
+        for (Row r : rows) {
+            sb.append(String.format(Locale.ROOT, "%-28s %-6s %7d %7d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    r.method + " " + r.route, r.statusClass, r.count, r.retries,
+                    r.millisAt(50), r.millisAt(90), r.millisAt(99), r.millisAt(99.9),
+                    r.latency.getMaxValue() / 1e6, r.latency.getMean() / 1e6));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Writes http.prom and http.json into {@code metrics.dir}.
+     *
+     * @return the percentile table of the same snapshot, or null if nothing was recorded
+     */
+    public static String writeReports() {
+        return writeReports(rows());
+    }
+
+    /** Same for rows from elsewhere, e.g. the {@link #merge merged} rows of several shards. */
+    public static String writeReports(List<Row> rows) {
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Path dir = Path.of(Config.stringOr("metrics.dir", "target/metrics"));
+        try {
+            Files.createDirectories(dir);
+            try (Writer w = Files.newBufferedWriter(dir.resolve("http.prom"), StandardCharsets.UTF_8)) {
+                writePrometheus(rows, w);
+            }
+            try (OutputStream out = Files.newOutputStream(dir.resolve("http.json"))) {
+                writeJson(rows, out);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write HTTP metrics to " + dir, e);
+        }
+        return table(rows);
+    }
+
+    static void writePrometheus(List<Row> rows, Writer w) throws IOException {
+        w.write("# HELP booking_http_request_duration_seconds HTTP attempt latency by endpoint and status class.\n");
+        w.write("# TYPE booking_http_request_duration_seconds summary\n");
+        for (Row r : rows) {
+            String labels = labels(r);
+            for (double q : QUANTILES) {
+                w.write("booking_http_request_duration_seconds{" + labels + ",quantile=\"" + q + "\"} "
+                        + seconds(r.latency.getValueAtPercentile(q * 100)) + "\n");
+            }
+            w.write("booking_http_request_duration_seconds_sum{" + labels + "} "
+                    + seconds((long) (r.latency.getMean() * r.latency.getTotalCount())) + "\n");
+            w.write("booking_http_request_duration_seconds_count{" + labels + "} " + r.count + "\n");
+        }
+        counter(w, rows, "booking_http_requests_total", "HTTP attempts.", Row::count);
+        counter(w, rows, "booking_http_errors_total", "HTTP attempts with status >= 400 or no response.",
+                r -> r.error() ? r.count : 0);
+        counter(w, rows, "booking_http_retries_total", "Attempts of this class that RetryFilter retried.", Row::retries);
+        counter(w, rows, "booking_http_request_bytes_total", "Request body bytes sent.", Row::bytesOut);
+        counter(w, rows, "booking_http_response_bytes_total", "Response body bytes received.", Row::bytesIn);
+    }
+
+    private static void counter(Writer w, List<Row> rows, String name, String help,
+                                ToLongFunction<Row> value) throws IOException {
+        w.write("# HELP " + name + " " + help + "\n# TYPE " + name + " counter\n");
+        for (Row r : rows) {
+            w.write(name + "{" + labels(r) + "} " + value.applyAsLong(r) + "\n");
+        }
+    }
+
+    private static String labels(Row r) {
+        return "method=\"" + r.method + "\",route=\"" + r.route.replace("\\", "\\\\").replace("\"", "\\\"")
+                + "\",status_class=\"" + r.statusClass + "\"";
+    }
+
+    private static String seconds(long nanos) {
+        return Double.toString(nanos / 1e9);
+    }
+
+    static void writeJson(List<Row> rows, OutputStream out) throws IOException {
+        try (JsonGenerator g = Json.mapper().getFactory().createGenerator(out)) {
+            g.useDefaultPrettyPrinter();
+            g.writeStartArray();
+            for (Row r : rows) {
+                g.writeStartObject();
+                g.writeStringField("method", r.method);
+                g.writeStringField("route", r.route);
+                g.writeStringField("statusClass", r.statusClass);
+                g.writeNumberField("count", r.count);
+                g.writeNumberField("retries", r.retries);
+                g.writeNumberField("bytesOut", r.bytesOut);
+                g.writeNumberField("bytesIn", r.bytesIn);
+                g.writeObjectFieldStart("latencyMs");
+                g.writeNumberField("p50", r.millisAt(50));
+                g.writeNumberField("p90", r.millisAt(90));
+                g.writeNumberField("p99", r.millisAt(99));
+                g.writeNumberField("p999", r.millisAt(99.9));
+                g.writeNumberField("max", r.latency.getMaxValue() / 1e6);
+                g.writeNumberField("mean", r.latency.getMean() / 1e6);
+                g.writeEndObject();
+                // full histogram (compressed HdrHistogram, base64) so runs of several shards can be merged
+                ByteBuffer buf = ByteBuffer.allocate(r.latency.getNeededByteBufferCapacity());
+                int n = r.latency.encodeIntoCompressedByteBuffer(buf);
+                g.writeStringField("histogram", Base64.getEncoder().encodeToString(Arrays.copyOf(buf.array(), n)));
+                g.writeEndObject();
+            }
+            g.writeEndArray();
+        }
+    }
+
+    /** The rows of an http.json written by {@link #writeReports()}. */
+    public static List<Row> readJson(Path file) {
+        try {
+            List<Row> rows = new ArrayList<>();
+            for (JsonNode n : Json.mapper().readTree(file.toFile())) {
+                Histogram h = Histogram.decodeFromCompressedByteBuffer(
+                        ByteBuffer.wrap(Base64.getDecoder().decode(n.path("histogram").asText())), 0);
+                rows.add(new Row(n.path("method").asText(), n.path("route").asText(), n.path("statusClass").asText(),
+                        n.path("count").asLong(), n.path("retries").asLong(), n.path("bytesOut").asLong(),
+                        n.path("bytesIn").asLong(), h));
+            }
+            return rows;
+        } catch (IOException | DataFormatException e) {
+            throw new IllegalStateException("Cannot read HTTP metrics from " + file, e);
+        }
+    }
+
+    /** Adds up rows of the same endpoint + status class (counters summed, histograms merged). */
+    public static List<Row> merge(List<List<Row>> runs) {
+        Map<String, Row> merged = new LinkedHashMap<>();
+        for (List<Row> run : runs) {
+            for (Row r : run) {
+                merged.merge(r.method + ' ' + r.route + ' ' + r.statusClass, r, (a, b) -> {
+                    Histogram h = a.latency.copy();
+                    h.add(b.latency);
+                    return new Row(a.method, a.route, a.statusClass, a.count + b.count, a.retries + b.retries,
+                            a.bytesOut + b.bytesOut, a.bytesIn + b.bytesIn, h);
+                });
+            }
+        }
+        List<Row> rows = new ArrayList<>(merged.values());
+        rows.sort(Comparator.comparing(Row::route).thenComparing(Row::method).thenComparing(Row::statusClass));
+        return rows;
+    }
+}
@@ -0,0 +1,32 @@
+package com.booking.tests.core;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The wire underneath {@link ApiClient}'s typed calls.
+ *
+ * Three backends exist:
+ * - {@link RestAssuredTransport}: the default; goes through SpecFactory's spec, so every filter
+ *   (correlation id, retry, log-on-failure, ...) applies.
+ * - {@link JdkHttpTransport}: java.net.http.HttpClient with HTTP/2 multiplexing and true async I/O.
+ *   Far less per-request overhead, meant for load and bulk-fixture paths; Rest Assured filters
+ *   do not run on it.
+ * - {@link InProcessTransport}: no socket at all; requests go to an in-JVM handler such as the
+ *   booking emulator. For framework-logic tests and benchmarks.
+ *
+ * Pick one with {@code transport.backend} in application.conf (see {@link Transports}).
+ */
+public interface HttpTransport {
+
+    /** Short backend name as used in application.conf. */
+    String name();
+
+    /** Blocking call; the whole body is read into memory. */
+    TransportResponse send(TransportRequest request);
+
+    /** Non-blocking call. */
+    CompletableFuture<TransportResponse> sendAsync(TransportRequest request);
+
+    /** Blocking call that hands back the body as a stream (for large responses). */
+    StreamedResponse stream(TransportRequest request);
+}
@@ -0,0 +1,84 @@
+package com.booking.tests.core;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Cheap, time-ordered ids for correlation and tracing (no SecureRandom, no locks).
+ *
+ * - {@link #ulid()}: 26-char ULID (48-bit epoch millis + 80 random bits, Crockford base32).
+ *   Monotonic per thread: within the same millisecond the random part is incremented, so ids
+ *   from one thread sort in creation order. Reading the first 10 chars gives the send time.
+ * - {@link #traceId()}: the same 128 bits as 32 hex chars (W3C trace-id), so traces sort by time too.
+ * - {@link #spanId()}: 64 random bits as 16 hex chars.
+ *
+ * Random bits come from ThreadLocalRandom: fine for correlating test traffic, NOT for secrets.
+ */
+public final class Ids {
+
+    private static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /** Last ULID of this thread: msb = 48-bit millis | top 16 random bits, lsb = low 64 random bits. */
+    private static final class State {
+        long millis = -1;
+        long msb;
+        long lsb;
+    }
+
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private Ids() {}
+
+    public static String ulid() {
+        State s = next();
+        char[] out = new char[26];
+        long hi = s.msb;
+        long lo = s.lsb;
+        for (int i = 25; i >= 0; i--) { // 128 bits shifted right 5 at a time
+            out[i] = CROCKFORD[(int) (lo & 31)];
+            lo = (lo >>> 5) | (hi << 59);
+            hi >>>= 5;
+        }
+        return new String(out);
+    }
+
+    public static String traceId() {
+        State s = next();
+        char[] out = new char[32];
+        hex(s.msb, out, 0);
+        hex(s.lsb, out, 16);
+        return new String(out);
+    }
+
+    public static String spanId() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == 0); // all-zero is invalid in traceparent
+        char[] out = new char[16];
+        hex(id, out, 0);
+        return new String(out);
+    }
+
+    private static State next() {
+        State s = STATE.get();
+        long now = System.currentTimeMillis();
+        if (now > s.millis) {
+            ThreadLocalRandom r = ThreadLocalRandom.current();
+            s.millis = now;
+            s.msb = (now << 16) | (r.nextInt() & 0xFFFF);
+            s.lsb = r.nextLong();
+        } else if (++s.lsb == 0) {
+            // same (or earlier) millisecond: +1 on the 80 random bits; the millis part stays put
+            s.msb = (s.msb & ~0xFFFFL) | ((s.msb + 1) & 0xFFFF);
+        }
+        return s;
+    }
+
+    private static void hex(long v, char[] out, int at) {
+        for (int i = 15; i >= 0; i--) {
+            out[at + i] = HEX[(int) (v & 15)];
+            v >>>= 4;
+        }
+    }
+}
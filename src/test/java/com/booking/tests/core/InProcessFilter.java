@@ -0,0 +1,140 @@
+package com.booking.tests.core;
+
+import io.restassured.authentication.PreemptiveBasicAuthScheme;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.time.TimingFilter;
+import io.restassured.http.Cookie;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.internal.RestAssuredResponseImpl;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Terminal filter for in-process runs: turns the Rest Assured request into a {@link TransportRequest},
+ * lets the installed {@link InProcessHandler} answer it and returns that as the Response.
+ * It never calls ctx.next(), so no socket is opened; every filter before it runs as usual, and the
+ * response spec (status, content type, response time) is checked against what it returns.
+ *
+ * SpecFactory adds it LAST, and only while {@link InProcessTransport#installed()} is set. Another
+ * instance is registered globally (RestAssured.filters) for plain {@code given()} calls; if a request
+ * carries both, only the last one answers.
+ */
+public final class InProcessFilter implements Filter {
+
+    private final InProcessHandler handler;
+
+    public InProcessFilter(InProcessHandler handler) {
+        this.handler = handler;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification req,
+                           FilterableResponseSpecification res,
+                           FilterContext ctx) {
+        if (!isLast(req)) {
+            // the global instance (plain given() calls) steps aside for the one at the end of a SpecFactory chain
+            return ctx.next(req, res);
+        }
+        long start = System.nanoTime();
+        TransportResponse answer = handler.handle(toTransportRequest(req));
+        Response response = toResponse(answer);
+        if (response instanceof RestAssuredResponseImpl impl) {
+            // parse bodies (response.as(...), jsonPath) with the suite's mapper, as a real response would
+            impl.setConfig(req.getConfig());
+            // response.time() and expectResponseTime(...) read the time Rest Assured's TimingFilter would store
+            impl.setFilterContextProperties(Map.of(TimingFilter.RESPONSE_TIME_MILLISECONDS,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
+        }
+        return response;
+    }
+
+    private boolean isLast(FilterableRequestSpecification req) {
+        List<Filter> filters = req.getDefinedFilters();
+        for (int i = filters.size() - 1; i >= 0; i--) {
+            if (filters.get(i) instanceof InProcessFilter last) {
+                return last == this;
+            }
+        }
+        return true;
+    }
+
+    private static TransportRequest toTransportRequest(FilterableRequestSpecification req) {
+        URI uri = URI.create(req.getURI());
+        TransportRequest request = TransportRequest.of(req.getMethod(), uri.getRawPath());
+        String query = uri.getRawQuery();
+        if (query != null && !query.isEmpty()) {
+            for (String pair : query.split("&")) {
+                int eq = pair.indexOf('=');
+                request = request.withQuery(decode(eq < 0 ? pair : pair.substring(0, eq)),
+                        eq < 0 ? "" : decode(pair.substring(eq + 1)));
+            }
+        }
+        for (Header h : req.getHeaders()) {
+            String previous = request.headers().get(h.getName());
+            request = request.withHeader(h.getName(), previous == null ? h.getValue() : previous + ", " + h.getValue());
+        }
+        if (req.getContentType() != null && request.header("Content-Type") == null) {
+            request = request.withHeader("Content-Type", req.getContentType());
+        }
+        // preemptive Basic auth is normally added by the HTTP client, below the filters
+        if (req.getAuthenticationScheme() instanceof PreemptiveBasicAuthScheme basic
+                && request.header("Authorization") == null) {
+            request = request.withHeader("Authorization", basic.generateAuthToken());
+        }
+        for (Cookie c : req.getCookies()) {
+            request = request.withCookie(c.getName(), c.getValue());
+        }
+        return request.withBody(bodyBytes(req.getBody()));
+    }
+
+    private static byte[] bodyBytes(Object body) {
+        if (body == null) {
+            return null;
+        }
+        if (body instanceof byte[] bytes) {
+            return bytes;
+        }
+        if (body instanceof String s) {
+            return s.getBytes(StandardCharsets.UTF_8);
+        }
+        return Json.writeBytes(body);
+    }
+
+    private static Response toResponse(TransportResponse answer) {
+        List<Header> headers = new ArrayList<>();
+        String contentType = null;
+        for (Map.Entry<String, List<String>> e : answer.headers().entrySet()) {
+            for (String value : e.getValue()) {
+                headers.add(new Header(e.getKey(), value));
+            }
+            if (e.getKey().equalsIgnoreCase("Content-Type") && !e.getValue().isEmpty()) {
+                contentType = e.getValue().get(0);
+            }
+        }
+        ResponseBuilder builder = new ResponseBuilder()
+                .setStatusCode(answer.status())
+                .setStatusLine("HTTP/1.1 " + answer.status())
+                .setHeaders(new Headers(headers))
+                .setBody(answer.body() == null ? new byte[0] : answer.body());
+        if (contentType != null) {
+            builder.setContentType(contentType);
+        }
+        return builder.build();
+    }
+
+    private static String decode(String s) {
+        return URLDecoder.decode(s, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,16 @@
+package com.booking.tests.core;
+
+/**
+ * Something that answers HTTP requests inside the JVM: the booking emulator, or a scripted
+ * responder in a framework test ({@code req -> new TransportResponse(200, Map.of(), body)}).
+ *
+ * Install one with {@link InProcessTransport#install(InProcessHandler)}; from then on no request
+ * opens a socket. The request path is already resolved ("/booking/42"), the query is decoded,
+ * cookies are in {@link TransportRequest#cookies()} and headers are looked up with
+ * {@link TransportRequest#header(String)}. Handlers are called concurrently and must be thread-safe.
+ */
+@FunctionalInterface
+public interface InProcessHandler {
+
+    TransportResponse handle(TransportRequest request);
+}
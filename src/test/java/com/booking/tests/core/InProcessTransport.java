@@ -0,0 +1,134 @@
+package com.booking.tests.core;
+
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Socket-free backend: hands every request to an {@link InProcessHandler} as byte arrays.
+ *
+ * While a handler is installed:
+ * - Rest Assured calls still go through the whole SpecFactory filter chain and response specs;
+ *   only the last hop is replaced ({@link InProcessFilter} answers instead of the HTTP client).
+ *   Plain {@code given()} calls are caught by a global instance of that filter.
+ * - The "jdk" backend (nothing to connect to) and "inprocess" resolve to this transport, which calls
+ *   the handler directly: no Rest Assured overhead at all, just like the JDK client skips it.
+ *
+ * Meant for framework-logic tests and benchmarks, where TCP, the HTTP codec and TLS are noise.
+ * {@link #install} and {@link #uninstall} drop the cached specs so the change applies at once.
+ */
+public final class InProcessTransport implements HttpTransport {
+
+    // The handler does no I/O; async calls only keep the caller free, as in RestAssuredTransport.
+    private static final ExecutorService ASYNC = Executors.newVirtualThreadPerTaskExecutor();
+
+    private static volatile InProcessTransport installed;
+
+    private final InProcessHandler handler;
+    /** Catches plain given() calls that do not start from a SpecFactory spec. */
+    private final InProcessFilter globalFilter;
+
+    public InProcessTransport(InProcessHandler handler) {
+        this.handler = handler;
+        this.globalFilter = new InProcessFilter(handler);
+    }
+
+    /** Routes every following request of this JVM to {@code handler}. */
+    public static synchronized void install(InProcessHandler handler) {
+        uninstall();
+        installed = new InProcessTransport(handler);
+        RestAssured.filters(installed.globalFilter);
+        SpecFactory.invalidate();
+    }
+
+    /** Back to real sockets (no-op if nothing is installed). */
+    public static synchronized void uninstall() {
+        if (installed != null) {
+            List<Filter> remaining = new ArrayList<>(RestAssured.filters());
+            remaining.remove(installed.globalFilter);
+            RestAssured.replaceFiltersWith(remaining);
+            installed = null;
+            SpecFactory.invalidate();
+        }
+    }
+
+    /** The installed transport, or null when requests go over the network. */
+    public static InProcessTransport installed() {
+        return installed;
+    }
+
+    public InProcessHandler handler() {
+        return handler;
+    }
+
+    @Override
+    public String name() {
+        return "inprocess";
+    }
+
+    @Override
+    public TransportResponse send(TransportRequest request) {
+        return send(request, Tracer.current());
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> sendAsync(TransportRequest request) {
+        // parent taken on the calling thread, like JdkHttpTransport
+        Span parent = Tracer.current();
+        return CompletableFuture.supplyAsync(() -> send(request, parent), ASYNC);
+    }
+
+    @Override
+    public StreamedResponse stream(TransportRequest request) {
+        // the handler answers with the whole body anyway; traced and measured like send()
+        TransportResponse r = send(request, Tracer.current());
+        return new StreamedResponse(r.status(), r.headers(),
+                new ByteArrayInputStream(r.body() == null ? new byte[0] : r.body()));
+    }
+
+    private TransportResponse send(TransportRequest request, Span parent) {
+        TransportRequest withDefaults = withDefaultHeaders(request);
+        long wall = System.currentTimeMillis();
+        long start = System.nanoTime();
+        Span span = Tracer.start(request.method() + " " + request.pathTemplate(), Span.Kind.CLIENT, parent)
+                .attribute("http.request.method", request.method())
+                .attribute("url.full", request.pathAndQuery());
+        try {
+            TransportResponse response = handler.handle(withDefaults);
+            long took = System.nanoTime() - start;
+            FlightRecorder.record(request.method(), request.pathAndQuery(), wall, took,
+                    response.status(), request.body(), response.body(), null);
+            HttpMetrics.record(request.method(), request.pathTemplate(), response.status(), took,
+                    request.body() == null ? 0 : request.body().length,
+                    response.body() == null ? 0 : response.body().length);
+            span.attribute("http.response.status_code", response.status());
+            if (response.status() >= 400) {
+                span.error("HTTP " + response.status());
+            }
+            return response;
+        } catch (RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.close();
+        }
+    }
+
+    /** The headers the JDK client would have sent: JSON in, JSON out. */
+    private static TransportRequest withDefaultHeaders(TransportRequest request) {
+        TransportRequest r = request;
+        if (r.header("Accept") == null) {
+            r = r.withHeader("Accept", "application/json");
+        }
+        if (r.body() != null && r.header("Content-Type") == null) {
+            r = r.withHeader("Content-Type", "application/json; charset=UTF-8");
+        }
+        return r;
+    }
+}
@@ -0,0 +1,269 @@
+package com.booking.tests.core;
+
+import com.booking.tests.config.Config;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+/**
+ * Lightweight backend on the JDK's own {@link HttpClient}.
+ *
+ * - HTTP/2 when the server offers it (many requests multiplexed over one connection),
+ *   otherwise HTTP/1.1 with keep-alive.
+ * - {@link #sendAsync} is truly non-blocking; {@link #stream} hands back the body as it arrives.
+ * - One client for the whole JVM; it is thread-safe and owns its connection pool.
+ *
+ * Rest Assured filters (retry, log-on-failure, ...) do NOT run here. Use it for load and
+ * bulk paths where the Rest Assured overhead matters more than those conveniences.
+ */
+public final class JdkHttpTransport implements HttpTransport {
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Duration timeout;
+
+    public JdkHttpTransport(String baseUrl, Duration timeout, boolean http2) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.timeout = timeout;
+        this.client = HttpClient.newBuilder()
+                .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    static JdkHttpTransport fromConfig() {
+        return new JdkHttpTransport(Config.baseUrl(), Duration.ofMillis(Config.timeoutMs()),
+                Config.boolOr("transport.http2", true));
+    }
+
+    @Override
+    public String name() {
+        return "jdk";
+    }
+
+    /**
+     * Shuts the client down without waiting: requests in flight complete, new ones are refused,
+     * and the selector thread ends once the last one is done.
+     */
+    void shutdown() {
+        client.shutdown();
+    }
+
+    @Override
+    public TransportResponse send(TransportRequest request) {
+        long wall = System.currentTimeMillis();
+        long start = System.nanoTime();
+        Span span = startSpan(request, Tracer.current());
+        try {
+            TransportResponse response = toResponse(
+                    client.send(toHttpRequest(request, span), HttpResponse.BodyHandlers.ofByteArray()));
+            long took = System.nanoTime() - start;
+            FlightRecorder.record(request.method(), baseUrl + request.pathAndQuery(), wall, took,
+                    response.status(), request.body(), response.body(), null);
+            recordMetrics(request, response.status(), took, response.body());
+            return endSpan(span, response);
+        } catch (IOException e) {
+            long took = System.nanoTime() - start;
+            FlightRecorder.record(request.method(), baseUrl + request.pathAndQuery(), wall, took,
+                    -1, request.body(), null, e);
+            recordMetrics(request, -1, took, null);
+            span.error(e).close();
+            throw new UncheckedIOException(request.describe() + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            span.error(e).close();
+            throw new IllegalStateException(request.describe() + " interrupted", e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> sendAsync(TransportRequest request) {
+        // parent taken on the calling thread; the span ends on whichever thread completes the call
+        Span span = startSpan(request, Tracer.current());
+        long start = System.nanoTime();
+        return client.sendAsync(toHttpRequest(request, span), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(JdkHttpTransport::toResponse)
+                .whenComplete((response, error) -> {
+                    long took = System.nanoTime() - start;
+                    if (error != null) {
+                        recordMetrics(request, -1, took, null);
+                        span.error(error).close();
+                    } else {
+                        recordMetrics(request, response.status(), took, response.body());
+                        endSpan(span, response);
+                    }
+                });
+    }
+
+    /**
+     * Like {@link #send}, but the body is handed out as it arrives. The span, the metrics sample and
+     * the flight-recorder entry are completed once the body has been read to its end or closed, so
+     * their time covers the whole body (at the pace the caller reads it); the body itself is not kept.
+     */
+    @Override
+    public StreamedResponse stream(TransportRequest request) {
+        long wall = System.currentTimeMillis();
+        long start = System.nanoTime();
+        Span span = startSpan(request, Tracer.current());
+        try {
+            HttpResponse<InputStream> r = client.send(toHttpRequest(request, span),
+                    HttpResponse.BodyHandlers.ofInputStream());
+            return new StreamedResponse(r.statusCode(), r.headers().map(),
+                    new MeteredBody(r.body(), request, r.statusCode(), wall, start, span));
+        } catch (IOException e) {
+            long took = System.nanoTime() - start;
+            FlightRecorder.record(request.method(), baseUrl + request.pathAndQuery(), wall, took,
+                    -1, request.body(), null, e);
+            recordMetrics(request, -1, took, 0);
+            span.error(e).close();
+            throw new UncheckedIOException(request.describe() + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            span.error(e).close();
+            throw new IllegalStateException(request.describe() + " interrupted", e);
+        }
+    }
+
+    private Span startSpan(TransportRequest request, Span parent) {
+        return Tracer.start(request.method() + " " + request.pathTemplate(), Span.Kind.CLIENT, parent)
+                .attribute("http.request.method", request.method())
+                .attribute("url.full", baseUrl + request.pathAndQuery());
+    }
+
+    private static void recordMetrics(TransportRequest request, int status, long nanos, byte[] responseBody) {
+        recordMetrics(request, status, nanos, responseBody == null ? 0 : responseBody.length);
+    }
+
+    private static void recordMetrics(TransportRequest request, int status, long nanos, long responseBytes) {
+        HttpMetrics.record(request.method(), request.pathTemplate(), status, nanos,
+                request.body() == null ? 0 : request.body().length, responseBytes);
+    }
+
+    private static TransportResponse endSpan(Span span, TransportResponse response) {
+        endSpan(span, response.status());
+        return response;
+    }
+
+    private static void endSpan(Span span, int status) {
+        span.attribute("http.response.status_code", status);
+        if (status >= 400) {
+            span.error("HTTP " + status);
+        }
+        span.close();
+    }
+
+    private HttpRequest toHttpRequest(TransportRequest request, Span span) {
+        String correlationId = Ids.ulid();
+        span.attribute("correlation.id", correlationId);
+        HttpRequest.BodyPublisher body = request.body() == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(request.body());
+
+        HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(baseUrl + request.pathAndQuery()))
+                .timeout(timeout)
+                .method(request.method(), body)
+                .header("Accept", "application/json")
+                .header("User-Agent", SpecFactory.USER_AGENT)
+                .header("X-Correlation-Id", correlationId);
+        if (span.traceparent() != null) {
+            b.header("traceparent", span.traceparent());
+        }
+        if (request.body() != null) {
+            b.header("Content-Type", "application/json; charset=UTF-8");
+        }
+        request.headers().forEach(b::setHeader);
+        if (!request.cookies().isEmpty()) {
+            StringBuilder cookie = new StringBuilder();
+            for (Map.Entry<String, String> c : request.cookies().entrySet()) {
+                if (!cookie.isEmpty()) cookie.append("; ");
+                cookie.append(c.getKey()).append('=').append(c.getValue());
+            }
+            b.setHeader("Cookie", cookie.toString());
+        }
+        return b.build();
+    }
+
+    private static TransportResponse toResponse(HttpResponse<byte[]> r) {
+        return new TransportResponse(r.statusCode(), r.headers().map(), r.body());
+    }
+
+    /** A streamed body that completes the exchange's span, metrics and flight-recorder entry once it is done. */
+    private final class MeteredBody extends FilterInputStream {
+
+        private final TransportRequest request;
+        private final int status;
+        private final long wall;
+        private final long start;
+        private final Span span;
+        private long bytes;
+        private boolean done;
+
+        MeteredBody(InputStream body, TransportRequest request, int status, long wall, long start, Span span) {
+            super(body);
+            this.request = request;
+            this.status = status;
+            this.wall = wall;
+            this.start = start;
+            this.span = span;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b < 0) finish(null);
+            else bytes++;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buf, int off, int len) throws IOException {
+            int n;
+            try {
+                n = super.read(buf, off, len);
+            } catch (IOException e) {
+                finish(e);
+                throw e;
+            }
+            if (n < 0) finish(null);
+            else bytes += n;
+            return n;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                finish(null);
+            }
+        }
+
+        private void finish(IOException error) {
+            if (done) {
+                return;
+            }
+            done = true;
+            long took = System.nanoTime() - start;
+            int recorded = error == null ? status : -1;
+            FlightRecorder.record(request.method(), baseUrl + request.pathAndQuery(), wall, took,
+                    recorded, request.body(), null, error);
+            recordMetrics(request, recorded, took, bytes);
+            if (error != null) {
+                span.error(error).close();
+            } else {
+                endSpan(span, status);
+            }
+        }
+    }
+}
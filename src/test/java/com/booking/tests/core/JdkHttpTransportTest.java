@@ -0,0 +1,118 @@
+package com.booking.tests.core;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JdkHttpTransport.stream against a local server that sends the first element of an id list,
+ * then holds the rest back until the test lets it go: the first id must be readable before the
+ * response has ended, and the span, metrics sample and flight-recorder entry must be completed
+ * once the body is done. Each test uses its own route, so the JVM-wide metrics stay apart.
+ */
+@Tag("unit")
+class JdkHttpTransportTest {
+
+    private static final String FIRST = "[{\"bookingid\":1}";
+    private static final String REST = ",{\"bookingid\":2}]";
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicBoolean sentAll = new AtomicBoolean();
+    private final Map<String, String> traceparents = new ConcurrentHashMap<>();
+    private HttpServer server;
+    private JdkHttpTransport transport;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::answer);
+        server.start();
+        transport = new JdkHttpTransport("http://127.0.0.1:" + server.getAddress().getPort(),
+                Duration.ofSeconds(5), false);
+    }
+
+    @AfterEach
+    void stop() {
+        release.countDown();
+        transport.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void stream_handsOutTheBodyAsItArrives() {
+        StreamedResponse response = transport.stream(TransportRequest.get("/stream-early"));
+        try (JsonIds ids = JsonIds.over(response.body(), "bookingid", response)) {
+            assertThat(ids.nextPage(1)).containsExactly(1);
+            assertThat(sentAll).as("rest of the body sent").isFalse();
+
+            release.countDown();
+            assertThat(ids.toArray()).containsExactly(2);
+        }
+    }
+
+    @Test
+    void stream_isTracedAndMeasured_onceTheBodyIsDone() throws IOException {
+        FlightRecorder.clear();
+        release.countDown();
+
+        StreamedResponse response = transport.stream(TransportRequest.get("/stream-metered"));
+        if (Tracer.enabled()) {
+            assertThat(traceparents.get("/stream-metered")).startsWith("00-");
+        }
+        assertThat(count("/stream-metered")).isZero();
+
+        try (response) {
+            assertThat(new String(response.body().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(FIRST + REST);
+        }
+        if (HttpMetrics.enabled()) {
+            var row = HttpMetrics.rows().stream().filter(r -> r.route().equals("/stream-metered")).findFirst().orElseThrow();
+            assertThat(row.count()).isEqualTo(1);
+            assertThat(row.statusClass()).isEqualTo("2xx");
+            assertThat(row.bytesIn()).isEqualTo((FIRST + REST).length());
+        }
+        if (FlightRecorder.enabled()) {
+            assertThat(FlightRecorder.render()).contains("GET http://127.0.0.1:").contains("/stream-metered -> 200");
+        }
+    }
+
+    private static long count(String route) {
+        return HttpMetrics.rows().stream().filter(r -> r.route().equals(route)).mapToLong(HttpMetrics.Row::count).sum();
+    }
+
+    private void answer(HttpExchange exchange) throws IOException {
+        String traceparent = exchange.getRequestHeaders().getFirst("traceparent");
+        if (traceparent != null) {
+            traceparents.put(exchange.getRequestURI().getPath(), traceparent);
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, 0); // chunked
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(FIRST.getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            sentAll.set(true);
+            out.write(REST.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
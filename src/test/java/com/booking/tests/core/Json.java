@@ -0,0 +1,97 @@
+package com.booking.tests.core;
+
+import com.booking.tests.config.Config;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * One shared, fully configured Jackson mapper for the whole suite.
+ *
+ * Why: building an ObjectMapper (and registering JavaTimeModule) is expensive, and
+ * Rest Assured used to do it for every single (de)serialization. An ObjectMapper is
+ * thread-safe once configured, and ObjectReader/ObjectWriter are immutable, so we
+ * build them once and hand out the same instances everywhere.
+ *
+ * Bodies are read from byte[] or straight from an InputStream, never via a decoded String.
+ * The Blackbird module replaces reflective field/setter access with generated lambdas
+ * ({@code json.blackbird = false} in application.conf turns it off, e.g. to compare).
+ *
+ * Never reconfigure the mapper returned by {@link #mapper()}; derive a reader/writer instead.
+ */
+public final class Json {
+
+    private static final ObjectMapper MAPPER = newMapper();
+
+    private static final ConcurrentMap<Class<?>, ObjectReader> READERS = new ConcurrentHashMap<>();
+    private static final ConcurrentMap<Class<?>, ObjectWriter> WRITERS = new ConcurrentHashMap<>();
+
+    private Json() {}
+
+    private static ObjectMapper newMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        if (Config.boolOr("json.blackbird", true)) {
+            mapper.registerModule(new BlackbirdModule());
+        }
+        mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return mapper;
+    }
+
+    /** The shared mapper (same settings Rest Assured uses for request/response bodies). */
+    public static ObjectMapper mapper() {
+        return MAPPER;
+    }
+
+    /** Cached reader bound to one model type, e.g. {@code Json.reader(Booking.class)}. */
+    public static ObjectReader reader(Class<?> type) {
+        return READERS.computeIfAbsent(type, MAPPER::readerFor);
+    }
+
+    /** Cached writer bound to one model type. */
+    public static ObjectWriter writer(Class<?> type) {
+        return WRITERS.computeIfAbsent(type, MAPPER::writerFor);
+    }
+
+    public static <T> T read(byte[] json, Class<T> type) {
+        try {
+            return reader(type).readValue(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + type.getSimpleName() + " from JSON", e);
+        }
+    }
+
+    /** Parses while reading {@code json}; the stream is not closed. */
+    public static <T> T read(InputStream json, Class<T> type) {
+        try {
+            return reader(type).readValue(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + type.getSimpleName() + " from JSON", e);
+        }
+    }
+
+    public static <T> T read(String json, Class<T> type) {
+        try {
+            return reader(type).readValue(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + type.getSimpleName() + " from JSON", e);
+        }
+    }
+
+    public static byte[] writeBytes(Object value) {
+        try {
+            return writer(value.getClass()).writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write " + value.getClass().getSimpleName() + " as JSON", e);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.booking.tests.core;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads one int field out of every object of a top-level JSON array, e.g. the ids of
+ * {@code [{"bookingid":1},{"bookingid":7},...]}, with Jackson's streaming parser.
+ *
+ * No tree and no objects per element: the parser walks the tokens, and only as far as the caller
+ * asks. So a caller can stop after the first few ids ({@link #stream()}{@code .limit(..)}), take
+ * them page by page ({@link #nextPage(int)}) or drain them into one int[] ({@link #toArray()}).
+ * Elements without the field (or where it is not an integer) are skipped.
+ *
+ * Over a live body ({@link #over(InputStream, String, AutoCloseable)}) always close it:
+ * that closes the response and frees its connection, also when the array was not read to the end.
+ */
+public final class JsonIds implements PrimitiveIterator.OfInt, AutoCloseable {
+
+    private final JsonParser parser;
+    private final String field;
+    private final AutoCloseable onClose;
+    private boolean started;
+    private boolean done;
+    private boolean hasPending;
+    private int pending;
+
+    private JsonIds(JsonParser parser, String field, AutoCloseable onClose) {
+        this.parser = parser;
+        this.field = field;
+        this.onClose = onClose;
+    }
+
+    /** Over a fully read body. */
+    public static JsonIds of(byte[] json, String field) {
+        try {
+            return new JsonIds(Json.mapper().getFactory().createParser(json), field, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Over a body still being received; {@code onClose} (e.g. the StreamedResponse) is closed with this. */
+    public static JsonIds over(InputStream json, String field, AutoCloseable onClose) {
+        try {
+            return new JsonIds(Json.mapper().getFactory().createParser(json), field, onClose);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return hasPending || advance();
+    }
+
+    @Override
+    public int nextInt() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        hasPending = false;
+        return pending;
+    }
+
+    /** Up to {@code max} next ids; an empty array once the list is exhausted. */
+    public int[] nextPage(int max) {
+        int[] page = new int[Math.min(max, 1024)];
+        int n = 0;
+        while (n < max && hasNext()) {
+            if (n == page.length) page = Arrays.copyOf(page, Math.min(max, n * 2));
+            page[n++] = nextInt();
+        }
+        return n == page.length ? page : Arrays.copyOf(page, n);
+    }
+
+    /** All remaining ids. */
+    public int[] toArray() {
+        return nextPage(Integer.MAX_VALUE);
+    }
+
+    /** The remaining ids as a lazy IntStream; closing the stream closes this. */
+    public IntStream stream() {
+        return StreamSupport.intStream(Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(this::close);
+    }
+
+    @Override
+    public void close() {
+        done = true;
+        try {
+            try {
+                parser.close();
+            } finally {
+                if (onClose != null) {
+                    onClose.close();
+                }
+            }
+        } catch (Exception e) {
+            throw e instanceof RuntimeException re ? re : new IllegalStateException(e);
+        }
+    }
+
+    private boolean advance() {
+        if (done) {
+            return false;
+        }
+        try {
+            if (!started) {
+                started = true;
+                JsonToken first = parser.nextToken();
+                if (first != JsonToken.START_ARRAY) {
+                    done = true;
+                    throw new IllegalStateException("Expected a JSON array but got " + first);
+                }
+            }
+            for (JsonToken t = parser.nextToken(); t != null && t != JsonToken.END_ARRAY; t = parser.nextToken()) {
+                if (t != JsonToken.START_OBJECT) {
+                    parser.skipChildren(); // not an object: nothing to read
+                    continue;
+                }
+                boolean found = false;
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    boolean wanted = !found && field.equals(parser.currentName());
+                    if (parser.nextToken() == JsonToken.VALUE_NUMBER_INT && wanted) {
+                        pending = parser.getIntValue();
+                        found = true;
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                if (found) {
+                    hasPending = true;
+                    return true;
+                }
+            }
+            done = true;
+            return false;
+        } catch (IOException e) {
+            done = true;
+            throw new UncheckedIOException("Cannot read '" + field + "' values from the JSON array", e);
+        }
+    }
+}
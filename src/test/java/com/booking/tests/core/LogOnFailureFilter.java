@@ -8,8 +8,10 @@ import io.restassured.specification.FilterableRequestSpecification;
 import io.restassured.specification.FilterableResponseSpecification;
 
 /**
- * Prints request+response only when the status code >= 400.
+ * Logs request+response only when the status code >= 400.
  * Why: Avoid noisy logs on success, get full details on failure.
+ * Nothing is masked here (use RedactingLogOnFailureFilter for that); bodies are still capped
+ * and written asynchronously by {@link FailureLog}.
  */
 public class LogOnFailureFilter implements Filter {
     @Override
@@ -18,12 +20,12 @@ public class LogOnFailureFilter implements Filter {
                            FilterContext ctx) {
         Response response = ctx.next(req, res);
         if (response.statusCode() >= 400) {
-            System.out.println("=== Request (on failure) ===");
-            req.log().all();
-            System.out.println("=== Response (on failure) ===");
-            response.then().log().all();
+            try {
+                FailureLog.submit(req, response, false);
+            } catch (RuntimeException e) {
+                // Logging must never break the test flow
+            }
         }
         return response;
     }
 }
-
@@ -0,0 +1,42 @@
+package com.booking.tests.core;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Records latency, status class and body sizes of every HTTP attempt into {@link HttpMetrics},
+ * keyed by method + path template. Sits after RetryFilter, so each attempt is measured on its own.
+ */
+public class MetricsFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification req,
+                           FilterableResponseSpecification res,
+                           FilterContext ctx) {
+        if (!HttpMetrics.enabled()) {
+            return ctx.next(req, res);
+        }
+        long start = System.nanoTime();
+        try {
+            Response response = ctx.next(req, res);
+            HttpMetrics.record(req.getMethod(), req.getUserDefinedPath(), response.statusCode(),
+                    System.nanoTime() - start, bodySize(req.getBody()), response.asByteArray().length);
+            return response;
+        } catch (Throwable t) {
+            HttpMetrics.record(req.getMethod(), req.getUserDefinedPath(), -1,
+                    System.nanoTime() - start, bodySize(req.getBody()), 0);
+            throw t;
+        }
+    }
+
+    /** Body length as sent; Strings are counted in chars (close enough for the JSON we send). */
+    static long bodySize(Object body) {
+        if (body == null) return 0;
+        if (body instanceof byte[] bytes) return bytes.length;
+        if (body instanceof CharSequence chars) return chars.length();
+        return 0;
+    }
+}
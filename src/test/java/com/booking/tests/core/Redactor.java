@@ -0,0 +1,124 @@
+package com.booking.tests.core;
+
+import com.booking.tests.config.Config;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Masks secrets before anything is logged. Patterns are compiled once, in the constructor.
+ *
+ * - Headers / cookies: value replaced with "****" when the name is in {@code keys} (case-insensitive).
+ * - JSON bodies: the string value of any {@code "key": "..."} pair whose key is in {@code keys}.
+ *   Only the first {@code maxBodyBytes} bytes are decoded and scanned; the rest is cut off. A
+ *   value the cap cuts in two ({@code "token":"abc} at the end) is masked as well, so the part
+ *   before the cap never shows.
+ */
+public final class Redactor {
+
+    public static final String MASK = "****";
+
+    private final List<String> keyList;
+    private final Set<String> keys;
+    private final Pattern jsonSecret;
+    private final int maxBodyBytes;
+
+    public Redactor(List<String> keys, int maxBodyBytes) {
+        this.keyList = List.copyOf(keys);
+        this.keys = keys.stream().map(k -> k.toLowerCase(Locale.ROOT)).collect(Collectors.toUnmodifiableSet());
+        // the value ends at its closing quote, or at the end of a body cut off inside it
+        this.jsonSecret = keys.isEmpty() ? null : Pattern.compile("(\"(?:"
+                + keys.stream().map(Pattern::quote).collect(Collectors.joining("|"))
+                + ")\"\\s*:\\s*)\"(?:[^\"\\\\]|\\\\.)*(?:\"|\\\\?\\z)", Pattern.CASE_INSENSITIVE);
+        this.maxBodyBytes = Math.max(0, maxBodyBytes);
+    }
+
+    /** Keys and body cap from {@code log.failures} in application.conf. */
+    public static Redactor fromConfig() {
+        return new Redactor(
+                Config.stringListOr("log.failures.redactKeys", List.of(
+                        "authorization", "proxy-authorization", "x-api-key", "api-key", "apikey",
+                        "token", "id-token", "access-token", "refresh-token", "password")),
+                Config.intOr("log.failures.maxBodyBytes", 8192));
+    }
+
+    /** Same body cap, nothing masked (for the plain LogOnFailureFilter). */
+    public Redactor capOnly() {
+        return new Redactor(List.of(), maxBodyBytes);
+    }
+
+    /** Same keys, different body cap. */
+    public Redactor withMaxBodyBytes(int maxBodyBytes) {
+        return new Redactor(keyList, maxBodyBytes);
+    }
+
+    public boolean isSensitive(String name) {
+        return name != null && keys.contains(name.toLowerCase(Locale.ROOT));
+    }
+
+    public String value(String name, String value) {
+        return isSensitive(name) ? MASK : value;
+    }
+
+    /** Decodes at most maxBodyBytes of UTF-8 and masks secret JSON values; null/empty -> "". */
+    public String body(byte[] bytes) {
+        return bytes == null ? "" : body(bytes, bytes.length);
+    }
+
+    /**
+     * Same as {@link #body(byte[])} for the first bytes of a longer body ({@code totalLength} bytes
+     * in all), e.g. a head copied off a response without buffering the rest.
+     */
+    public String body(byte[] bytes, long totalLength) {
+        if (bytes == null || bytes.length == 0) {
+            return "";
+        }
+        int len = Math.min(bytes.length, maxBodyBytes);
+        CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        CharBuffer chars = CharBuffer.allocate(len);
+        decoder.decode(ByteBuffer.wrap(bytes, 0, len), chars, true); // a char cut in half at the cap is dropped
+        chars.flip();
+        String text = mask(chars);
+        long total = Math.max(totalLength, bytes.length);
+        return len < total ? text + "... (" + (total - len) + " more bytes)" : text;
+    }
+
+    /** Same as {@link #body(byte[])} for bodies Rest Assured holds as text. */
+    public String body(CharSequence text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        // Cap on characters here (≈ bytes for JSON); avoids re-encoding the whole body.
+        if (text.length() > maxBodyBytes) {
+            return mask(text.subSequence(0, maxBodyBytes)) + "... (" + (text.length() - maxBodyBytes) + " more chars)";
+        }
+        return mask(text);
+    }
+
+    private String mask(CharSequence text) {
+        if (jsonSecret == null) {
+            return text.toString();
+        }
+        Matcher m = jsonSecret.matcher(text);
+        if (!m.find()) {
+            return text.toString();
+        }
+        StringBuilder sb = new StringBuilder(text.length());
+        do {
+            m.appendReplacement(sb, "$1\"" + MASK + "\"");
+        } while (m.find());
+        m.appendTail(sb);
+        return sb.toString();
+    }
+}
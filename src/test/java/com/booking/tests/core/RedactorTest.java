@@ -0,0 +1,56 @@
+package com.booking.tests.core;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@Tag("unit")
+class RedactorTest {
+
+    private final Redactor redactor = new Redactor(List.of("token", "password"), 64);
+
+    @Test
+    void secretValues_areMasked() {
+        String body = "{\"token\" : \"abc\\\"def\", \"firstname\":\"Jim\", \"Password\":\"pw\"}";
+
+        assertThat(redactor.body(body))
+                .isEqualTo("{\"token\" : \"****\", \"firstname\":\"Jim\", \"Password\":\"****\"}");
+    }
+
+    @Test
+    void valueCutByTheCap_isMasked() {
+        String secret = "s3cr3t-s3cr3t-s3cr3t-s3cr3t";
+        String body = "{\"firstname\":\"Jim\",\"lastname\":\"Brown\",\"token\":\"" + secret + "\"}";
+        assertThat(body.length()).isGreaterThan(64);
+
+        // the cap falls inside the token value: the part before it must not show either
+        assertThat(redactor.body(body)).doesNotContain("s3cr3t").contains("\"token\":\"****\"").contains("more chars");
+        assertThat(redactor.body(body.getBytes(StandardCharsets.UTF_8))).doesNotContain("s3cr3t").contains("more bytes");
+    }
+
+    @Test
+    void valueCutAfterABackslash_isMasked() {
+        String body = "{\"token\":\"" + "x".repeat(53) + "\\\"" + "y".repeat(20) + "\"}";
+
+        assertThat(redactor.body(body)).doesNotContain("x").startsWith("{\"token\":\"****\"");
+    }
+
+    @Test
+    void headOfALongerBody_countsWhatWasNotCopied() {
+        byte[] head = "{\"token\":\"abc\",\"firstname\":\"Jim\"}".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(redactor.body(head, 10_000)).isEqualTo("{\"token\":\"****\",\"firstname\":\"Jim\"}... ("
+                + (10_000 - head.length) + " more bytes)");
+        assertThat(redactor.body(head, head.length)).doesNotContain("more bytes");
+    }
+
+    @Test
+    void headers_byNameCaseInsensitive() {
+        assertThat(redactor.value("TOKEN", "abc")).isEqualTo(Redactor.MASK);
+        assertThat(redactor.value("Accept", "application/json")).isEqualTo("application/json");
+    }
+}
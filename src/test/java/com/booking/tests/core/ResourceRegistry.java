@@ -0,0 +1,336 @@
+package com.booking.tests.core;
+
+import com.booking.tests.config.Config;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Ids of the bookings this run created and has not deleted yet, so they can be cleaned up at the
+ * end (see support/CreatedBookings) instead of piling up on the target API.
+ *
+ * - In memory: a primitive open-addressing int set (no boxing; ids are positive).
+ * - On disk: every change is appended at once to a journal, {@code cleanup.dir}/&lt;env&gt;-&lt;pid&gt;.journal,
+ *   one line per change ("+42 Brown-k3x9a" created, with the lastname it was created with, "-42"
+ *   deleted). Writes go straight to the file channel, so a killed or crashed JVM loses nothing it
+ *   had recorded. The lastname lets a later run check that an id still names the booking this run
+ *   created before deleting it: the public API resets its data and hands the same ids out again.
+ * - The journal is locked while this JVM lives, from before it shows up under its name (it is
+ *   created under a temporary one). A journal nobody holds a lock on belongs to a run that did not
+ *   finish its cleanup; {@link #staleJournals()} finds those, {@link #replay} / {@link #replayLastnames} read them.
+ * - {@link #close()} deletes the journal when nothing is left in the set, else keeps it for the next run.
+ *
+ * Disabled with {@code cleanup.enabled = false}: then every method is a no-op.
+ */
+public final class ResourceRegistry implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ResourceRegistry.class);
+    private static final String SUFFIX = ".journal";
+
+    private static volatile ResourceRegistry shared;
+
+    private final Path journal;
+    private final FileChannel channel;
+    private final FileLock lock;
+    private int[] slots = new int[64]; // 0 = empty
+    private int size;
+
+    private ResourceRegistry(Path journal, FileChannel channel, FileLock lock) {
+        this.journal = journal;
+        this.channel = channel;
+        this.lock = lock;
+    }
+
+    /** The registry of this JVM (journal under cleanup.dir), opened on first use. */
+    public static ResourceRegistry shared() {
+        ResourceRegistry r = shared;
+        if (r == null) {
+            synchronized (ResourceRegistry.class) {
+                r = shared;
+                if (r == null) {
+                    shared = r = Config.boolOr("cleanup.enabled", true)
+                            ? open(dir().resolve(prefix() + ProcessHandle.current().pid() + SUFFIX))
+                            : new ResourceRegistry(null, null, null);
+                }
+            }
+        }
+        return r;
+    }
+
+    public static synchronized void closeShared() {
+        if (shared != null) {
+            shared.close();
+            shared = null;
+        }
+    }
+
+    /**
+     * Opens {@code journal} for appending and locks it; existing entries are replayed. A new journal
+     * is created and locked under a temporary name and only then renamed into place, so
+     * {@link #staleJournals()} in another JVM never sees it unlocked. Fails if another process holds it.
+     */
+    public static ResourceRegistry open(Path journal) {
+        try {
+            Path dir = journal.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            if (Files.exists(journal)) {
+                FileChannel ch = FileChannel.open(journal, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                ResourceRegistry r = locked(journal, ch);
+                for (int id : replay(journal)) {
+                    r.add(id);
+                }
+                return r;
+            }
+            // a dot name without the journal suffix: not matched by the staleJournals() glob
+            Path tmp = Files.createTempFile(dir, "." + journal.getFileName(), ".tmp");
+            ResourceRegistry r = null;
+            try {
+                r = locked(journal, FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.APPEND));
+                try {
+                    Files.move(tmp, journal, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tmp, journal);
+                }
+                return r;
+            } catch (IOException | RuntimeException e) {
+                if (r != null) r.channel.close();
+                Files.deleteIfExists(tmp);
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the resource journal " + journal, e);
+        }
+    }
+
+    /** A registry on {@code channel} once it is locked; closes the channel if the lock is not to be had. */
+    private static ResourceRegistry locked(Path journal, FileChannel channel) throws IOException {
+        try {
+            FileLock lock = channel.tryLock();
+            if (lock == null) {
+                throw new IOException(journal + " is locked by another process");
+            }
+            return new ResourceRegistry(journal, channel, lock);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public boolean enabled() {
+        return channel != null;
+    }
+
+    /** Remembers a created booking id whose lastname is not known (it is then never swept by a later run). */
+    public void record(int id) {
+        record(id, null);
+    }
+
+    /** Remembers a created booking id and the lastname it was created with (null if not known). */
+    public void record(int id, String lastname) {
+        if (channel != null && id > 0) {
+            synchronized (this) {
+                if (add(id)) append('+', id, lastname);
+            }
+        }
+    }
+
+    /** Forgets an id once its booking is deleted (or known to be gone). */
+    public void forget(int id) {
+        if (channel != null && id > 0) {
+            synchronized (this) {
+                if (remove(id)) append('-', id, null);
+            }
+        }
+    }
+
+    /** The ids still recorded, sorted. */
+    public synchronized int[] ids() {
+        int[] out = new int[size];
+        int n = 0;
+        for (int slot : slots) {
+            if (slot != 0) out[n++] = slot;
+        }
+        Arrays.sort(out);
+        return out;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            lock.release();
+            channel.close();
+            if (size == 0) {
+                Files.deleteIfExists(journal);
+            } else {
+                LOG.warn("{} created booking(s) were not deleted; kept in {} for the next run", size, journal);
+            }
+        } catch (IOException e) {
+            LOG.warn("Cannot close the resource journal {}", journal, e);
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // Journals of earlier runs
+    // ---------------------------------------------------------------------------------------------
+
+    /** Journals of this env that no running JVM holds: runs that ended before cleaning up. */
+    public static List<Path> staleJournals() {
+        Path dir = dir();
+        List<Path> stale = new ArrayList<>();
+        if (!Files.isDirectory(dir)) {
+            return stale;
+        }
+        ResourceRegistry own = shared;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, prefix() + "*" + SUFFIX)) {
+            for (Path file : files) {
+                if (own != null && file.equals(own.journal)) continue;
+                try (FileChannel ch = FileChannel.open(file, StandardOpenOption.WRITE);
+                     FileLock probe = ch.tryLock()) {
+                    if (probe != null) stale.add(file);
+                } catch (OverlappingFileLockException e) {
+                    // held by this JVM
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("Cannot list resource journals in {}", dir, e);
+        }
+        return stale;
+    }
+
+    /** The ids a journal still holds (created and not deleted), sorted. */
+    public static int[] replay(Path journal) throws IOException {
+        ResourceRegistry r = new ResourceRegistry(null, null, null);
+        for (String line : Files.readAllLines(journal, StandardCharsets.UTF_8)) {
+            int id = idOf(line);
+            if (id <= 0) continue;
+            if (line.charAt(0) == '+') r.add(id);
+            else if (line.charAt(0) == '-') r.remove(id);
+        }
+        return r.ids();
+    }
+
+    /**
+     * The ids a journal still holds, sorted, each with the lastname it was recorded with (null if
+     * none). A line torn by a crash yields no id, or a cut-off lastname that no booking matches.
+     */
+    public static SortedMap<Integer, String> replayLastnames(Path journal) throws IOException {
+        SortedMap<Integer, String> held = new TreeMap<>();
+        for (String line : Files.readAllLines(journal, StandardCharsets.UTF_8)) {
+            int id = idOf(line);
+            if (id <= 0) continue;
+            int space = line.indexOf(' ');
+            if (line.charAt(0) == '+') held.put(id, space < 0 ? null : line.substring(space + 1));
+            else if (line.charAt(0) == '-') held.remove(id);
+        }
+        return held;
+    }
+
+    /** The id of a journal line ("+42 Brown", "-42"), or 0 for a torn one. */
+    private static int idOf(String line) {
+        int space = line.indexOf(' ');
+        int end = space < 0 ? line.length() : space;
+        if (end < 2) return 0;
+        try {
+            return Integer.parseInt(line, 1, end, 10);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static Path dir() {
+        return Path.of(Config.stringOr("cleanup.dir", ".created-bookings"));
+    }
+
+    private static String prefix() {
+        return Config.env().replaceAll("[^A-Za-z0-9._]", "_") + "-";
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // Journal writes and the int set (callers hold the monitor)
+    // ---------------------------------------------------------------------------------------------
+
+    private void append(char op, int id, String lastname) {
+        String line = op + Integer.toString(id);
+        if (lastname != null && !lastname.isBlank()) {
+            line += ' ' + lastname.replace('\n', ' ').replace('\r', ' ');
+        }
+        try {
+            channel.write(ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8)));
+        } catch (IOException e) {
+            LOG.warn("Cannot append to the resource journal {}", journal, e);
+        }
+    }
+
+    private boolean add(int id) {
+        if ((size + 1) * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        int mask = slots.length - 1;
+        for (int i = mix(id) & mask; ; i = (i + 1) & mask) {
+            if (slots[i] == id) return false;
+            if (slots[i] == 0) {
+                slots[i] = id;
+                size++;
+                return true;
+            }
+        }
+    }
+
+    private boolean remove(int id) {
+        int mask = slots.length - 1;
+        int i = mix(id) & mask;
+        while (slots[i] != id) {
+            if (slots[i] == 0) return false;
+            i = (i + 1) & mask;
+        }
+        slots[i] = 0;
+        size--;
+        // re-place the rest of the probe run so lookups do not stop at the new hole
+        for (int j = (i + 1) & mask; slots[j] != 0; j = (j + 1) & mask) {
+            int moved = slots[j];
+            slots[j] = 0;
+            size--;
+            add(moved);
+        }
+        return true;
+    }
+
+    private void rehash(int capacity) {
+        int[] old = slots;
+        slots = new int[capacity];
+        size = 0;
+        for (int id : old) {
+            if (id != 0) add(id);
+        }
+    }
+
+    private static int mix(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
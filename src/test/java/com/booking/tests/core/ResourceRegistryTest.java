@@ -0,0 +1,111 @@
+package com.booking.tests.core;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.SortedMap;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ResourceRegistry on journals in a temporary directory (not the shared one of this JVM).
+ */
+@Tag("unit")
+class ResourceRegistryTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void forget_keepsTheRestFindable() throws IOException {
+        Path journal = dir.resolve("set.journal");
+        try (var registry = ResourceRegistry.open(journal)) {
+            // enough ids to grow the table several times and form long probe runs
+            IntStream.rangeClosed(1, 2000).forEach(registry::record);
+            IntStream.rangeClosed(1, 2000).filter(id -> id % 2 == 1).forEach(registry::forget);
+
+            int[] evens = IntStream.rangeClosed(1, 1000).map(i -> i * 2).toArray();
+            assertThat(registry.ids()).containsExactly(evens);
+            // every remaining id is still found behind the holes: recording it again adds nothing
+            IntStream.of(evens).forEach(registry::record);
+            assertThat(registry.size()).isEqualTo(1000);
+            assertThat(ResourceRegistry.replay(journal)).containsExactly(evens);
+
+            IntStream.of(evens).forEach(registry::forget);
+            assertThat(registry.size()).isZero();
+            assertThat(registry.ids()).isEmpty();
+        }
+        assertThat(journal).doesNotExist();
+    }
+
+    @Test
+    void replay_skipsTornLines() throws IOException {
+        Path journal = dir.resolve("torn.journal");
+        Files.writeString(journal, "+1\n+2\n-1\n+3\n+4x\n-\n+5\n+", StandardCharsets.US_ASCII);
+
+        assertThat(ResourceRegistry.replay(journal)).containsExactly(2, 3, 5);
+    }
+
+    @Test
+    void replayLastnames_keepsTheNameEachIdWasCreatedWith() throws IOException {
+        Path journal = dir.resolve("names.journal");
+        try (var registry = ResourceRegistry.open(journal)) {
+            registry.record(1, "Brown-k3x9a");
+            registry.record(2);
+            registry.record(3, "van der Berg-k3x9a");
+            registry.forget(1);
+        }
+        Files.writeString(journal, "+4 Smi", StandardCharsets.UTF_8, StandardOpenOption.APPEND); // torn
+
+        SortedMap<Integer, String> held = ResourceRegistry.replayLastnames(journal);
+        assertThat(held).containsOnlyKeys(2, 3, 4);
+        assertThat(held.get(2)).isNull();
+        assertThat(held.get(3)).isEqualTo("van der Berg-k3x9a");
+        assertThat(held.get(4)).isEqualTo("Smi");
+        assertThat(ResourceRegistry.replay(journal)).containsExactly(2, 3, 4);
+    }
+
+    @Test
+    void reopen_replaysWhatWasLeft() {
+        Path journal = dir.resolve("left.journal");
+        try (var registry = ResourceRegistry.open(journal)) {
+            registry.record(7);
+            registry.record(8);
+            registry.forget(7);
+        }
+        assertThat(journal).exists();
+
+        try (var registry = ResourceRegistry.open(journal)) {
+            assertThat(registry.ids()).containsExactly(8);
+            registry.forget(8);
+        }
+        assertThat(journal).doesNotExist();
+    }
+
+    @Test
+    void open_locksTheJournal_andLeavesNoTemporaryFile() throws IOException {
+        Path journal = dir.resolve("held.journal");
+        try (var registry = ResourceRegistry.open(journal)) {
+            registry.record(1);
+
+            assertThat(journal).exists();
+            try (Stream<Path> files = Files.list(dir)) {
+                assertThat(files).containsExactly(journal);
+            }
+            // held: a second open fails instead of sharing the journal
+            assertThatThrownBy(() -> ResourceRegistry.open(journal)).isInstanceOf(RuntimeException.class);
+            registry.record(2);
+            assertThat(registry.ids()).containsExactly(1, 2);
+        }
+        assertThat(ResourceRegistry.replay(journal)).containsExactly(1, 2);
+    }
+}
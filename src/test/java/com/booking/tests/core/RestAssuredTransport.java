@@ -0,0 +1,75 @@
+package com.booking.tests.core;
+
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Default backend: every request starts from {@link SpecFactory#requestJson()}, so the
+ * full filter chain and config apply exactly as for hand-written Rest Assured calls.
+ */
+public final class RestAssuredTransport implements HttpTransport {
+
+    static final RestAssuredTransport INSTANCE = new RestAssuredTransport();
+
+    // Rest Assured is blocking; async calls simply run it on a virtual thread.
+    private static final ExecutorService ASYNC = Executors.newVirtualThreadPerTaskExecutor();
+
+    private RestAssuredTransport() {}
+
+    @Override
+    public String name() {
+        return "restassured";
+    }
+
+    @Override
+    public TransportResponse send(TransportRequest request) {
+        Response r = execute(request);
+        return new TransportResponse(r.statusCode(), headersOf(r), r.asByteArray());
+    }
+
+    @Override
+    public CompletableFuture<TransportResponse> sendAsync(TransportRequest request) {
+        return CompletableFuture.supplyAsync(() -> send(request), ASYNC);
+    }
+
+    /**
+     * Not a real stream: the filters (metrics, flight recorder, ...) have read the whole body by the
+     * time it is handed out. Callers that need the body as it arrives use the JDK backend (see
+     * ApiClient.streamingTransport()).
+     */
+    @Override
+    public StreamedResponse stream(TransportRequest request) {
+        Response r = execute(request);
+        return new StreamedResponse(r.statusCode(), headersOf(r), r.asInputStream());
+    }
+
+    private Response execute(TransportRequest request) {
+        RequestSpecification spec = given().spec(SpecFactory.requestJson());
+        request.headers().forEach(spec::header);
+        request.cookies().forEach(spec::cookie);
+        request.query().forEach(spec::queryParam);
+        if (request.body() != null) {
+            spec.body(request.body());
+        }
+        return spec.request(request.method(), request.pathTemplate(), request.pathParams());
+    }
+
+    private static Map<String, List<String>> headersOf(Response r) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (Header h : r.getHeaders()) {
+            headers.computeIfAbsent(h.getName(), k -> new ArrayList<>(1)).add(h.getValue());
+        }
+        return headers;
+    }
+}
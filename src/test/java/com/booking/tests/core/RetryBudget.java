@@ -0,0 +1,72 @@
+package com.booking.tests.core;
+
+import com.booking.tests.config.Config;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket that caps retries as a share of traffic, shared by every RetryFilter in the JVM.
+ *
+ * Each first attempt deposits {@code ratio} tokens (e.g. 0.1), each retry withdraws one token,
+ * and the bucket never holds more than {@code maxTokens}. Long-run retries stay at or below
+ * ratio x requests, while a short burst of up to maxTokens retries is still allowed. When the
+ * upstream is really down, retries stop after the burst instead of multiplying the load.
+ */
+public final class RetryBudget {
+
+    private static final long SCALE = 1000; // tokens are stored in thousandths
+
+    private static volatile RetryBudget shared;
+
+    private final long depositPerRequest;
+    private final long capacity;
+    private final AtomicLong balance;
+
+    public RetryBudget(double ratio, int maxTokens) {
+        this.depositPerRequest = Math.round(Math.max(0, ratio) * SCALE);
+        this.capacity = Math.max(1, maxTokens) * SCALE;
+        this.balance = new AtomicLong(capacity);
+    }
+
+    /** The JVM-wide budget from {@code retry.budget} in application.conf. */
+    public static RetryBudget shared() {
+        RetryBudget b = shared;
+        if (b == null) {
+            synchronized (RetryBudget.class) {
+                b = shared;
+                if (b == null) {
+                    shared = b = new RetryBudget(Config.doubleOr("retry.budget.ratio", 0.1),
+                            Config.intOr("retry.budget.maxTokens", 10));
+                }
+            }
+        }
+        return b;
+    }
+
+    public static synchronized void resetShared() {
+        shared = null;
+    }
+
+    /** Record one first attempt (not a retry). */
+    public void onRequest() {
+        balance.accumulateAndGet(depositPerRequest, (cur, add) -> Math.min(capacity, cur + add));
+    }
+
+    /** Take one token for a retry; false when the budget is spent. */
+    public boolean tryAcquireRetry() {
+        while (true) {
+            long cur = balance.get();
+            if (cur < SCALE) {
+                return false;
+            }
+            if (balance.compareAndSet(cur, cur - SCALE)) {
+                return true;
+            }
+        }
+    }
+
+    /** Whole retries currently available. */
+    public long available() {
+        return balance.get() / SCALE;
+    }
+}
@@ -1,24 +1,100 @@
 package com.booking.tests.core;
 
+import com.booking.tests.config.Config;
 import io.restassured.filter.Filter;
 import io.restassured.filter.FilterContext;
 import io.restassured.response.Response;
 import io.restassured.specification.FilterableRequestSpecification;
 import io.restassured.specification.FilterableResponseSpecification;
+import org.apache.http.NoHttpResponseException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.io.InterruptedIOException;
+import java.lang.reflect.Field;
+import java.net.ConnectException;
 import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Retries transient errors (502/503/504) with exponential backoff.
- * Keeps your suite stable in the face of brief upstream hiccups.
+ * Retries transient errors (429/502/503/504, connect failures, timeouts) with backoff.
+ * Keeps your suite stable in the face of brief upstream hiccups, without making an outage worse:
+ *
+ * - Budget: retries draw from the shared {@link RetryBudget} (about 10% of requests by default).
+ * - Full jitter: each wait is random in [0, min(maxDelay, initialDelay x 2^attempt)], so parallel
+ *   tests that failed together don't all come back at the same moment.
+ * - Retry-After: if the server says when to come back, we wait that long (or give up if it's
+ *   longer than maxRetryAfter).
+ * - Idempotency: GET/HEAD/OPTIONS/PUT/DELETE are retried; POST/PATCH only when the request
+ *   carries an {@value #IDEMPOTENCY_KEY} header (otherwise a retry could create a second booking).
+ *
+ * Every decision is counted (see {@link #decisions()}); the totals are logged at the end of the run.
  */
 public class RetryFilter implements Filter {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    /** What the filter did when it saw a retryable failure. */
+    public enum Decision {
+        RETRIED_STATUS,          // transient status, retried
+        RETRIED_EXCEPTION,       // connect failure / timeout, retried
+        RECOVERED,               // a retry eventually succeeded
+        EXHAUSTED,               // still failing after maxRetries
+        DENIED_BUDGET,           // retry budget spent
+        DENIED_NOT_IDEMPOTENT,   // POST/PATCH without an idempotency key
+        DENIED_RETRY_AFTER       // Retry-After longer than we are willing to wait
+    }
+
+    private static final Set<Integer> TRANSIENT_STATUS = Set.of(429, 502, 503, 504);
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE", "TRACE");
+    private static final Map<Decision, LongAdder> DECISIONS = new EnumMap<>(Decision.class);
+    private static final Logger LOG = LoggerFactory.getLogger(RetryFilter.class);
+    private static final AtomicBoolean REPLAY_WARNED = new AtomicBoolean();
+
+    static {
+        for (Decision d : Decision.values()) {
+            DECISIONS.put(d, new LongAdder());
+        }
+    }
+
     private final int maxRetries;
     private final Duration initialDelay;
+    private final Duration maxDelay;
+    private final Duration maxRetryAfter;
+    private final RetryBudget budget;
 
     public RetryFilter(int maxRetries, Duration initialDelay) {
+        this(maxRetries, initialDelay, Duration.ofSeconds(5), Duration.ofSeconds(30), RetryBudget.shared());
+    }
+
+    public RetryFilter(int maxRetries, Duration initialDelay, Duration maxDelay,
+                       Duration maxRetryAfter, RetryBudget budget) {
         this.maxRetries = Math.max(0, maxRetries);
         this.initialDelay = initialDelay;
+        this.maxDelay = maxDelay;
+        this.maxRetryAfter = maxRetryAfter;
+        this.budget = budget;
+    }
+
+    /** Settings from the {@code retry} block of application.conf. */
+    public static RetryFilter fromConfig() {
+        return new RetryFilter(
+                Config.intOr("retry.maxRetries", 2),
+                Duration.ofMillis(Config.longOr("retry.initialDelayMs", 250)),
+                Duration.ofMillis(Config.longOr("retry.maxDelayMs", 5_000)),
+                Duration.ofMillis(Config.longOr("retry.maxRetryAfterMs", 30_000)),
+                RetryBudget.shared());
     }
 
     @Override
@@ -26,25 +102,209 @@ public class RetryFilter implements Filter {
                            FilterableResponseSpecification res,
                            FilterContext ctx) {
 
-        Response response = ctx.next(req, res);
+        budget.onRequest();
+        Chain chain = Chain.of(ctx);
         int attempt = 0;
-        long delay = initialDelay.toMillis();
 
-        while (attempt < maxRetries && isTransient(response)) {
-            sleep(delay);
-            delay *= 2; // exponential backoff
+        while (true) {
+            Response response;
+            try {
+                response = chain.next(req, res);
+            } catch (Throwable t) {
+                if (!isTransient(t) || !mayRetry(chain, req, attempt, Decision.RETRIED_EXCEPTION)) {
+                    throw sneaky(t);
+                }
+                HttpMetrics.retry(req.getMethod(), req.getUserDefinedPath(), -1);
+                sleep(backoff(attempt));
+                attempt++;
+                continue;
+            }
+
+            if (!isTransient(response)) {
+                if (attempt > 0) {
+                    count(Decision.RECOVERED);
+                }
+                return response;
+            }
+            Duration wait = retryAfter(response);
+            if (wait != null && wait.compareTo(maxRetryAfter) > 0) {
+                count(Decision.DENIED_RETRY_AFTER);
+                return response;
+            }
+            if (!mayRetry(chain, req, attempt, Decision.RETRIED_STATUS)) {
+                return response;
+            }
+            HttpMetrics.retry(req.getMethod(), req.getUserDefinedPath(), response.statusCode());
+            // Buffer the failed body so its pooled connection is released before we try again.
+            response.asByteArray();
+            sleep(wait != null ? wait : backoff(attempt));
             attempt++;
-            response = ctx.next(req, res);
         }
-        return response;
+    }
+
+    /** Snapshot of the decision counters since the start of the run (or the last reset). */
+    public static Map<Decision, Long> decisions() {
+        Map<Decision, Long> out = new EnumMap<>(Decision.class);
+        DECISIONS.forEach((d, n) -> out.put(d, n.sum()));
+        return out;
+    }
+
+    public static void resetDecisions() {
+        DECISIONS.values().forEach(LongAdder::reset);
+    }
+
+    /** Checks attempts, idempotency and budget in that order; counts the outcome. */
+    private boolean mayRetry(Chain chain, FilterableRequestSpecification req, int attempt, Decision ifRetried) {
+        if (attempt >= maxRetries || !chain.replayable()) {
+            count(Decision.EXHAUSTED);
+            return false;
+        }
+        if (!isIdempotent(req)) {
+            count(Decision.DENIED_NOT_IDEMPOTENT);
+            return false;
+        }
+        if (!budget.tryAcquireRetry()) {
+            count(Decision.DENIED_BUDGET);
+            return false;
+        }
+        count(ifRetried);
+        return true;
+    }
+
+    private static boolean isIdempotent(FilterableRequestSpecification req) {
+        return IDEMPOTENT_METHODS.contains(req.getMethod())
+                || req.getHeaders().hasHeaderWithName(IDEMPOTENCY_KEY);
     }
 
     private boolean isTransient(Response r) {
-        int code = r.statusCode();
-        return code == 502 || code == 503 || code == 504;
+        return TRANSIENT_STATUS.contains(r.statusCode());
+    }
+
+    /** Connect refused/reset, connect or read timeout, server closed without answering. */
+    private static boolean isTransient(Throwable t) {
+        if (Thread.currentThread().isInterrupted()) {
+            return false;
+        }
+        for (Throwable c = t; c != null; c = c.getCause()) {
+            if (c instanceof ConnectException
+                    || c instanceof InterruptedIOException   // SocketTimeoutException, ConnectTimeoutException
+                    || c instanceof NoHttpResponseException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Full jitter: uniform in [0, min(maxDelay, initialDelay * 2^attempt)]. */
+    private Duration backoff(int attempt) {
+        long ceiling = Math.min(maxDelay.toMillis(), initialDelay.toMillis() << Math.min(attempt, 20));
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+
+    /** Retry-After as delta-seconds or an HTTP date; null if absent or unparseable. */
+    private static Duration retryAfter(Response r) {
+        String value = r.getHeader("Retry-After");
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        value = value.trim();
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value)));
+        } catch (NumberFormatException notSeconds) {
+            try {
+                Duration d = Duration.between(ZonedDateTime.now(),
+                        ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME));
+                return d.isNegative() ? Duration.ZERO : d;
+            } catch (DateTimeParseException e) {
+                return null;
+            }
+        }
+    }
+
+    /** Whether this filter can replay the chain behind {@code ctx}; false means it never retries there. */
+    static boolean canReplay(FilterContext ctx) {
+        return Chain.of(ctx).replayable();
+    }
+
+    /** Logged once per run: without replay every failure is final, which is easy to miss otherwise. */
+    private static void replayUnavailable(String why) {
+        if (REPLAY_WARNED.compareAndSet(false, true)) {
+            LOG.warn("Retries are disabled: cannot replay the Rest Assured filter chain ({})", why);
+        }
+    }
+
+    /**
+     * The filters after this one, replayable once per attempt.
+     *
+     * Rest Assured's FilterContext walks a one-shot iterator: a second ctx.next() skips the inner
+     * filters and goes straight to the sender (or returns null once that is used up too). So we
+     * take a copy of the remaining filters and point the context at a fresh iterator over it
+     * before every attempt. If Rest Assured's internals ever change, we stop retrying and say so
+     * once (RetryFilterTest fails first).
+     */
+    private record Chain(FilterContext ctx, List<Filter> rest) {
+
+        private static final Field FILTERS = filtersField();
+
+        static Chain of(FilterContext ctx) {
+            if (FILTERS == null) {
+                return new Chain(ctx, null); // already warned
+            }
+            if (!FILTERS.getDeclaringClass().isInstance(ctx)) {
+                replayUnavailable("filter context is a " + ctx.getClass().getName());
+                return new Chain(ctx, null);
+            }
+            try {
+                List<Filter> rest = new ArrayList<>();
+                ((Iterator<?>) FILTERS.get(ctx)).forEachRemaining(f -> rest.add((Filter) f));
+                return new Chain(ctx, List.copyOf(rest));
+            } catch (IllegalAccessException e) {
+                replayUnavailable(e.toString());
+                return new Chain(ctx, null);
+            }
+        }
+
+        boolean replayable() {
+            return rest != null;
+        }
+
+        Response next(FilterableRequestSpecification req, FilterableResponseSpecification res) {
+            if (rest != null) {
+                try {
+                    FILTERS.set(ctx, rest.iterator());
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return ctx.next(req, res);
+        }
+
+        private static Field filtersField() {
+            try {
+                Field f = Class.forName("io.restassured.internal.filter.FilterContextImpl").getDeclaredField("filters");
+                f.setAccessible(true);
+                if (Iterator.class.isAssignableFrom(f.getType())) {
+                    return f;
+                }
+                replayUnavailable("FilterContextImpl.filters is a " + f.getType().getName());
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                replayUnavailable(e.toString());
+            }
+            return null;
+        }
+    }
+
+    private static void count(Decision d) {
+        DECISIONS.get(d).increment();
+    }
+
+    private void sleep(Duration d) {
+        try { Thread.sleep(d.toMillis()); } catch (InterruptedException ignored) { Thread.currentThread().interrupt(); }
     }
 
-    private void sleep(long ms) {
-        try { Thread.sleep(ms); } catch (InterruptedException ignored) { Thread.currentThread().interrupt(); }
+    // Rest Assured rethrows checked I/O exceptions unchanged; keep them that way.
+    @SuppressWarnings("unchecked")
+    private static <T extends Throwable> RuntimeException sneaky(Throwable t) throws T {
+        throw (T) t;
     }
 }
@@ -0,0 +1,158 @@
+package com.booking.tests.core;
+
+import com.booking.tests.core.RetryFilter.Decision;
+import com.booking.tests.support.Locks;
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * RetryFilter in a real Rest Assured filter chain, answered by a scripted {@link InProcessHandler}
+ * (no socket): retry -> counting filter -> InProcessFilter. The counting filter sits where the
+ * metrics and tracing filters do in SpecFactory, so it shows whether every attempt replays the
+ * whole inner chain.
+ *
+ * The decision counters are JVM-wide, hence the GLOBAL_CONFIG write lock and before/after deltas.
+ */
+@ResourceLock(value = Locks.GLOBAL_CONFIG, mode = ResourceAccessMode.READ_WRITE)
+@Tag("unit")
+class RetryFilterTest {
+
+    private final AtomicInteger innerCalls = new AtomicInteger();
+    private final List<TransportRequest> received = new ArrayList<>();
+    private Map<Decision, Long> before;
+
+    @BeforeEach
+    void snapshot() {
+        before = RetryFilter.decisions();
+    }
+
+    @Test
+    void restAssuredChain_canBeReplayed() {
+        // the replay reaches into Rest Assured internals; an upgrade that breaks it fails here
+        AtomicBoolean replayable = new AtomicBoolean();
+        Filter probe = (req, res, ctx) -> {
+            replayable.set(RetryFilter.canReplay(ctx));
+            return ctx.next(req, res);
+        };
+        RestAssured.given().baseUri("http://retry.test").filter(probe).filter(new InProcessFilter(script(200)))
+                .get("/booking/1");
+
+        assertThat(replayable).as("RetryFilter can replay Rest Assured's FilterContext").isTrue();
+    }
+
+    @Test
+    void transientStatus_isRetriedThroughTheWholeChain() {
+        Response r = given(retry(2), script(503, 503, 200)).get("/booking/1");
+
+        assertThat(r.statusCode()).isEqualTo(200);
+        assertThat(received).hasSize(3);
+        assertThat(innerCalls).hasValue(3);
+        assertThat(delta()).containsEntry(Decision.RETRIED_STATUS, 2L).containsEntry(Decision.RECOVERED, 1L);
+    }
+
+    @Test
+    void persistentFailure_stopsAfterMaxRetries() {
+        Response r = given(retry(2), script(503, 503, 503, 503)).get("/booking/1");
+
+        assertThat(r.statusCode()).isEqualTo(503);
+        assertThat(received).hasSize(3);
+        assertThat(delta()).containsEntry(Decision.RETRIED_STATUS, 2L).containsEntry(Decision.EXHAUSTED, 1L)
+                .containsEntry(Decision.RECOVERED, 0L);
+    }
+
+    @Test
+    void post_withoutIdempotencyKey_isNotRetried() {
+        Response r = given(retry(2), script(429, 200)).body("{}").post("/booking");
+
+        assertThat(r.statusCode()).isEqualTo(429);
+        assertThat(received).hasSize(1);
+        assertThat(delta()).containsEntry(Decision.DENIED_NOT_IDEMPOTENT, 1L).containsEntry(Decision.RETRIED_STATUS, 0L);
+    }
+
+    @Test
+    void post_withIdempotencyKey_isRetried() {
+        Response r = given(retry(2), script(429, 200))
+                .header(RetryFilter.IDEMPOTENCY_KEY, "key-1").body("{}").post("/booking");
+
+        assertThat(r.statusCode()).isEqualTo(200);
+        assertThat(received).hasSize(2)
+                .allSatisfy(req -> assertThat(req.header(RetryFilter.IDEMPOTENCY_KEY)).isEqualTo("key-1"));
+        assertThat(delta()).containsEntry(Decision.RETRIED_STATUS, 1L).containsEntry(Decision.RECOVERED, 1L);
+    }
+
+    @Test
+    void retryAfter_longerThanAllowed_isNotWaitedFor() {
+        InProcessHandler handler = req -> {
+            received.add(req);
+            return new TransportResponse(429, Map.of("Retry-After", List.of("120")), new byte[0]);
+        };
+        Response r = given(retry(2), handler).get("/booking/1");
+
+        assertThat(r.statusCode()).isEqualTo(429);
+        assertThat(received).hasSize(1);
+        assertThat(delta()).containsEntry(Decision.DENIED_RETRY_AFTER, 1L);
+    }
+
+    @Test
+    void spentBudget_deniesFurtherRetries() {
+        var budget = new RetryBudget(0, 1); // one retry, never refilled
+        var filter = new RetryFilter(3, Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofSeconds(1), budget);
+
+        Response r = given(filter, script(503, 503, 200)).get("/booking/1");
+
+        assertThat(r.statusCode()).isEqualTo(503);
+        assertThat(received).hasSize(2);
+        assertThat(delta()).containsEntry(Decision.RETRIED_STATUS, 1L).containsEntry(Decision.DENIED_BUDGET, 1L);
+    }
+
+    private static RetryFilter retry(int maxRetries) {
+        return new RetryFilter(maxRetries, Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofSeconds(1),
+                new RetryBudget(1.0, 100));
+    }
+
+    /** Answers with these statuses in turn (the last one repeats). */
+    private InProcessHandler script(int... statuses) {
+        Deque<Integer> next = new ArrayDeque<>();
+        for (int s : statuses) next.add(s);
+        return req -> {
+            received.add(req);
+            int status = next.size() > 1 ? next.poll() : next.peek();
+            return new TransportResponse(status, Map.of("Content-Type", List.of("application/json")),
+                    "{}".getBytes());
+        };
+    }
+
+    private RequestSpecification given(RetryFilter retry, InProcessHandler handler) {
+        Filter counting = (req, res, ctx) -> {
+            innerCalls.incrementAndGet();
+            return ctx.next(req, res);
+        };
+        return RestAssured.given().baseUri("http://retry.test").contentType("application/json")
+                .filter(retry).filter(counting).filter(new InProcessFilter(handler));
+    }
+
+    private Map<Decision, Long> delta() {
+        Map<Decision, Long> out = new EnumMap<>(Decision.class);
+        RetryFilter.decisions().forEach((d, n) -> out.put(d, n - before.get(d)));
+        return out;
+    }
+}
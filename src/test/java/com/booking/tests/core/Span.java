@@ -0,0 +1,124 @@
+package com.booking.tests.core;
+
+import java.util.Arrays;
+
+/**
+ * One timed operation in a trace (test, client step or HTTP exchange); see {@link Tracer}.
+ *
+ * A span is not thread-bound unless {@link #enter()}ed: then it is the parent of spans started
+ * on this thread until it is closed. Typical use:
+ * <pre>
+ * try (Span span = Tracer.start("BookingClient.create", Span.Kind.INTERNAL).enter()) { ... }
+ * </pre>
+ */
+public final class Span implements AutoCloseable {
+
+    /** OTLP SpanKind values. */
+    public enum Kind {
+        INTERNAL(1), SERVER(2), CLIENT(3);
+
+        final int otlp;
+
+        Kind(int otlp) {
+            this.otlp = otlp;
+        }
+    }
+
+    /** Returned when tracing is disabled; every method is a no-op. */
+    static final Span NOOP = new Span(null, null, null, "noop", Kind.INTERNAL, 0);
+
+    final String traceId;
+    final String spanId;
+    final String parentSpanId;
+    final String name;
+    final Kind kind;
+    final long startNanos;
+    long endNanos;
+    Object[] attributes = new Object[8]; // key, value, key, value, ...
+    int attributeCount;
+    boolean error;
+    String statusMessage;
+
+    private Span previous;
+    private boolean entered;
+    private boolean ended;
+
+    Span(String traceId, String spanId, String parentSpanId, String name, Kind kind, long startNanos) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.kind = kind;
+        this.startNanos = startNanos;
+    }
+
+    /** W3C traceparent header value for a request made within this span (null if disabled). */
+    public String traceparent() {
+        return this == NOOP ? null : "00-" + traceId + "-" + spanId + "-01";
+    }
+
+    public String traceId() {
+        return traceId;
+    }
+
+    /** Makes this the current span of the calling thread until {@link #close()}. */
+    public Span enter() {
+        if (this != NOOP && !entered) {
+            previous = Tracer.CURRENT.get();
+            Tracer.CURRENT.set(this);
+            entered = true;
+        }
+        return this;
+    }
+
+    public Span attribute(String key, String value) {
+        if (this != NOOP && value != null) {
+            put(key, value);
+        }
+        return this;
+    }
+
+    public Span attribute(String key, long value) {
+        if (this != NOOP) {
+            put(key, value);
+        }
+        return this;
+    }
+
+    /** Marks the span as failed (OTLP status ERROR). */
+    public Span error(Throwable t) {
+        return error(t.getClass().getSimpleName() + (t.getMessage() == null ? "" : ": " + t.getMessage()));
+    }
+
+    public Span error(String message) {
+        if (this != NOOP) {
+            error = true;
+            statusMessage = message;
+        }
+        return this;
+    }
+
+    /** Ends the span (once) and, if it was entered, restores the thread's previous span. */
+    @Override
+    public void close() {
+        if (this == NOOP || ended) {
+            return;
+        }
+        ended = true;
+        endNanos = Tracer.nowNanos();
+        if (entered && Tracer.CURRENT.get() == this) {
+            Tracer.CURRENT.set(previous);
+        }
+        previous = null;
+        Tracer.finished(this);
+    }
+
+    private void put(String key, Object value) {
+        if (2 * attributeCount + 2 > attributes.length) {
+            attributes = Arrays.copyOf(attributes, attributes.length * 2);
+        }
+        attributes[2 * attributeCount] = key;
+        attributes[2 * attributeCount + 1] = value;
+        attributeCount++;
+    }
+}
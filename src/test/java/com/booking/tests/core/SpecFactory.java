@@ -1,12 +1,9 @@
 package com.booking.tests.core;
 
 import com.booking.tests.config.Config;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
 import io.restassured.builder.ResponseSpecBuilder;
-import io.restassured.filter.log.LogDetail;
 import io.restassured.path.json.config.JsonPathConfig;
 /*
 One place to define how HTTP is done across the suite: base URL, JSON defaults, timeouts/SLAs, logging, retries, tracing, and common headers.
@@ -28,10 +25,10 @@ import io.restassured.specification.RequestSpecification;
 import io.restassured.specification.ResponseSpecification;
 
 import java.nio.charset.StandardCharsets;
-import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import static org.hamcrest.Matchers.lessThan;
 
@@ -44,11 +41,44 @@ import static org.hamcrest.Matchers.lessThan;
  *
  * Tests and endpoint clients should NOT re-declare these details; they should always
  * start from this factory to avoid config drift.
+ *
+ * Everything built here is cached: specs are built once per {@link Profile} and then
+ * shared by every thread. Treat returned specs as read-only templates and always layer
+ * on top of them with {@code given().spec(...)} (which copies). Call {@link #invalidate()}
+ * (or {@link #rebuild()}) when configuration changes at runtime.
  */
 public final class SpecFactory {
 
     private SpecFactory() {} // Utility class; no instances.
 
+    /** Tip: user-agent helps backend observability and whitelisting in some orgs. */
+    public static final String USER_AGENT = "RA-Tests/1.0 (+https://example.org)";
+
+    /** Which credentials are baked into the spec itself (dynamic tokens stay in ApiClient). */
+    public enum AuthMode { NONE, BASIC }
+
+    /** Which cross-cutting filters are attached. */
+    public enum FilterSet {
+        /** Correlation id + redacted log-on-failure + retry (the default). */
+        STANDARD,
+        /** Correlation id only; for tests that assert on raw failures without retries. */
+        MINIMAL,
+        /** No cross-cutting filters; created bookings are still recorded for cleanup. */
+        NONE
+    }
+
+    /** Cache key: one immutable RequestSpecification per combination. */
+    public record Profile(String env, AuthMode auth, FilterSet filters) {
+        public static Profile defaults() {
+            return new Profile(Config.env(), AuthMode.NONE, FilterSet.STANDARD);
+        }
+    }
+
+    private static final ConcurrentMap<Profile, RequestSpecification> REQUEST_SPECS = new ConcurrentHashMap<>();
+    private static volatile RestAssuredConfig restAssuredConfig;
+    private static volatile ResponseSpecification okJson;
+    private static volatile ResponseSpecification noContent;
+
     /**
      * Build a reusable JSON RequestSpecification.
      *
@@ -57,14 +87,86 @@ public final class SpecFactory {
      *    We set the base URL, content type, default headers, logging, timeouts, etc.
      * 2) Every API call in the framework should start from this spec so behavior is consistent.
      * 3) We add Filters (middleware) to implement cross-cutting concerns (retry, log-on-failure).
+     * 4) The spec is built once and cached; repeated calls return the same instance.
      */
     public static RequestSpecification requestJson() {
+        return requestJson(Profile.defaults());
+    }
+
+    /** Same as {@link #requestJson()} but for a specific auth mode / filter set. */
+    public static RequestSpecification requestJson(Profile profile) {
+        return REQUEST_SPECS.computeIfAbsent(profile, SpecFactory::build);
+    }
+
+    /**
+     * Drop every cached spec/config. The next call rebuilds from the current {@link Config}.
+     * Use after changing config at runtime (e.g. pointing baseUrl at a local stub).
+     */
+    public static synchronized void invalidate() {
+        REQUEST_SPECS.clear();
+        Transports.reset();
+        TokenProvider.resetShared();
+        RetryBudget.resetShared();
+        restAssuredConfig = null;
+        okJson = null;
+        noContent = null;
+    }
+
+    /** Re-read configuration files and drop all cached specs. */
+    public static void rebuild() {
+        Config.reload();
+        invalidate();
+    }
+
+    /**
+     * Builds a new spec for {@code profile}, bypassing the cache: what {@link #requestJson(Profile)}
+     * does once per profile. Tests use requestJson; this is for measuring the build itself.
+     */
+    public static RequestSpecification build(Profile profile) {
+
+        // ---- 1) Build and return the RequestSpecification ----
+        RequestSpecBuilder builder = new RequestSpecBuilder()
+                .setBaseUri(Config.baseUrl())                 // base URL from one place (config)
+                .setContentType(ContentType.JSON)             // default to JSON requests
+                .addHeader("Accept", ContentType.JSON.toString())
+                .addHeader("Accept-Charset", StandardCharsets.UTF_8.name())
+                .addHeader("User-Agent", USER_AGENT)
+
+                // No per-request console logging: every exchange goes to the FlightRecorder instead,
+                // and is printed only if the test fails (see FlightRecorderFilter below).
+
+                // Make all filters effective for every request
+                .addFilters(filters(profile.filters()))
+
+                // Apply unified RA configuration (shared, built once)
+                .setConfig(restAssuredConfig());
+
+        if (profile.auth() == AuthMode.BASIC) {
+            builder.setAuth(RestAssured.preemptive().basic(Config.user(), Config.pass()));
+        }
+        return builder.build();
+    }
 
-        // ---- 1) Build the list of filters we want globally ----
+    private static List<Filter> filters(FilterSet set) {
+
+        // ---- 2) Build the list of filters we want globally ----
         List<Filter> filters = new ArrayList<>();
 
-        // (a) Add a correlation-id on every request for traceability in logs/APM.
-        filters.add(new CorrelationIdFilter(() -> UUID.randomUUID().toString()));
+        // (-) Record the bookings every POST /booking creates, raw ones included, for the end-of-run cleanup.
+        filters.add(new CreatedBookingFilter());
+        if (set == FilterSet.NONE) {
+            return withTerminal(filters);
+        }
+
+        // (0) Keep the last N exchanges of this thread for the failure report; first, so it times everything.
+        filters.add(new FlightRecorderFilter());
+
+        // (a) Add a correlation-id on every request for traceability in logs/APM
+        //     (a ULID: cheap, time-ordered, and it carries the send time).
+        filters.add(new CorrelationIdFilter(Ids::ulid));
+        if (set == FilterSet.MINIMAL) {
+            return innermost(filters);
+        }
 
         // (b) Log request/response ONLY if a failure happens (status >= 400).
         //     This keeps CI logs clean but preserves details when you need them.
@@ -75,14 +177,56 @@ public final class SpecFactory {
         filters.add(new RedactingLogOnFailureFilter());
 
         // (d) Retry transient failures (optional but common in real systems).
-        //     Here: retry up to 2 times for 502/503/504 with exponential backoff.
-        filters.add(new RetryFilter(2, Duration.ofMillis(250)));
+        //     Here: up to 2 retries for 429/502/503/504 and connect/read timeouts, with jittered
+        //     backoff, Retry-After, a shared retry budget and no retries of plain POSTs
+        //     (settings in the `retry` block of application.conf).
+        filters.add(RetryFilter.fromConfig());
 
         // (e) (Optional) Integrate reporting, e.g., Allure:
         // filters.add(new io.qameta.allure.restassured.AllureRestAssured());
+        return innermost(filters);
+    }
+
+    /** (y) One trace span + traceparent header, and one metrics sample, per attempt: after RetryFilter. */
+    private static List<Filter> innermost(List<Filter> filters) {
+        filters.add(new TracingFilter());
+        filters.add(new MetricsFilter());
+        return withTerminal(filters);
+    }
+
+    /**
+     * (z) The innermost filter. In-process runs (see InProcessTransport) end the chain here, without
+     * a socket; with the shared pool, it must hand each connection back.
+     */
+    private static List<Filter> withTerminal(List<Filter> filters) {
+        InProcessTransport inProcess = InProcessTransport.installed();
+        if (inProcess != null) {
+            filters.add(new InProcessFilter(inProcess.handler()));
+        } else if (HttpConnectionPool.enabled()) {
+            filters.add(new ConnectionReleaseFilter());
+        }
+        return filters;
+    }
 
-        // ---- 2) Configure underlying HTTP client + JSON mapping behavior ----
-        RestAssuredConfig config = RestAssuredConfig.newConfig()
+    /**
+     * The unified Rest Assured configuration, built once and shared.
+     */
+    public static RestAssuredConfig restAssuredConfig() {
+        RestAssuredConfig config = restAssuredConfig;
+        if (config == null) {
+            synchronized (SpecFactory.class) {
+                config = restAssuredConfig;
+                if (config == null) {
+                    restAssuredConfig = config = buildRestAssuredConfig();
+                }
+            }
+        }
+        return config;
+    }
+
+    private static RestAssuredConfig buildRestAssuredConfig() {
+        // ---- 3) Configure underlying HTTP client + JSON mapping behavior ----
+        return RestAssuredConfig.newConfig()
                 // Logging config: do not pretty-print huge payloads unless needed
                 .logConfig(LogConfig.logConfig().enablePrettyPrinting(false))
 
@@ -90,43 +234,31 @@ public final class SpecFactory {
                 // and set default object mapper to Jackson.
                 .jsonConfig(JsonConfig.jsonConfig()
                         .numberReturnType(JsonPathConfig.NumberReturnType.BIG_DECIMAL))
+                // One shared mapper (see Json) instead of a fresh ObjectMapper per body
                 .objectMapperConfig(new ObjectMapperConfig(ObjectMapperType.JACKSON_2)
-                        .jackson2ObjectMapperFactory((cls, charset) -> {
-                            ObjectMapper mapper = new ObjectMapper();
-                            mapper.registerModule(new JavaTimeModule());
-                            mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-                            return mapper;
-                        }))
+                        .jackson2ObjectMapperFactory((cls, charset) -> Json.mapper()))
 
                 // Hamcrest/Matcher config: readable assertion errors
                 .matcherConfig(MatcherConfig.matcherConfig())
 
                 // HTTP client config: timeouts at socket & connect levels (hard stops)
-                .httpClient(HttpClientConfig.httpClientConfig()
-                        .setParam("http.socket.timeout", Config.timeoutMs())     // read timeout
-                        .setParam("http.connection.timeout", Config.timeoutMs()) // connect timeout
-                );
-
-        // ---- 3) Build and return the RequestSpecification ----
-        return new RequestSpecBuilder()
-                .setBaseUri(Config.baseUrl())                 // base URL from one place (config)
-                .setContentType(ContentType.JSON)             // default to JSON requests
-                .addHeader("Accept", ContentType.JSON.toString())
-                .addHeader("Accept-Charset", StandardCharsets.UTF_8.name())
-                // Tip: user-agent helps backend observability and whitelisting in some orgs
-                .addHeader("User-Agent", "RA-Tests/1.0 (+https://example.org)")
-
-                // Unified logging policy: Method/URI always useful for quick traces
-                .log(LogDetail.METHOD)
-                .log(LogDetail.URI)
-
-                // Make all filters effective for every request
-                .addFilters(filters)
+                .httpClient(httpClientConfig());
+    }
 
-                // Apply unified RA configuration
-                .setConfig(config)
+    private static HttpClientConfig httpClientConfig() {
+        HttpClientConfig http = HttpClientConfig.httpClientConfig()
+                .setParam("http.socket.timeout", Config.timeoutMs())     // read timeout
+                .setParam("http.connection.timeout", Config.timeoutMs()); // connect timeout
 
-                .build();
+        if (!HttpConnectionPool.enabled()) {
+            return http;
+        }
+        // Every request gets a cheap client object that leases from one shared keep-alive pool
+        // (see HttpConnectionPool), instead of opening a new TCP/TLS connection each time.
+        HttpConnectionPool pool = HttpConnectionPool.shared();
+        return http
+                .httpClientFactory(pool::newClient)
+                .setParam("http.conn-manager.timeout", pool.settings().leaseTimeoutMs()); // wait for a free connection
     }
 
     /**
@@ -136,10 +268,14 @@ public final class SpecFactory {
      * Using this everywhere encourages teams to discuss/track API SLAs explicitly.
      */
     public static ResponseSpecification okJson() {
-        return new ResponseSpecBuilder()
-                .expectContentType(ContentType.JSON)
-                .expectResponseTime(lessThan((long) Config.timeoutMs()))
-                .build();
+        ResponseSpecification spec = okJson;
+        if (spec == null) {
+            okJson = spec = new ResponseSpecBuilder()
+                    .expectContentType(ContentType.JSON)
+                    .expectResponseTime(lessThan((long) Config.timeoutMs()))
+                    .build();
+        }
+        return spec;
     }
 
     /**
@@ -147,8 +283,12 @@ public final class SpecFactory {
      * Demonstrates how you can have multiple standardized response specs.
      */
     public static ResponseSpecification noContent() {
-        return new ResponseSpecBuilder()
-                .expectStatusCode(204)
-                .build();
+        ResponseSpecification spec = noContent;
+        if (spec == null) {
+            noContent = spec = new ResponseSpecBuilder()
+                    .expectStatusCode(204)
+                    .build();
+        }
+        return spec;
     }
 }
@@ -0,0 +1,31 @@
+package com.booking.tests.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A response whose body is still an open stream. Always close it (try-with-resources),
+ * otherwise the underlying connection is not returned.
+ */
+public record StreamedResponse(int status, Map<String, List<String>> headers, InputStream body)
+        implements AutoCloseable {
+
+    /** Deserializes the body straight from the stream (no byte[] or String in between) and closes it. */
+    public <T> T as(Class<T> type) {
+        try (this) {
+            return Json.read(body, type);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            body.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
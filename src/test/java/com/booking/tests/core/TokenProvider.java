@@ -0,0 +1,214 @@
+package com.booking.tests.core;
+
+import com.booking.tests.config.Config;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiFunction;
+
+/**
+ * Thread-safe cache of auth tokens, one entry (or a small pool) per credential set.
+ *
+ * - TTL: a token is reused until {@code ttl} after it was fetched.
+ * - Single-flight: when many threads ask for a missing/expired token at once, one of them calls
+ *   the fetcher and the others wait for that same result.
+ * - Background renewal: {@code refreshAhead} before expiry a daemon thread fetches a replacement,
+ *   so callers normally never wait for /auth after the first call.
+ * - Pool: with {@code poolSize} > 1 each credential set gets N independent tokens handed out
+ *   round-robin (spreads server-side session load during parallel/load runs).
+ *
+ * Settings live under {@code auth.token} in application.conf; {@code cache = false} makes
+ * every {@link #token} call fetch a fresh token (the old behaviour).
+ */
+public final class TokenProvider implements AutoCloseable {
+
+    private record Credentials(String user, String pass) {}
+
+    private record Token(String value, long expiresAtNanos) {
+        boolean expired() { return System.nanoTime() - expiresAtNanos >= 0; }
+    }
+
+    /** N token slots for one credential set; each slot holds the current (possibly in-flight) fetch. */
+    private static final class Slots {
+        final AtomicReferenceArray<CompletableFuture<Token>> tokens;
+        final AtomicInteger next = new AtomicInteger();
+
+        Slots(int size) { tokens = new AtomicReferenceArray<>(size); }
+    }
+
+    private static volatile TokenProvider shared;
+
+    private final BiFunction<String, String, String> fetcher;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Duration refreshAhead;
+    private final int poolSize;
+    private final ConcurrentMap<Credentials, Slots> cache = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService renewer;
+
+    /**
+     * @param fetcher calls /auth for (user, pass); returns the token or null when the credentials are rejected
+     */
+    public TokenProvider(BiFunction<String, String, String> fetcher, boolean enabled,
+                         Duration ttl, Duration refreshAhead, int poolSize) {
+        this.fetcher = fetcher;
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.refreshAhead = refreshAhead;
+        this.poolSize = Math.max(1, poolSize);
+        this.renewer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "token-renewer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public static TokenProvider fromConfig(BiFunction<String, String, String> fetcher) {
+        return new TokenProvider(fetcher,
+                Config.boolOr("auth.token.cache", true),
+                Duration.ofMillis(Config.longOr("auth.token.ttlMs", 600_000)),
+                Duration.ofMillis(Config.longOr("auth.token.refreshAheadMs", 60_000)),
+                Config.intOr("auth.token.poolSize", 1));
+    }
+
+    /** The provider BookingClient uses; created on first use from application.conf. */
+    public static TokenProvider shared(BiFunction<String, String, String> fetcher) {
+        TokenProvider p = shared;
+        if (p == null) {
+            synchronized (TokenProvider.class) {
+                p = shared;
+                if (p == null) {
+                    shared = p = fromConfig(fetcher);
+                }
+            }
+        }
+        return p;
+    }
+
+    /** Drops the shared provider (after a config change, and at the end of the run). */
+    public static synchronized void resetShared() {
+        if (shared != null) {
+            shared.close();
+            shared = null;
+        }
+    }
+
+    /** A valid token for these credentials; fails with IllegalStateException if /auth rejects them. */
+    public String token(String user, String pass) {
+        if (!enabled) {
+            return fetch(new Credentials(user, pass)).value();
+        }
+        var creds = new Credentials(user, pass);
+        Slots slots = cache.computeIfAbsent(creds, k -> new Slots(poolSize));
+        int index = Math.floorMod(slots.next.getAndIncrement(), poolSize);
+
+        while (true) {
+            CompletableFuture<Token> current = slots.tokens.get(index);
+            if (current != null && !isStale(current)) {
+                try {
+                    return current.join().value();
+                } catch (CompletionException e) {
+                    // The in-flight fetch we waited on failed: let the caller see why.
+                    throw unwrap(e);
+                }
+            }
+            // Missing, expired or failed: try to become the one thread that fetches.
+            var mine = new CompletableFuture<Token>();
+            if (slots.tokens.compareAndSet(index, current, mine)) {
+                try {
+                    Token token = fetch(creds);
+                    mine.complete(token);
+                    scheduleRenewal(creds, slots, index, mine);
+                    return token.value();
+                } catch (RuntimeException | Error e) {
+                    mine.completeExceptionally(e);
+                    slots.tokens.compareAndSet(index, mine, null); // don't cache failures
+                    throw e;
+                }
+            }
+            // Lost the race: another thread is fetching now; loop and wait for its result.
+        }
+    }
+
+    /**
+     * Forgets a token the server no longer accepts (e.g. a 403 on update/delete), so the next
+     * {@link #token} call fetches a new one.
+     */
+    public void invalidate(String token) {
+        cache.values().forEach(slots -> {
+            for (int i = 0; i < slots.tokens.length(); i++) {
+                CompletableFuture<Token> f = slots.tokens.get(i);
+                if (f != null && f.isDone() && !f.isCompletedExceptionally() && f.join().value().equals(token)) {
+                    slots.tokens.compareAndSet(i, f, null);
+                }
+            }
+        });
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+
+    @Override
+    public void close() {
+        renewer.shutdownNow();
+        cache.clear();
+    }
+
+    private static boolean isStale(CompletableFuture<Token> f) {
+        if (!f.isDone()) {
+            return false; // in flight: wait for it
+        }
+        return f.isCompletedExceptionally() || f.join().expired();
+    }
+
+    private Token fetch(Credentials creds) {
+        String value = fetcher.apply(creds.user(), creds.pass());
+        if (value == null || value.isBlank()) {
+            throw new IllegalStateException("/auth returned no token for user '" + creds.user() + "'");
+        }
+        return new Token(value, System.nanoTime() + ttl.toNanos());
+    }
+
+    private void scheduleRenewal(Credentials creds, Slots slots, int index, CompletableFuture<Token> current) {
+        long delay = ttl.minus(refreshAhead).toMillis();
+        if (delay <= 0 || renewer.isShutdown()) {
+            return;
+        }
+        try {
+            renewer.schedule(() -> renew(creds, slots, index, current), delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // closed concurrently; nothing to renew any more
+        }
+    }
+
+    private void renew(Credentials creds, Slots slots, int index, CompletableFuture<Token> current) {
+        if (slots.tokens.get(index) != current) {
+            return; // already replaced (invalidated or refetched on demand)
+        }
+        try {
+            var renewed = CompletableFuture.completedFuture(fetch(creds));
+            if (slots.tokens.compareAndSet(index, current, renewed)) {
+                scheduleRenewal(creds, slots, index, renewed);
+            }
+        } catch (RuntimeException e) {
+            // Keep serving the current token; once it expires a caller fetches on demand.
+        }
+    }
+
+    private static RuntimeException unwrap(CompletionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException re) return re;
+        if (cause instanceof Error err) throw err;
+        return e;
+    }
+}
@@ -0,0 +1,155 @@
+package com.booking.tests.core;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * TokenProvider against a counting fetcher (no /auth involved): many threads ask at once, and
+ * the count of fetches tells whether the cache did its job.
+ */
+@Tag("unit")
+class TokenProviderTest {
+
+    private static final int THREADS = 32;
+
+    private final AtomicInteger fetches = new AtomicInteger();
+
+    /** Returns "t1", "t2", ... after {@code delayMs}, so concurrent callers overlap the fetch. */
+    private BiFunction<String, String, String> counting(long delayMs) {
+        return (user, pass) -> {
+            int n = fetches.incrementAndGet();
+            sleep(delayMs);
+            return "t" + n;
+        };
+    }
+
+    @Test
+    void concurrentCallers_shareOneFetch() throws Exception {
+        try (var provider = new TokenProvider(counting(100), true, Duration.ofMinutes(10), Duration.ofMinutes(1), 1)) {
+            List<String> tokens = hammer(() -> provider.token("admin", "pw"));
+
+            assertThat(tokens).hasSize(THREADS).containsOnly("t1");
+            assertThat(fetches).hasValue(1);
+        }
+    }
+
+    @Test
+    void failedFetch_isNotCached() throws Exception {
+        var failFirst = new AtomicInteger();
+        BiFunction<String, String, String> fetcher = (user, pass) -> {
+            fetches.incrementAndGet();
+            sleep(50);
+            if (failFirst.getAndIncrement() == 0) {
+                throw new IllegalStateException("auth down");
+            }
+            return "ok";
+        };
+        try (var provider = new TokenProvider(fetcher, true, Duration.ofMinutes(10), Duration.ofMinutes(1), 1)) {
+            // everyone waiting on the failed fetch sees its failure ...
+            Set<String> outcomes = ConcurrentHashMap.newKeySet();
+            hammer(() -> {
+                try {
+                    return provider.token("admin", "pw");
+                } catch (IllegalStateException e) {
+                    outcomes.add(e.getMessage());
+                    return null;
+                }
+            });
+            assertThat(outcomes).contains("auth down");
+
+            // ... and the next call fetches again instead of replaying it
+            assertThat(provider.token("admin", "pw")).isEqualTo("ok");
+            int afterRecovery = fetches.get();
+            assertThat(provider.token("admin", "pw")).isEqualTo("ok");
+            assertThat(fetches).hasValue(afterRecovery);
+        }
+    }
+
+    @Test
+    void invalidate_forcesRefetch() {
+        try (var provider = new TokenProvider(counting(0), true, Duration.ofMinutes(10), Duration.ofMinutes(1), 1)) {
+            assertThat(provider.token("admin", "pw")).isEqualTo("t1");
+            provider.invalidate("t1");
+            assertThat(provider.token("admin", "pw")).isEqualTo("t2");
+            provider.invalidate("not-a-cached-token");
+            assertThat(provider.token("admin", "pw")).isEqualTo("t2");
+            assertThat(fetches).hasValue(2);
+        }
+    }
+
+    @Test
+    void renewal_replacesTokenBeforeExpiry() {
+        // a renewal every 300 ms (ttl - refreshAhead), expiry 1 s after each fetch
+        try (var provider = new TokenProvider(counting(0), true, Duration.ofSeconds(1), Duration.ofMillis(700), 1)) {
+            assertThat(provider.token("admin", "pw")).isEqualTo("t1");
+            sleep(450);
+            assertThat(fetches).hasValue(2);
+            assertThat(provider.token("admin", "pw")).isEqualTo("t2");
+            assertThat(fetches).hasValue(2); // served from the renewed entry, no fetch by the caller
+        }
+    }
+
+    @Test
+    void cacheDisabled_fetchesEveryTime() {
+        try (var provider = new TokenProvider(counting(0), false, Duration.ofMinutes(10), Duration.ofMinutes(1), 1)) {
+            assertThat(provider.token("admin", "pw")).isEqualTo("t1");
+            assertThat(provider.token("admin", "pw")).isEqualTo("t2");
+        }
+    }
+
+    @Test
+    void rejectedCredentials_fail() {
+        try (var provider = new TokenProvider((u, p) -> null, true, Duration.ofMinutes(10), Duration.ofMinutes(1), 1)) {
+            assertThatThrownBy(() -> provider.token("admin", "wrong"))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("admin");
+        }
+    }
+
+    /** Runs {@code call} on {@link #THREADS} threads released at the same moment; their results in order. */
+    private static List<String> hammer(Callable<String> call) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            var start = new CountDownLatch(1);
+            List<Future<String>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+            List<String> results = new ArrayList<>();
+            for (Future<String> f : futures) {
+                results.add(f.get());
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
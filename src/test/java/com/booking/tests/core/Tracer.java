@@ -0,0 +1,181 @@
+package com.booking.tests.core;
+
+import com.booking.tests.config.Config;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Minimal in-process tracer: spans per test (support/TracingExtension, bdd/steps/TracingHooks),
+ * per BookingClient step and per HTTP exchange (TracingFilter, JdkHttpTransport).
+ *
+ * HTTP calls carry the W3C {@code traceparent} header of their span, so server-side traces join ours.
+ * Finished spans are kept in memory (at most {@code tracing.maxSpans}, the rest dropped and counted)
+ * and written once, at the end of the run, as OTLP/JSON to {@code tracing.file} - open it in any
+ * viewer that imports OTLP (Jaeger, Grafana Tempo, otel-desktop-viewer, ...).
+ *
+ * Timestamps: one wall-clock reading at class load plus {@link System#nanoTime()} deltas,
+ * so durations are monotonic and a span costs no clock syscall beyond nanoTime.
+ */
+public final class Tracer {
+
+    private static final boolean ENABLED = Config.boolOr("tracing.enabled", true);
+    private static final int MAX_SPANS = Config.intOr("tracing.maxSpans", 100_000);
+    private static final long EPOCH_OFFSET_NANOS = System.currentTimeMillis() * 1_000_000L - System.nanoTime();
+
+    static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    private static final ConcurrentLinkedQueue<Span> FINISHED = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger KEPT = new AtomicInteger();
+    private static final LongAdder DROPPED = new LongAdder();
+
+    private Tracer() {}
+
+    public static boolean enabled() {
+        return ENABLED;
+    }
+
+    /** The span entered on this thread, or null. */
+    public static Span current() {
+        return CURRENT.get();
+    }
+
+    /** Starts a child of the current span, or a new trace if there is none. */
+    public static Span start(String name, Span.Kind kind) {
+        return start(name, kind, CURRENT.get());
+    }
+
+    /** Starts a child of {@code parent} (a new trace if null), e.g. across threads. */
+    public static Span start(String name, Span.Kind kind, Span parent) {
+        if (!ENABLED) {
+            return Span.NOOP;
+        }
+        boolean root = parent == null || parent == Span.NOOP;
+        return new Span(root ? Ids.traceId() : parent.traceId, Ids.spanId(), root ? null : parent.spanId,
+                name, kind, nowNanos());
+    }
+
+    static long nowNanos() {
+        return System.nanoTime() + EPOCH_OFFSET_NANOS;
+    }
+
+    static void finished(Span span) {
+        if (KEPT.incrementAndGet() <= MAX_SPANS) {
+            FINISHED.add(span);
+        } else {
+            KEPT.decrementAndGet();
+            DROPPED.increment();
+        }
+    }
+
+    /** Spans not kept because tracing.maxSpans was reached. */
+    public static long dropped() {
+        return DROPPED.sum();
+    }
+
+    /**
+     * Writes (and forgets) all finished spans to {@code tracing.file}.
+     *
+     * @return the file, or null if there was nothing to write
+     */
+    public static Path export() {
+        List<Span> spans = new ArrayList<>();
+        for (Span s; (s = FINISHED.poll()) != null; ) {
+            spans.add(s);
+        }
+        KEPT.addAndGet(-spans.size());
+        if (spans.isEmpty()) {
+            return null;
+        }
+        Path file = Path.of(Config.stringOr("tracing.file", "target/traces/spans.otlp.json"));
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (OutputStream out = Files.newOutputStream(file)) {
+                writeOtlp(spans, out);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write " + file, e);
+        }
+        return file;
+    }
+
+    /** OTLP/JSON (ExportTraceServiceRequest): one resource, one scope, all spans. */
+    static void writeOtlp(List<Span> spans, OutputStream out) throws IOException {
+        try (JsonGenerator g = Json.mapper().getFactory().createGenerator(out)) {
+            g.writeStartObject();
+            g.writeArrayFieldStart("resourceSpans");
+            g.writeStartObject();
+            g.writeObjectFieldStart("resource");
+            g.writeArrayFieldStart("attributes");
+            writeAttribute(g, "service.name", Config.stringOr("tracing.serviceName", "booking-api-tests"));
+            writeAttribute(g, "deployment.environment", Config.env());
+            g.writeEndArray();
+            g.writeEndObject();
+            g.writeArrayFieldStart("scopeSpans");
+            g.writeStartObject();
+            g.writeObjectFieldStart("scope");
+            g.writeStringField("name", "com.booking.tests");
+            g.writeEndObject();
+            g.writeArrayFieldStart("spans");
+            for (Span s : spans) {
+                writeSpan(g, s);
+            }
+            g.writeEndArray();
+            g.writeEndObject();
+            g.writeEndArray();
+            g.writeEndObject();
+            g.writeEndArray();
+            g.writeEndObject();
+        }
+    }
+
+    private static void writeSpan(JsonGenerator g, Span s) throws IOException {
+        g.writeStartObject();
+        g.writeStringField("traceId", s.traceId);
+        g.writeStringField("spanId", s.spanId);
+        if (s.parentSpanId != null) {
+            g.writeStringField("parentSpanId", s.parentSpanId);
+        }
+        g.writeStringField("name", s.name);
+        g.writeNumberField("kind", s.kind.otlp);
+        // 64-bit integers are strings in OTLP/JSON
+        g.writeStringField("startTimeUnixNano", Long.toString(s.startNanos));
+        g.writeStringField("endTimeUnixNano", Long.toString(s.endNanos));
+        g.writeArrayFieldStart("attributes");
+        for (int i = 0; i < s.attributeCount; i++) {
+            writeAttribute(g, (String) s.attributes[2 * i], s.attributes[2 * i + 1]);
+        }
+        g.writeEndArray();
+        g.writeObjectFieldStart("status");
+        g.writeNumberField("code", s.error ? 2 : 1); // ERROR : OK
+        if (s.statusMessage != null) {
+            g.writeStringField("message", s.statusMessage);
+        }
+        g.writeEndObject();
+        g.writeEndObject();
+    }
+
+    private static void writeAttribute(JsonGenerator g, String key, Object value) throws IOException {
+        g.writeStartObject();
+        g.writeStringField("key", key);
+        g.writeObjectFieldStart("value");
+        if (value instanceof Long l) {
+            g.writeStringField("intValue", Long.toString(l));
+        } else {
+            g.writeStringField("stringValue", String.valueOf(value));
+        }
+        g.writeEndObject();
+        g.writeEndObject();
+    }
+}
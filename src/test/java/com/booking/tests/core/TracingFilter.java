@@ -0,0 +1,43 @@
+package com.booking.tests.core;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * One CLIENT span per HTTP attempt (it sits after RetryFilter, so every retry gets its own span),
+ * child of the current test / step span, propagated to the server as a W3C traceparent header.
+ * The X-Correlation-Id of the request is recorded on the span, so a log line can be found in the trace.
+ */
+public class TracingFilter implements Filter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification req,
+                           FilterableResponseSpecification res,
+                           FilterContext ctx) {
+        if (!Tracer.enabled()) {
+            return ctx.next(req, res);
+        }
+        // name by template ("/booking/{id}"), not by resolved URI, so spans group by endpoint
+        Span span = Tracer.start(req.getMethod() + " " + req.getUserDefinedPath(), Span.Kind.CLIENT)
+                .attribute("http.request.method", req.getMethod())
+                .attribute("url.full", req.getURI())
+                .attribute("correlation.id", req.getHeaders().getValue("X-Correlation-Id"));
+        req.replaceHeader("traceparent", span.traceparent());
+        try {
+            Response response = ctx.next(req, res);
+            span.attribute("http.response.status_code", response.statusCode());
+            if (response.statusCode() >= 400) {
+                span.error("HTTP " + response.statusCode());
+            }
+            return response;
+        } catch (Throwable t) {
+            span.error(t);
+            throw t;
+        } finally {
+            span.close();
+        }
+    }
+}
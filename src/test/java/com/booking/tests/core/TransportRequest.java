@@ -0,0 +1,139 @@
+package com.booking.tests.core;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A backend-neutral HTTP request, understood by every {@link HttpTransport}.
+ *
+ * The path is kept as a template plus parameters ("/booking/{id}", 42) so that every backend
+ * (and anything that groups requests by endpoint) sees the same shape Rest Assured does.
+ * The {@code with*} methods return copies. The maps and path parameters are copied on the way
+ * in; the body is not (payloads can be large and are passed along several times), so an array
+ * handed to {@link #withBody} must not be changed afterwards. equals/hashCode compare the arrays
+ * by content.
+ */
+public record TransportRequest(String method,
+                               String pathTemplate,
+                               Object[] pathParams,
+                               Map<String, String> query,
+                               Map<String, String> headers,
+                               Map<String, String> cookies,
+                               byte[] body) {
+
+    public TransportRequest {
+        pathParams = pathParams == null ? new Object[0] : pathParams.clone();
+        query = Collections.unmodifiableMap(new LinkedHashMap<>(query == null ? Map.of() : query));
+        headers = Collections.unmodifiableMap(new LinkedHashMap<>(headers == null ? Map.of() : headers));
+        cookies = Collections.unmodifiableMap(new LinkedHashMap<>(cookies == null ? Map.of() : cookies));
+    }
+
+    public static TransportRequest of(String method, String pathTemplate, Object... pathParams) {
+        return new TransportRequest(method, pathTemplate, pathParams, null, null, null, null);
+    }
+
+    public static TransportRequest get(String pathTemplate, Object... pathParams)    { return of("GET", pathTemplate, pathParams); }
+    public static TransportRequest post(String pathTemplate, Object... pathParams)   { return of("POST", pathTemplate, pathParams); }
+    public static TransportRequest put(String pathTemplate, Object... pathParams)    { return of("PUT", pathTemplate, pathParams); }
+    public static TransportRequest patch(String pathTemplate, Object... pathParams)  { return of("PATCH", pathTemplate, pathParams); }
+    public static TransportRequest delete(String pathTemplate, Object... pathParams) { return of("DELETE", pathTemplate, pathParams); }
+
+    public TransportRequest withBody(byte[] json) {
+        return new TransportRequest(method, pathTemplate, pathParams, query, headers, cookies, json);
+    }
+
+    public TransportRequest withHeader(String name, String value) {
+        return new TransportRequest(method, pathTemplate, pathParams, query, plus(headers, name, value), cookies, body);
+    }
+
+    public TransportRequest withCookie(String name, String value) {
+        return new TransportRequest(method, pathTemplate, pathParams, query, headers, plus(cookies, name, value), body);
+    }
+
+    /** Adds a query parameter; null values are skipped so optional filters can be passed straight through. */
+    public TransportRequest withQuery(String name, String value) {
+        if (value == null) {
+            return this;
+        }
+        return new TransportRequest(method, pathTemplate, pathParams, plus(query, name, value), headers, cookies, body);
+    }
+
+    /** "/booking/{id}" + [42] -> "/booking/42" (parameters are URL-encoded). */
+    public String resolvedPath() {
+        if (pathParams.length == 0) {
+            return pathTemplate;
+        }
+        StringBuilder out = new StringBuilder(pathTemplate.length() + 16);
+        int param = 0;
+        int i = 0;
+        while (i < pathTemplate.length()) {
+            int open = pathTemplate.indexOf('{', i);
+            int close = open < 0 ? -1 : pathTemplate.indexOf('}', open);
+            if (open < 0 || close < 0 || param >= pathParams.length) {
+                out.append(pathTemplate, i, pathTemplate.length());
+                break;
+            }
+            out.append(pathTemplate, i, open)
+               .append(URLEncoder.encode(String.valueOf(pathParams[param++]), StandardCharsets.UTF_8).replace("+", "%20"));
+            i = close + 1;
+        }
+        return out.toString();
+    }
+
+    /** Path plus encoded query string, e.g. "/booking?firstname=Jim". */
+    public String pathAndQuery() {
+        if (query.isEmpty()) {
+            return resolvedPath();
+        }
+        StringBuilder out = new StringBuilder(resolvedPath()).append('?');
+        query.forEach((k, v) -> out.append(URLEncoder.encode(k, StandardCharsets.UTF_8)).append('=')
+                .append(URLEncoder.encode(v, StandardCharsets.UTF_8)).append('&'));
+        out.setLength(out.length() - 1);
+        return out.toString();
+    }
+
+    /** A header value, matching the name case-insensitively (as HTTP does); null if absent. */
+    public String header(String name) {
+        for (Map.Entry<String, String> e : headers.entrySet()) {
+            if (e.getKey().equalsIgnoreCase(name)) {
+                return e.getValue();
+            }
+        }
+        return null;
+    }
+
+    /** "PUT /booking/{id}" - handy for messages and metrics. */
+    public String describe() {
+        return method + " " + pathTemplate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof TransportRequest r
+                && Objects.equals(method, r.method) && Objects.equals(pathTemplate, r.pathTemplate)
+                && Arrays.equals(pathParams, r.pathParams) && query.equals(r.query)
+                && headers.equals(r.headers) && cookies.equals(r.cookies) && Arrays.equals(body, r.body);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(method, pathTemplate, Arrays.hashCode(pathParams), query, headers, cookies,
+                Arrays.hashCode(body));
+    }
+
+    @Override
+    public String toString() {
+        return describe() + " " + Arrays.toString(pathParams) + (body == null ? "" : " (" + body.length + " bytes)");
+    }
+
+    private static Map<String, String> plus(Map<String, String> base, String name, String value) {
+        Map<String, String> copy = new LinkedHashMap<>(base);
+        copy.put(name, value);
+        return copy;
+    }
+}
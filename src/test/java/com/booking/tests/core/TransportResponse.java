@@ -0,0 +1,25 @@
+package com.booking.tests.core;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A fully-read HTTP response from an {@link HttpTransport}.
+ * Header names are matched case-insensitively by {@link #header(String)}.
+ */
+public record TransportResponse(int status, Map<String, List<String>> headers, byte[] body) {
+
+    public String header(String name) {
+        for (Map.Entry<String, List<String>> e : headers.entrySet()) {
+            if (e.getKey() != null && e.getKey().equalsIgnoreCase(name) && !e.getValue().isEmpty()) {
+                return e.getValue().get(0);
+            }
+        }
+        return null;
+    }
+
+    public String bodyAsString() {
+        return body == null ? "" : new String(body, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,66 @@
+package com.booking.tests.core;
+
+import com.booking.tests.config.Config;
+
+/**
+ * Picks the {@link HttpTransport} named by {@code transport.backend} in application.conf.
+ * Backends are created once and shared; {@link #reset()} shuts them down and drops them after a config change.
+ */
+public final class Transports {
+
+    private static volatile JdkHttpTransport jdk;
+
+    private Transports() {}
+
+    /**
+     * The backend configured for this run ("restassured" unless overridden). While an in-process
+     * handler is installed, "restassured" stays (its filter chain ends in the handler) and the
+     * others call the handler directly.
+     */
+    public static HttpTransport configured() {
+        return named(Config.stringOr("transport.backend", "restassured"));
+    }
+
+    /** A backend by name ("restassured", "jdk" or "inprocess"), with the same in-process rules. */
+    public static HttpTransport named(String backend) {
+        InProcessTransport inProcess = InProcessTransport.installed();
+        return switch (backend) {
+            case "restassured" -> restAssured();
+            case "jdk" -> inProcess != null ? inProcess : jdk();
+            case "inprocess" -> {
+                if (inProcess == null) {
+                    throw new IllegalStateException("transport.backend = inprocess, but no InProcessHandler"
+                            + " is installed (e.g. env = stub with stub.inProcess = true)");
+                }
+                yield inProcess;
+            }
+            default -> throw new IllegalStateException("Unknown transport.backend '" + backend
+                    + "' (expected restassured, jdk or inprocess)");
+        };
+    }
+
+    public static HttpTransport restAssured() {
+        return RestAssuredTransport.INSTANCE;
+    }
+
+    public static HttpTransport jdk() {
+        JdkHttpTransport t = jdk;
+        if (t == null) {
+            synchronized (Transports.class) {
+                t = jdk;
+                if (t == null) {
+                    jdk = t = JdkHttpTransport.fromConfig();
+                }
+            }
+        }
+        return t;
+    }
+
+    public static synchronized void reset() {
+        JdkHttpTransport old = jdk;
+        jdk = null;
+        if (old != null) {
+            old.shutdown();
+        }
+    }
+}
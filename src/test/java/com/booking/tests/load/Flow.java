@@ -0,0 +1,11 @@
+package com.booking.tests.load;
+
+/**
+ * One iteration of a load scenario, run by a {@link VirtualUser}.
+ * Wrap every remote call in {@link VirtualUser#timed} so it lands in the per-operation histograms.
+ * Throwing marks the iteration as failed; the remaining operations of that iteration are skipped.
+ */
+@FunctionalInterface
+public interface Flow {
+    void iterate(VirtualUser vu) throws Exception;
+}
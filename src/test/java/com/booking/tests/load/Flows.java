@@ -0,0 +1,55 @@
+package com.booking.tests.load;
+
+import com.booking.tests.builders.BookingBuilder;
+import com.booking.tests.models.BookingModels;
+
+/**
+ * The flows the load engine knows by name ({@code load.flow} in application.conf).
+ * They replay the same BookingClient calls as BookingLifecycleTest / BookingLifecycleSteps.
+ */
+public final class Flows {
+    private Flows() {}
+
+    public static Flow byName(String name) {
+        return switch (name) {
+            case "lifecycle" -> lifecycle();
+            case "read" -> read();
+            default -> throw new IllegalArgumentException("Unknown load.flow '" + name + "' (expected lifecycle or read)");
+        };
+    }
+
+    /** create -> get -> update -> delete, with the virtual user's own token. */
+    public static Flow lifecycle() {
+        return vu -> {
+            String token = vu.token();
+            BookingModels.Booking booking = randomBooking(vu);
+
+            int id = vu.timed("create", () -> vu.client().create(booking)).bookingid;
+            vu.lastBookingId(id);
+            vu.timed("get", () -> vu.client().get(id));
+
+            booking.additionalneeds = "Late checkout";
+            vu.timed("update", () -> vu.client().update(id, booking, token));
+            vu.timed("delete", () -> vu.client().delete(id, token));
+        };
+    }
+
+    /** Read-mostly: create once per virtual user, then only GET it. */
+    public static Flow read() {
+        return vu -> {
+            if (vu.lastBookingId() == 0) {
+                BookingModels.Booking booking = randomBooking(vu);
+                vu.lastBookingId(vu.timed("create", () -> vu.client().create(booking)).bookingid);
+            }
+            int id = vu.lastBookingId();
+            vu.timed("get", () -> vu.client().get(id));
+        };
+    }
+
+    /** Pooled, pre-generated data (see TestDataPool), built before the timed call; the name marks the user. */
+    private static BookingModels.Booking randomBooking(VirtualUser vu) {
+        return BookingBuilder.unique()
+                .name("Load" + vu.id(), "Iter" + vu.iterations())
+                .build();
+    }
+}
@@ -0,0 +1,51 @@
+package com.booking.tests.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency histograms (microseconds, 3 significant digits, up to 1 hour).
+ * Two views per operation:
+ * - response: measured from when the call was due (corrected for coordinated omission)
+ * - service:  measured from when the call actually started (what a naive timer would report)
+ * Safe to record into from any number of threads.
+ */
+final class LatencyRecorder {
+
+    private static final long HIGHEST_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private final ConcurrentMap<String, Op> ops = new ConcurrentHashMap<>();
+
+    void record(String operation, long responseNanos, long serviceNanos, boolean ok) {
+        Op op = ops.computeIfAbsent(operation, k -> new Op());
+        op.response.recordValue(clamp(responseNanos));
+        op.service.recordValue(clamp(serviceNanos));
+        (ok ? op.ok : op.failed).increment();
+    }
+
+    /** Snapshot sorted by operation name. */
+    Map<String, LoadReport.OperationStats> snapshot() {
+        Map<String, LoadReport.OperationStats> out = new TreeMap<>();
+        ops.forEach((name, op) -> out.put(name, new LoadReport.OperationStats(
+                name, op.ok.sum(), op.failed.sum(), op.response.copy(), op.service.copy())));
+        return out;
+    }
+
+    private static long clamp(long nanos) {
+        return Math.min(HIGHEST_MICROS, Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos)));
+    }
+
+    private static final class Op {
+        final Histogram response = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+        final Histogram service = new ConcurrentHistogram(HIGHEST_MICROS, 3);
+        final LongAdder ok = new LongAdder();
+        final LongAdder failed = new LongAdder();
+    }
+}
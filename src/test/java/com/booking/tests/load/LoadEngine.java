@@ -0,0 +1,154 @@
+package com.booking.tests.load;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a {@link Flow} according to a {@link LoadProfile}; every iteration runs on its own virtual thread.
+ *
+ * Open model: a single scheduler starts iteration n at {@link LoadProfile#arrivalOffsetNanos(long)},
+ * whether or not earlier iterations have finished. Idle virtual users are reused, new ones are
+ * created when all are busy. Past {@code maxInFlight} the scheduler waits for a free slot; the
+ * waiting arrivals keep their original due time, so the backlog is visible in the latencies.
+ *
+ * Closed model: {@code users} virtual users join one by one during ramp-up and leave during
+ * ramp-down, each looping over the flow. With {@code pacing} > 0 iterations are due on a fixed
+ * grid and late starts are charged to latency; with pacing 0 (back to back) there is no schedule
+ * to fall behind, so response and service time are the same.
+ *
+ * Usage: {@code LoadReport report = LoadEngine.fromConfig().run();}
+ */
+public final class LoadEngine {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoadEngine.class);
+
+    /** An iteration that starts more than this after its due time counts as a late start. */
+    private static final long LATE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final LoadProfile profile;
+    private final Flow flow;
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final LongAdder iterations = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder late = new LongAdder();
+    private final AtomicBoolean firstFailureLogged = new AtomicBoolean();
+
+    public LoadEngine(LoadProfile profile, Flow flow) {
+        this.profile = profile;
+        this.flow = flow;
+    }
+
+    public static LoadEngine fromConfig() {
+        LoadProfile profile = LoadProfile.fromConfig();
+        return new LoadEngine(profile, Flows.byName(profile.flow()));
+    }
+
+    public LoadReport run() {
+        LOG.info("Load run starting: {}", profile);
+        long start = System.nanoTime();
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (profile.model() == LoadProfile.Model.OPEN) {
+                runOpen(threads, start);
+            } else {
+                runClosed(threads, start);
+            }
+        } // close() waits for in-flight iterations
+        var report = new LoadReport(profile, Duration.ofNanos(System.nanoTime() - start),
+                iterations.sum(), failed.sum(), late.sum(), recorder.snapshot());
+        LOG.info("\n{}", report.summary());
+        return report;
+    }
+
+    private void runOpen(ExecutorService threads, long start) {
+        Semaphore inFlight = new Semaphore(profile.maxInFlight());
+        Queue<VirtualUser> idle = new ConcurrentLinkedQueue<>();
+        AtomicInteger userIds = new AtomicInteger();
+
+        for (long n = 0; ; n++) {
+            long offset = profile.arrivalOffsetNanos(n);
+            if (offset < 0) {
+                return;
+            }
+            long due = start + offset;
+            sleepUntil(due);
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            threads.execute(() -> {
+                VirtualUser vu = idle.poll();
+                if (vu == null) {
+                    vu = new VirtualUser(userIds.incrementAndGet(), recorder);
+                }
+                try {
+                    iterate(vu, due);
+                } finally {
+                    idle.offer(vu);
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    private void runClosed(ExecutorService threads, long start) {
+        long pacing = profile.pacing().toNanos();
+        for (int i = 0; i < profile.users(); i++) {
+            int index = i;
+            threads.execute(() -> {
+                VirtualUser vu = new VirtualUser(index + 1, recorder);
+                long stop = start + profile.userStopNanos(index);
+                long next = start + profile.userStartNanos(index);
+                while (!Thread.currentThread().isInterrupted()) {
+                    sleepUntil(next);
+                    long now = System.nanoTime();
+                    if (now >= stop) {
+                        return;
+                    }
+                    iterate(vu, pacing > 0 ? next : now);
+                    next = pacing > 0 ? next + pacing : System.nanoTime();
+                }
+            });
+        }
+    }
+
+    private void iterate(VirtualUser vu, long dueNanos) {
+        if (System.nanoTime() - dueNanos > LATE_NANOS) {
+            late.increment();
+        }
+        vu.beginIteration(dueNanos);
+        try {
+            flow.iterate(vu);
+        } catch (Exception | AssertionError e) {
+            failed.increment();
+            if (firstFailureLogged.compareAndSet(false, true)) {
+                LOG.warn("First failed iteration (virtual user {}): {}", vu.id(), e.toString());
+            }
+        } finally {
+            iterations.increment();
+        }
+    }
+
+    private static void sleepUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+        }
+    }
+}
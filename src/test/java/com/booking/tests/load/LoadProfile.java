@@ -0,0 +1,96 @@
+package com.booking.tests.load;
+
+import com.booking.tests.config.Config;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Shape of one load run, read from the {@code load} block of application.conf.
+ *
+ * Every run has three phases: ramp-up (0 -> target), hold (target), ramp-down (target -> 0).
+ * "Target" is an arrival rate for the open model and a number of virtual users for the closed one.
+ *
+ * @param model       OPEN = start iterations at a fixed rate, whatever the response times;
+ *                    CLOSED = a fixed set of virtual users, each running iterations back to back
+ * @param flow        name of the flow to run (see {@link Flows#byName(String)})
+ * @param ratePerSec  open model: target iterations started per second
+ * @param users       closed model: target number of concurrent virtual users
+ * @param pacing      closed model: fixed start-to-start interval per user (ZERO = back to back)
+ * @param maxInFlight open model: cap on concurrent iterations; past it, new arrivals wait (and the
+ *                    wait shows up in the corrected latency)
+ */
+public record LoadProfile(Model model, String flow, double ratePerSec, int users,
+                          Duration rampUp, Duration hold, Duration rampDown,
+                          Duration pacing, int maxInFlight) {
+
+    public enum Model { OPEN, CLOSED }
+
+    public LoadProfile {
+        if (model == Model.OPEN && ratePerSec <= 0) throw new IllegalArgumentException("load.ratePerSec must be > 0");
+        if (model == Model.CLOSED && users <= 0) throw new IllegalArgumentException("load.users must be > 0");
+        if (maxInFlight <= 0) throw new IllegalArgumentException("load.maxInFlight must be > 0");
+    }
+
+    public static LoadProfile fromConfig() {
+        return new LoadProfile(
+                Model.valueOf(Config.stringOr("load.model", "open").toUpperCase(Locale.ROOT)),
+                Config.stringOr("load.flow", "lifecycle"),
+                Config.doubleOr("load.ratePerSec", 5),
+                Config.intOr("load.users", 10),
+                Duration.ofMillis(Config.longOr("load.rampUpMs", 10_000)),
+                Duration.ofMillis(Config.longOr("load.holdMs", 30_000)),
+                Duration.ofMillis(Config.longOr("load.rampDownMs", 5_000)),
+                Duration.ofMillis(Config.longOr("load.pacingMs", 0)),
+                Config.intOr("load.maxInFlight", 500));
+    }
+
+    public Duration total() {
+        return rampUp.plus(hold).plus(rampDown);
+    }
+
+    /** Expected number of iterations started over the whole open-model run (area under the rate curve). */
+    public long plannedArrivals() {
+        double u = seconds(rampUp), h = seconds(hold), d = seconds(rampDown);
+        return (long) Math.floor(ratePerSec * (u / 2 + h + d / 2));
+    }
+
+    /**
+     * Open model: when the n-th arrival (0-based) is due, in nanoseconds from the start of the run.
+     * Inverts the cumulative arrival count of the trapezoid rate curve, so arrivals follow the ramp
+     * exactly instead of drifting with scheduler jitter. Returns -1 once the run is over.
+     */
+    public long arrivalOffsetNanos(long n) {
+        double r = ratePerSec, u = seconds(rampUp), h = seconds(hold), d = seconds(rampDown);
+        double a = n + 0.5;                 // centre of the n-th arrival's slot
+        double upArrivals = r * u / 2;
+        double holdArrivals = r * h;
+        double downArrivals = r * d / 2;
+        double t;
+        if (a <= upArrivals) {
+            t = Math.sqrt(2 * a * u / r);                                   // A(t) = r t^2 / 2u
+        } else if (a <= upArrivals + holdArrivals) {
+            t = u + (a - upArrivals) / r;                                   // A(t) = r t
+        } else if (a <= upArrivals + holdArrivals + downArrivals) {
+            double m = a - upArrivals - holdArrivals;                       // A(s) = r (s - s^2 / 2d)
+            t = u + h + (d - Math.sqrt(Math.max(0, d * d - 2 * d * m / r)));
+        } else {
+            return -1;
+        }
+        return (long) (t * 1e9);
+    }
+
+    /** Closed model: offset at which user {@code i} (0-based) joins the run. */
+    public long userStartNanos(int i) {
+        return rampUp.toNanos() * i / users;
+    }
+
+    /** Closed model: offset after which user {@code i} starts no new iterations (first-in, last-out). */
+    public long userStopNanos(int i) {
+        return rampUp.toNanos() + hold.toNanos() + rampDown.toNanos() * (users - i) / users;
+    }
+
+    private static double seconds(Duration d) {
+        return d.toNanos() / 1e9;
+    }
+}
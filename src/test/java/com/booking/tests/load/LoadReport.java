@@ -0,0 +1,71 @@
+package com.booking.tests.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Result of a {@link LoadEngine} run: iteration counts plus latency histograms per operation.
+ * Histogram values are in microseconds; the summary prints milliseconds.
+ */
+public record LoadReport(LoadProfile profile, Duration elapsed, long iterations, long failedIterations,
+                         long lateStarts, Map<String, OperationStats> operations) {
+
+    public record OperationStats(String name, long ok, long failed, Histogram response, Histogram service) {
+        public long count() { return ok + failed; }
+
+        /** Corrected response-time percentile in milliseconds. */
+        public double percentileMillis(double percentile) {
+            return response.getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+
+    public double errorRate() {
+        return iterations == 0 ? 0 : (double) failedIterations / iterations;
+    }
+
+    public double throughputPerSec() {
+        double secs = elapsed.toNanos() / 1e9;
+        return secs == 0 ? 0 : iterations / secs;
+    }
+
+    /** Human-readable table: one row per operation, corrected latencies first, service p99 last. */
+    public String summary() {
+        var sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT,
+                "Load %s '%s': %d iterations (%d failed, %d started late) in %.1fs = %.1f it/s%n",
+                profile.model(), profile.flow(), iterations, failedIterations, lateStarts,
+                elapsed.toMillis() / 1000.0, throughputPerSec()));
+        sb.append(String.format(Locale.ROOT, "%-8s %8s %6s %9s %9s %9s %9s %9s %12s%n",
+                "op", "count", "err", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "svc p99 ms"));
+        for (OperationStats op : operations.values()) {
+            sb.append(String.format(Locale.ROOT, "%-8s %8d %6d %9.1f %9.1f %9.1f %9.1f %9.1f %12.1f%n",
+                    op.name(), op.count(), op.failed(),
+                    op.percentileMillis(50), op.percentileMillis(90), op.percentileMillis(99),
+                    op.percentileMillis(99.9), op.response().getMaxValue() / 1000.0,
+                    op.service().getValueAtPercentile(99) / 1000.0));
+        }
+        return sb.toString();
+    }
+
+    /** Writes {@code <op>.hgrm} percentile distributions (milliseconds) for HdrHistogram's plotter. */
+    public void writeHgrm(Path dir) {
+        try {
+            Files.createDirectories(dir);
+            for (OperationStats op : operations.values()) {
+                try (var out = new PrintStream(Files.newOutputStream(dir.resolve(op.name() + ".hgrm")), false, "UTF-8")) {
+                    op.response().outputPercentileDistribution(out, 1000.0);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write load histograms to " + dir, e);
+        }
+    }
+}
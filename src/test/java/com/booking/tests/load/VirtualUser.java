@@ -0,0 +1,86 @@
+package com.booking.tests.load;
+
+import com.booking.tests.config.Config;
+import com.booking.tests.models.BookingClient;
+
+import java.util.concurrent.Callable;
+
+/**
+ * State of one simulated user: its own client, auth token (sent as the "token" cookie by
+ * update/delete) and the last booking it created. Only one iteration uses a VirtualUser at a time.
+ *
+ * Timing: each {@link #timed} call is measured from when the operation <em>should</em> have
+ * started, not from when it did. The first operation of an iteration is due at the iteration's
+ * scheduled start; each later one is due when the previous one finished. So if the engine (or
+ * the system under test) falls behind schedule, the delay is charged to the latency instead of
+ * silently disappearing (coordinated omission).
+ */
+public final class VirtualUser {
+
+    private final int id;
+    private final BookingClient client = new BookingClient();
+    private final LatencyRecorder recorder;
+
+    private String token;
+    private int lastBookingId;
+    private long iterations;
+    private long dueNanos;
+
+    VirtualUser(int id, LatencyRecorder recorder) {
+        this.id = id;
+        this.recorder = recorder;
+    }
+
+    public int id()               { return id; }
+    public BookingClient client() { return client; }
+    public long iterations()      { return iterations; }
+    public int lastBookingId()    { return lastBookingId; }
+    public void lastBookingId(int id) { this.lastBookingId = id; }
+
+    /**
+     * Auth token for this user, created (and timed as "auth") on first use, then reused. Each
+     * virtual user POSTs /auth itself, past the shared token cache (BookingClient.tokens()): the
+     * cache would hand every user the same token and "auth" would time cache hits.
+     */
+    public String token() throws Exception {
+        if (token == null) {
+            token = timed("auth", () -> {
+                String t = client.createToken(Config.user(), Config.pass());
+                if (t == null) {
+                    throw new IllegalStateException("/auth rejected the credentials of " + Config.user());
+                }
+                return t;
+            });
+        }
+        return token;
+    }
+
+    /** Runs one remote call and records it under {@code operation}; failures are recorded and rethrown. */
+    public <T> T timed(String operation, Callable<T> call) throws Exception {
+        long due = dueNanos;
+        long start = System.nanoTime();
+        boolean ok = false;
+        try {
+            T result = call.call();
+            ok = true;
+            return result;
+        } finally {
+            long end = System.nanoTime();
+            recorder.record(operation, end - due, end - start, ok);
+            dueNanos = end;
+        }
+    }
+
+    public void timed(String operation, Runnable call) throws Exception {
+        timed(operation, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /** Called by the engine before each iteration with the time the iteration was scheduled for. */
+    void beginIteration(long scheduledNanos) {
+        dueNanos = scheduledNanos;
+        iterations++;
+    }
+}
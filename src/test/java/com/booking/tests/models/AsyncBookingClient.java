@@ -0,0 +1,207 @@
+package com.booking.tests.models;
+
+import com.booking.tests.config.Config;
+import com.booking.tests.core.ApiClient;
+import com.booking.tests.core.HttpTransport;
+import com.booking.tests.core.Json;
+import com.booking.tests.core.ResourceRegistry;
+import com.booking.tests.core.TransportRequest;
+import com.booking.tests.core.TransportResponse;
+import com.booking.tests.core.Transports;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Non-blocking twin of {@link BookingClient}: the same operations and typed BookingModels results,
+ * but every method returns at once with a CompletableFuture, so scenario code can fan out many
+ * calls and join them:
+ * <pre>
+ *   var async = new AsyncBookingClient();
+ *   List&lt;Booking&gt; all = async.getAll(ids).join();
+ *   var one = async.withTimeout(Duration.ofSeconds(2)).get(id);
+ * </pre>
+ *
+ * - Requests go through {@code async.backend} (see application.conf): "jdk" by default, whose
+ *   sendAsync is truly non-blocking and never touches Rest Assured's static configuration.
+ *   Responses are checked and deserialized on virtual threads, as are the blocking bits
+ *   (token fetch; the whole call on the "restassured" backend).
+ * - Each call times out after {@code async.timeoutMs} (0 = none); {@link #withTimeout} gives a
+ *   copy with another limit. A timed-out or cancelled future also cancels its HTTP exchange.
+ * - A wrong status fails the future with the same AssertionError BookingClient throws;
+ *   {@code join()} reports it as the cause of a CompletionException.
+ * - Created and deleted ids are tracked in ResourceRegistry, as with BookingClient.
+ * - Instances are immutable and hold no per-call state: share one across any number of threads.
+ *   HTTP spans are children of the caller's current span (there is no client step span, and no
+ *   Allure @Step: both would close long before the call does).
+ */
+public class AsyncBookingClient extends ApiClient {
+
+    private static final ExecutorService VIRTUAL = Executors.newVirtualThreadPerTaskExecutor();
+
+    /** null = resolve async.backend per call, so an in-process handler installed later is picked up. */
+    private final HttpTransport transport;
+    private final Duration timeout;
+
+    public AsyncBookingClient() {
+        this(null, Duration.ofMillis(Config.longOr("async.timeoutMs", 0)));
+    }
+
+    public AsyncBookingClient(HttpTransport transport, Duration timeout) {
+        this.transport = transport;
+        this.timeout = timeout == null || timeout.isZero() || timeout.isNegative() ? null : timeout;
+    }
+
+    /** Same client with another per-call timeout (null or zero = none). */
+    public AsyncBookingClient withTimeout(Duration timeout) {
+        return new AsyncBookingClient(transport, timeout);
+    }
+
+    @Override
+    protected HttpTransport transport() {
+        return transport != null ? transport : Transports.named(Config.stringOr("async.backend", "jdk"));
+    }
+
+    /** The configured user's token from the shared cache (see {@link BookingClient#tokens()}). */
+    public CompletableFuture<String> createToken() {
+        return limit(CompletableFuture.supplyAsync(() -> BookingClient.tokens().token(Config.user(), Config.pass()), VIRTUAL));
+    }
+
+    public CompletableFuture<BookingModels.CreateBookingResponse> create(BookingModels.Booking req) {
+        var request = TransportRequest.post("/booking").withBody(Json.writeBytes(req));
+        return call(request, 200, r -> {
+            var created = Json.read(r.body(), BookingModels.CreateBookingResponse.class);
+            ResourceRegistry.shared().record(created.bookingid, req.lastname);
+            return created;
+        });
+    }
+
+    public CompletableFuture<BookingModels.Booking> get(int id) {
+        return call(TransportRequest.get("/booking/{id}", id), 200, r -> Json.read(r.body(), BookingModels.Booking.class));
+    }
+
+    /**
+     * GETs all {@code ids} at once; the bookings come back in the order of {@code ids}.
+     * The first failure fails the result and cancels the calls still running.
+     */
+    public CompletableFuture<List<BookingModels.Booking>> getAll(Collection<Integer> ids) {
+        List<CompletableFuture<BookingModels.Booking>> calls = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            calls.add(get(id));
+        }
+        CompletableFuture<List<BookingModels.Booking>> all = CompletableFuture
+                .allOf(calls.toArray(CompletableFuture[]::new))
+                .thenApply(done -> {
+                    List<BookingModels.Booking> out = new ArrayList<>(calls.size());
+                    for (CompletableFuture<BookingModels.Booking> c : calls) {
+                        out.add(c.join());
+                    }
+                    return out;
+                });
+        for (CompletableFuture<BookingModels.Booking> c : calls) {
+            c.whenComplete((booking, error) -> {
+                if (error != null) all.completeExceptionally(error);
+            });
+        }
+        all.whenComplete((bookings, error) -> {
+            if (error != null) calls.forEach(c -> c.cancel(true));
+        });
+        return all;
+    }
+
+    /** PUT with the cached token; on 403 the token is dropped and the call retried once (as BookingClient). */
+    public CompletableFuture<BookingModels.Booking> update(int id, BookingModels.Booking req) {
+        return withTokenRetry(token -> TransportRequest.put("/booking/{id}", id)
+                .withCookie("token", token).withBody(Json.writeBytes(req)),
+                200, r -> Json.read(r.body(), BookingModels.Booking.class));
+    }
+
+    /** PUT with an explicit token (no cache, no retry). */
+    public CompletableFuture<BookingModels.Booking> update(int id, BookingModels.Booking req, String token) {
+        var request = TransportRequest.put("/booking/{id}", id).withCookie("token", token).withBody(Json.writeBytes(req));
+        return call(request, 200, r -> Json.read(r.body(), BookingModels.Booking.class));
+    }
+
+    /** DELETE with the cached token and the same 403 retry; completes with {@code id}. */
+    public CompletableFuture<Integer> delete(int id) {
+        return withTokenRetry(token -> TransportRequest.delete("/booking/{id}", id).withCookie("token", token),
+                201, r -> deleted(id));
+    }
+
+    /** DELETE with an explicit token (no cache, no retry). */
+    public CompletableFuture<Integer> delete(int id, String token) {
+        return call(TransportRequest.delete("/booking/{id}", id).withCookie("token", token), 201, r -> deleted(id));
+    }
+
+    /** One exchange: sent at once, status checked and body read on a virtual thread. */
+    private <T> CompletableFuture<T> call(TransportRequest request, int expected, Function<TransportResponse, T> read) {
+        Exchange exchange = new Exchange();
+        return exchange.bind(limit(exchange.track(transport().sendAsync(request))
+                .thenApplyAsync(response -> read.apply(expectStatus(request, response, expected)), VIRTUAL)));
+    }
+
+    private <T> CompletableFuture<T> withTokenRetry(Function<String, TransportRequest> request, int expected,
+                                                    Function<TransportResponse, T> read) {
+        Exchange exchange = new Exchange();
+        return exchange.bind(limit(createToken().thenCompose(token -> {
+            TransportRequest first = request.apply(token);
+            return exchange.track(transport().sendAsync(first)).thenComposeAsync(response -> {
+                if (response.status() != 403) {
+                    return CompletableFuture.completedFuture(read.apply(expectStatus(first, response, expected)));
+                }
+                // token no longer accepted by the server: drop it and retry once with a fresh one
+                BookingClient.tokens().invalidate(token);
+                return createToken().thenCompose(fresh -> {
+                    TransportRequest again = request.apply(fresh);
+                    return exchange.track(transport().sendAsync(again))
+                            .thenApplyAsync(r -> read.apply(expectStatus(again, r, expected)), VIRTUAL);
+                });
+            }, VIRTUAL);
+        })));
+    }
+
+    private static int deleted(int id) {
+        ResourceRegistry.shared().forget(id);
+        return id;
+    }
+
+    private <T> CompletableFuture<T> limit(CompletableFuture<T> call) {
+        return timeout == null ? call : call.orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Links the future handed to the caller with the HTTP exchange behind it: when the caller's
+     * future fails first (cancel, timeout), the exchange in flight is cancelled too, and so is
+     * any later one (the 403 retry) that would still start.
+     */
+    private static final class Exchange {
+        private volatile CompletableFuture<?> current;
+        private volatile boolean abandoned;
+
+        <T> CompletableFuture<T> track(CompletableFuture<T> sent) {
+            current = sent;
+            if (abandoned) {
+                sent.cancel(true);
+            }
+            return sent;
+        }
+
+        <T> CompletableFuture<T> bind(CompletableFuture<T> result) {
+            result.whenComplete((value, error) -> {
+                if (error != null) {
+                    abandoned = true;
+                    CompletableFuture<?> c = current;
+                    if (c != null) c.cancel(true);
+                }
+            });
+            return result;
+        }
+    }
+}
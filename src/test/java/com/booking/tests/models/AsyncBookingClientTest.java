@@ -0,0 +1,164 @@
+package com.booking.tests.models;
+
+import com.booking.tests.builders.BookingBuilder;
+import com.booking.tests.core.HttpTransport;
+import com.booking.tests.core.InProcessTransport;
+import com.booking.tests.core.Json;
+import com.booking.tests.core.StreamedResponse;
+import com.booking.tests.core.TokenProvider;
+import com.booking.tests.core.TransportRequest;
+import com.booking.tests.core.TransportResponse;
+import com.booking.tests.support.Locks;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * AsyncBookingClient against a scripted in-process handler: "/booking/1" stalls until the test
+ * ends, "/booking/2" is not found, any other id answers at once. Every exchange the client
+ * starts is kept, so the tests can check that giving up on a call also cancels its exchange.
+ *
+ * The 403 retry goes through the shared token cache, which is swapped for a counting one here;
+ * hence the GLOBAL_CONFIG write lock, which keeps every BaseTest out meanwhile.
+ */
+@ResourceLock(value = Locks.GLOBAL_CONFIG, mode = ResourceAccessMode.READ_WRITE)
+@Tag("unit")
+class AsyncBookingClientTest {
+
+    private static final int STALLED = 1;
+    private static final int MISSING = 2;
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<CompletableFuture<TransportResponse>> exchanges = new CopyOnWriteArrayList<>();
+    private final List<TransportRequest> received = new CopyOnWriteArrayList<>();
+    private final AtomicInteger tokenFetches = new AtomicInteger();
+    private final BookingModels.Booking booking = BookingBuilder.unique().build();
+
+    private AsyncBookingClient client;
+
+    @BeforeEach
+    void setUp() {
+        TokenProvider.resetShared();
+        TokenProvider.shared((user, pass) -> "t" + tokenFetches.incrementAndGet());
+        client = new AsyncBookingClient(recording(new InProcessTransport(this::answer)), Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        TokenProvider.resetShared();
+    }
+
+    @Test
+    void stalledCall_timesOut_andCancelsItsExchange() {
+        var call = client.withTimeout(Duration.ofMillis(200)).get(STALLED);
+
+        assertThatThrownBy(() -> call.get(2, TimeUnit.SECONDS)).hasCauseInstanceOf(TimeoutException.class);
+        assertThat(exchanges).singleElement().satisfies(e -> assertThat(e.isCancelled()).isTrue());
+    }
+
+    @Test
+    void cancelledCall_cancelsItsExchange() {
+        var call = client.get(STALLED);
+        call.cancel(true);
+
+        assertThat(call).isCancelled();
+        assertThat(exchanges).singleElement().satisfies(e -> assertThat(e.isCancelled()).isTrue());
+    }
+
+    @Test
+    void getAll_failsFast_andCancelsTheCallsStillRunning() {
+        long start = System.nanoTime();
+        var all = client.getAll(List.of(3, STALLED, MISSING));
+
+        assertThatThrownBy(() -> all.get(2, TimeUnit.SECONDS))
+                .hasCauseInstanceOf(AssertionError.class)
+                .hasMessageContaining("404");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        // exchanges in the order of the ids; the stalled one cannot have finished before being cancelled
+        assertThat(exchanges).hasSize(3);
+        assertThat(exchanges.get(1)).isCancelled();
+    }
+
+    @Test
+    void getAll_keepsTheOrderOfIds() {
+        var all = client.getAll(List.of(5, 3, 4)).join();
+
+        assertThat(all).extracting(b -> b.totalprice).containsExactly(5, 3, 4);
+    }
+
+    @Test
+    void update_withRejectedToken_retriesOnceWithAFreshOne() {
+        var updated = client.update(7, booking).join();
+
+        assertThat(updated.lastname).isEqualTo(booking.lastname);
+        assertThat(received).extracting(r -> r.cookies().get("token")).containsExactly("t1", "t2");
+        assertThat(tokenFetches).hasValue(2);
+    }
+
+    private TransportResponse answer(TransportRequest request) {
+        received.add(request);
+        String path = request.resolvedPath();
+        if (path.equals("/booking/" + STALLED)) {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (path.equals("/booking/" + MISSING)) {
+            return new TransportResponse(404, Map.of(), "Not Found".getBytes());
+        }
+        if (request.method().equals("PUT") && "t1".equals(request.cookies().get("token"))) {
+            return new TransportResponse(403, Map.of(), "Forbidden".getBytes());
+        }
+        var body = new BookingModels.Booking();
+        body.firstname = booking.firstname;
+        body.lastname = booking.lastname;
+        body.totalprice = Integer.parseInt(path.substring(path.lastIndexOf('/') + 1));
+        return new TransportResponse(200, Map.of("Content-Type", List.of("application/json")), Json.writeBytes(body));
+    }
+
+    /** {@code delegate}, keeping every future sendAsync hands out. */
+    private HttpTransport recording(HttpTransport delegate) {
+        return new HttpTransport() {
+            @Override
+            public String name() {
+                return delegate.name();
+            }
+
+            @Override
+            public TransportResponse send(TransportRequest request) {
+                return delegate.send(request);
+            }
+
+            @Override
+            public CompletableFuture<TransportResponse> sendAsync(TransportRequest request) {
+                var sent = delegate.sendAsync(request);
+                exchanges.add(sent);
+                return sent;
+            }
+
+            @Override
+            public StreamedResponse stream(TransportRequest request) {
+                return delegate.stream(request);
+            }
+        };
+    }
+}
@@ -5,10 +5,25 @@ package com.booking.tests.models;
 // Importing project-specific and library classes used in this client.
 import com.booking.tests.config.Config;   // Custom config class to get username/password, base URLs, etc.
 import com.booking.tests.core.ApiClient;  // Our base API client with common Rest Assured setup.
+import com.booking.tests.core.Bulk;       // Bounded-concurrency runner for createAll/deleteAll.
+import com.booking.tests.core.BulkResult;
+import com.booking.tests.core.HttpTransport;
+import com.booking.tests.core.Json;       // Shared Jackson mapper + cached readers/writers.
+import com.booking.tests.core.JsonIds;    // Streaming reader for id lists (GET /booking).
+import com.booking.tests.core.ResourceRegistry; // Created ids, deleted at the end of the run.
+import com.booking.tests.core.StreamedResponse;
+import com.booking.tests.core.TokenProvider;
+import com.booking.tests.core.TransportRequest;
+import com.booking.tests.core.TransportResponse;
 import io.qameta.allure.Step;            // Allure annotation for reporting test steps.
-import io.restassured.http.Cookie;       // Rest Assured class to represent HTTP cookies.
 import io.restassured.response.Response;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.stream.Stream;
+
 import static io.restassured.http.ContentType.JSON;  // Static import for JSON content type.
 
 /**
@@ -22,11 +37,28 @@ import static io.restassured.http.ContentType.JSON;  // Static import for JSON c
  *
  * - This class is used by tests to interact with the Booking API in a clean,
  *   reusable way instead of writing raw Rest Assured code in each test.
+ *
+ * - The typed methods go through transport() (see ApiClient), so the same calls run on
+ *   Rest Assured (default) or on the JDK HttpClient, chosen in application.conf.
+ *
+ * - Each operation runs in its own trace span ("BookingClient.create", ...), the parent of its HTTP spans.
+ *
+ * - listIds / streamIds wrap GET /booking (and its filters) without building an object per entry:
+ *   the id list is read token by token into an int[] or handed out lazily (see core/JsonIds).
+ *
+ * - createAll / deleteAll seed or clean up many bookings at once with bounded concurrency (see core/Bulk).
+ *
+ * - Every booking created here is recorded in ResourceRegistry and forgotten once deleted here;
+ *   what is left is deleted at the end of the run (see support/CreatedBookings).
  */
 public class BookingClient extends ApiClient {
 
     /**
-     * Creates an authentication token by calling the /auth endpoint.
+     * Returns an authentication token for the configured user (auth.username / auth.password).
+     *
+     * - The token comes from the shared TokenProvider: the first call POSTs /auth, later calls
+     *   (from any test, thread or scenario) reuse the cached token until it expires, and it is
+     *   renewed in the background before that. Tune it under auth.token in application.conf.
      *
      * The @Step annotation from Allure:
      * - Marks this method as a "step" in Allure reports.
@@ -35,35 +67,48 @@ public class BookingClient extends ApiClient {
      */
     @Step("Create auth token")
     public String createToken() {
+        return step("BookingClient.createToken", () -> {
+            return tokens().token(Config.user(), Config.pass());
+        });
+    }
 
-        // Using a Java text block (""" ... """) to define a multiline String.
-        // This helps keep JSON bodies readable and formatted nicely.
-        //
-        // The %s placeholders will be replaced by the username and password
-        // from the Config class using .formatted().
-        //
-        // Example final body:
-        // {
-        //   "username":"admin",
-        //   "password":"password123"
-        // }
-        var body = """
-      {"username":"%s","password":"%s"}
-      """.formatted(Config.user(), Config.pass());
-
-        // givenJson(): comes from ApiClient; it returns a base RequestSpecification
-        // configured for JSON requests (e.g., base URI, headers).
-        //
-        // .contentType(JSON): sets "Content-Type: application/json" header.
-        // .body(body): sets the request payload.
-        // .when().post("/auth"): sends an HTTP POST request to /auth.
-        // .then().statusCode(200): asserts the response HTTP status is 200.
-        // .extract().path("token"): extracts the "token" field from JSON response.
-        return givenJson().contentType(JSON)
-                .body(body)
-                .when().post("/auth")
-                .then().statusCode(200)
-                .extract().path("token");
+    /** The shared token cache; it calls {@link #createToken(String, String)} when it needs a new token. */
+    public static TokenProvider tokens() {
+        return TokenProvider.shared((user, pass) -> new BookingClient().createToken(user, pass));
+    }
+
+    /**
+     * Always POSTs /auth for an explicit credential set (never cached), e.g. for negative auth tests.
+     *
+     * @return the token, or null if the API answered with a "reason" (bad credentials).
+     */
+    @Step("Create auth token for {user}")
+    public String createToken(String user, String pass) {
+        return step("BookingClient.createToken", () -> {
+            // Using a Java text block (""" ... """) to define a multiline String.
+            // This helps keep JSON bodies readable and formatted nicely.
+            //
+            // The %s placeholders will be replaced by the username and password
+            // using .formatted().
+            //
+            // Example final body:
+            // {
+            //   "username":"admin",
+            //   "password":"password123"
+            // }
+            var body = """
+          {"username":"%s","password":"%s"}
+          """.formatted(user, pass);
+
+            // POST /auth, expect 200, then pick the "token" field out of the JSON response.
+            var request = TransportRequest.post("/auth").withBody(body.getBytes(StandardCharsets.UTF_8));
+            TransportResponse response = expectStatus(request, transport().send(request), 200);
+            try {
+                return Json.mapper().readTree(response.body()).path("token").asText(null);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unreadable /auth response", e);
+            }
+        });
     }
 
     /**
@@ -73,16 +118,32 @@ public class BookingClient extends ApiClient {
      */
     @Step("Create booking (raw) for {req.firstname} {req.lastname}")
     public Response createRaw(BookingModels.Booking req) {
-        return givenJson().contentType(JSON)
-                .body(req)
-                .when().post("/booking");
+        return step("BookingClient.createRaw", () -> {
+            // a raw create can still create: the spec's CreatedBookingFilter records it for the cleanup
+            return givenJson().contentType(JSON)
+                    .body(req)
+                    .when().post("/booking");
+        });
+    }
+
+    /**
+     * Same as {@link #createRaw(BookingModels.Booking)}, but the body is sent exactly as given
+     * (e.g. a rendered PayloadTemplate): no object in between, and malformed input reaches the API.
+     */
+    @Step("Create booking (raw) from a JSON payload")
+    public Response createRaw(byte[] json) {
+        return step("BookingClient.createRaw", () -> {
+            return givenJson().contentType(JSON)
+                    .body(json)
+                    .when().post("/booking");
+        });
     }
 
     /**
      * Creates a new booking by calling the /booking endpoint.
      *
      * @param req a BookingModels.Booking object that represents the request body.
-     *            Rest Assured will automatically serialize this Java object to JSON.
+     *            It is serialized to JSON with the shared Jackson mapper.
      * @return a CreateBookingResponse object which contains booking id and booking details.
      *
      * The @Step annotation:
@@ -91,19 +152,17 @@ public class BookingClient extends ApiClient {
      */
     @Step("Create booking for {firstname} {lastname}")
     public BookingModels.CreateBookingResponse create(BookingModels.Booking req) {
+        return step("BookingClient.create", () -> {
+            // POST /booking with the booking as JSON.
+            // This specific API returns 200 (not 201) even for a create operation.
+            var request = TransportRequest.post("/booking").withBody(Json.writeBytes(req));
+            TransportResponse response = expectStatus(request, transport().send(request), 200);
 
-        // givenJson(): base specification.
-        // .contentType(JSON): sending JSON.
-        // .body(req): Java POJO -> JSON (via Jackson or Gson under the hood).
-        // .when().post("/booking"): POST request to /booking.
-        // .then().statusCode(200): Asserts that the API returned 200
-        //   (this specific API returns 200 even for a create operation).
-        // .extract().as(...): deserializes JSON response to CreateBookingResponse class.
-        return givenJson().contentType(JSON)
-                .body(req)
-                .when().post("/booking")
-                .then().statusCode(200) // API returns 200 for create
-                .extract().as(BookingModels.CreateBookingResponse.class);
+            // Deserialize the JSON response into CreateBookingResponse.
+            var created = Json.read(response.body(), BookingModels.CreateBookingResponse.class);
+            ResourceRegistry.shared().record(created.bookingid, req.lastname);
+            return created;
+        });
     }
 
     /**
@@ -114,74 +173,226 @@ public class BookingClient extends ApiClient {
      */
     @Step("Get booking {id}")
     public BookingModels.Booking get(int id) {
+        return step("BookingClient.get", () -> {
+            // "/booking/{id}" is a path template; 'id' is substituted by the transport.
+            var request = TransportRequest.get("/booking/{id}", id);
+            TransportResponse response = expectStatus(request, transport().send(request), 200);
+            return Json.read(response.body(), BookingModels.Booking.class);
+        });
+    }
+
+    /**
+     * Ids of all bookings (GET /booking).
+     *
+     * - On a shared environment this can be tens of thousands of ids; they are parsed straight
+     *   into an int[] (no list of objects). To stop early or page, use {@link #streamIds}.
+     */
+    @Step("List booking ids")
+    public int[] listIds() {
+        return listIds(null);
+    }
+
+    /**
+     * Ids of the bookings matching {@code filter} (GET /booking?firstname=..&lastname=..&checkin=..&checkout=..).
+     *
+     * @param filter the query; null or empty fields are left out (null = all bookings).
+     */
+    @Step("List booking ids")
+    public int[] listIds(BookingModels.BookingFilter filter) {
+        return step("BookingClient.listIds", () -> {
+            var request = listRequest(filter);
+            TransportResponse response = expectStatus(request, transport().send(request), 200);
+            try (JsonIds ids = JsonIds.of(response.body(), "bookingid")) {
+                return ids.toArray();
+            }
+        });
+    }
+
+    /**
+     * Same query as {@link #listIds(BookingModels.BookingFilter)}, but the ids are read from the
+     * response while it arrives and only as far as the caller goes:
+     *     try (JsonIds ids = client.streamIds(filter)) { int[] firstPage = ids.nextPage(100); }
+     *     try (IntStream ids = client.streamIds(null).stream()) { ids.limit(10)... }
+     *
+     * - Always close the result: that closes the response (and its connection) even when
+     *   not everything was read.
+     * - Goes through {@link #streamingTransport()}: on the default Rest Assured backend that is the
+     *   JDK client, so the Rest Assured filters (retry, log-on-failure, ...) do not apply to it.
+     */
+    @Step("Stream booking ids")
+    public JsonIds streamIds(BookingModels.BookingFilter filter) {
+        return step("BookingClient.streamIds", () -> {
+            var request = listRequest(filter);
+            StreamedResponse response = streamingTransport().stream(request);
+            if (response.status() != 200) {
+                // read what there is for the error message
+                try (response) {
+                    expectStatus(request, new TransportResponse(response.status(), response.headers(),
+                            response.body().readAllBytes()), 200);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(request.describe() + " failed", e);
+                }
+            }
+            return JsonIds.over(response.body(), "bookingid", response);
+        });
+    }
+
+    private static TransportRequest listRequest(BookingModels.BookingFilter filter) {
+        var request = TransportRequest.get("/booking");
+        if (filter != null) {
+            request = withQuery(request, "firstname", filter.firstname);
+            request = withQuery(request, "lastname", filter.lastname);
+            request = withQuery(request, "checkin", filter.checkin == null ? null : filter.checkin.toString());
+            request = withQuery(request, "checkout", filter.checkout == null ? null : filter.checkout.toString());
+        }
+        return request;
+    }
 
-        // givenJson(): base request spec.
-        // .when().get("/booking/{id}", id):
-        //   - Uses a path parameter placeholder {id} in the URL.
-        //   - 'id' is passed as an argument and substituted automatically.
-        // .then().statusCode(200): expects success.
-        // .extract().as(...): maps JSON response into Booking class (POJO).
-        return givenJson()
-                .when().get("/booking/{id}", id)
-                .then().statusCode(200)
-                .extract().as(BookingModels.Booking.class);
+    private static TransportRequest withQuery(TransportRequest request, String name, String value) {
+        return value == null || value.isEmpty() ? request : request.withQuery(name, value);
     }
 
     /**
      * Updates an existing booking using PUT /booking/{id}.
      *
      * - This endpoint requires a 'token' cookie for authentication.
+     * - The token comes from the shared TokenProvider; if the server rejects it (403),
+     *   it is dropped from the cache and the call is retried once with a fresh token.
      *
      * @param id    booking id to update.
      * @param req   the updated booking data.
-     * @param token the auth token to be sent as a cookie.
      * @return the updated Booking object.
      */
     @Step("Update booking {id}")
+    public BookingModels.Booking update(int id, BookingModels.Booking req) {
+        return step("BookingClient.update", () -> {
+            String token = createToken();
+            var request = updateRequest(id, req, token);
+            TransportResponse response = transport().send(request);
+            if (response.status() == 403) {
+                // Token no longer accepted by the server: drop it and retry once with a fresh one.
+                tokens().invalidate(token);
+                request = updateRequest(id, req, createToken());
+                response = transport().send(request);
+            }
+            return Json.read(expectStatus(request, response, 200).body(), BookingModels.Booking.class);
+        });
+    }
+
+    /**
+     * Same as {@link #update(int, BookingModels.Booking)} with an explicit token
+     * (no cache, no retry - e.g. to test a bad or expired token).
+     *
+     * @param token the auth token to be sent as a cookie.
+     */
+    @Step("Update booking {id}")
     public BookingModels.Booking update(int id, BookingModels.Booking req, String token) {
+        return step("BookingClient.update", () -> {
+            // PUT /booking/{id} with the "token" cookie and the updated booking as JSON.
+            var request = updateRequest(id, req, token);
+            TransportResponse response = expectStatus(request, transport().send(request), 200);
+            return Json.read(response.body(), BookingModels.Booking.class);
+        });
+    }
 
-        // Create a Cookie object with name "token" and value from parameter.
-        // Using Cookie.Builder gives more control (e.g., domain, path, expiry) if needed later.
-        Cookie cookie = new Cookie.Builder("token", token).build();
-
-        // givenJson(): base specification.
-        // .cookie(cookie): adds the "token" cookie to the request.
-        // .contentType(JSON): sending JSON body.
-        // .body(req): updated booking data.
-        // .when().put("/booking/{id}", id): PUT request to /booking/{id}.
-        // .then().statusCode(200): expects OK.
-        // .extract().as(...): maps the updated booking from response JSON to Booking class.
-        return givenJson().cookie(cookie)
-                .contentType(JSON)
-                .body(req)
-                .when().put("/booking/{id}", id)
-                .then().statusCode(200)
-                .extract().as(BookingModels.Booking.class);
+    private static TransportRequest updateRequest(int id, BookingModels.Booking req, String token) {
+        return TransportRequest.put("/booking/{id}", id)
+                .withCookie("token", token)
+                .withBody(Json.writeBytes(req));
+    }
+
+    /**
+     * Creates many bookings at once (fixture seeding), {@code bulk.concurrency} requests in flight
+     * and at most {@code bulk.ratePerSec} started per second (see the bulk block in application.conf).
+     *
+     * @return the new booking ids in input order; a failed create is an error item, not an exception
+     *         (use {@link BulkResult#requireAllOk()} when all of them must exist).
+     */
+    @Step("Create bookings in bulk")
+    public BulkResult<Integer> createAll(Collection<BookingModels.Booking> bookings) {
+        return createAll(bookings.stream(), Bulk.Settings.fromConfig());
+    }
+
+    /** Same as {@link #createAll(Collection)} for a (possibly lazy) stream and explicit settings. */
+    @Step("Create bookings in bulk")
+    public BulkResult<Integer> createAll(Stream<BookingModels.Booking> bookings, Bulk.Settings settings) {
+        return step("BookingClient.createAll", () -> {
+            HttpTransport transport = settings.transport();
+            return Bulk.run("createAll", bookings, settings, booking -> {
+                var request = TransportRequest.post("/booking").withBody(Json.writeBytes(booking));
+                return transport.sendAsync(request).thenApply(response -> {
+                    int id = Json.read(expectStatus(request, response, 200).body(),
+                            BookingModels.CreateBookingResponse.class).bookingid;
+                    ResourceRegistry.shared().record(id, booking.lastname);
+                    return id;
+                });
+            });
+        });
+    }
+
+    /**
+     * Deletes many bookings at once, with the cached token and the same bulk settings as createAll.
+     *
+     * @return the deleted ids in input order; ids that could not be deleted are error items.
+     */
+    @Step("Delete bookings in bulk")
+    public BulkResult<Integer> deleteAll(Collection<Integer> ids) {
+        return deleteAll(ids.stream(), Bulk.Settings.fromConfig());
+    }
+
+    @Step("Delete bookings in bulk")
+    public BulkResult<Integer> deleteAll(Stream<Integer> ids, Bulk.Settings settings) {
+        return step("BookingClient.deleteAll", () -> {
+            HttpTransport transport = settings.transport();
+            String token = createToken();
+            return Bulk.run("deleteAll", ids, settings, id -> {
+                var request = TransportRequest.delete("/booking/{id}", id).withCookie("token", token);
+                return transport.sendAsync(request).thenApply(response -> {
+                    expectStatus(request, response, 201);
+                    ResourceRegistry.shared().forget(id);
+                    return id;
+                });
+            });
+        });
     }
 
     /**
      * Deletes a booking using DELETE /booking/{id}.
      *
-     * - Requires a 'token' cookie, similar to update.
+     * - Requires a 'token' cookie, similar to update (same cache and 403 retry).
      * - This method returns void because we only care that the call succeeds
      *   (status code) and not about any response body.
      *
      * @param id    booking id to delete.
+     */
+    @Step("Delete booking {id}")
+    public void delete(int id) {
+        step("BookingClient.delete", () -> {
+            String token = createToken();
+            var request = TransportRequest.delete("/booking/{id}", id).withCookie("token", token);
+            TransportResponse response = transport().send(request);
+            if (response.status() == 403) {
+                tokens().invalidate(token);
+                request = TransportRequest.delete("/booking/{id}", id).withCookie("token", createToken());
+                response = transport().send(request);
+            }
+            expectStatus(request, response, 201);
+            ResourceRegistry.shared().forget(id);
+        });
+    }
+
+    /**
+     * Same as {@link #delete(int)} with an explicit token (no cache, no retry).
+     *
      * @param token auth token to be sent as a cookie.
      */
     @Step("Delete booking {id}")
     public void delete(int id, String token) {
-
-        // Build the "token" cookie just like in the update method.
-        Cookie cookie = new Cookie.Builder("token", token).build();
-
-        // givenJson(): base spec.
-        // .cookie(cookie): attach auth cookie.
-        // .when().delete("/booking/{id}", id): DELETE request.
-        // .then().statusCode(201): asserts that the API returns 201 (per this API's behavior).
-        // No .extract() here because we don't need any response body for delete.
-        givenJson().cookie(cookie)
-                .when().delete("/booking/{id}", id)
-                .then().statusCode(201); // per API behavior
+        step("BookingClient.delete", () -> {
+            // DELETE /booking/{id}; this API answers 201 on success (per API behavior).
+            var request = TransportRequest.delete("/booking/{id}", id).withCookie("token", token);
+            expectStatus(request, transport().send(request), 201);
+            ResourceRegistry.shared().forget(id);
+        });
     }
 }
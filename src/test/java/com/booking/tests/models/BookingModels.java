@@ -21,6 +21,17 @@ public class BookingModels {
         public int bookingid;
         public Booking booking;
     }
+    /** Query for GET /booking; fields left null are not sent. */
+    public static class BookingFilter {
+        public String firstname;
+        public String lastname;
+        public LocalDate checkin;
+        public LocalDate checkout;
+        public BookingFilter firstname(String v) { this.firstname = v; return this; }
+        public BookingFilter lastname(String v)  { this.lastname = v; return this; }
+        public BookingFilter checkin(LocalDate v)  { this.checkin = v; return this; }
+        public BookingFilter checkout(LocalDate v) { this.checkout = v; return this; }
+    }
     public static class AuthResponse {
         public String token;
     }
@@ -0,0 +1,497 @@
+package com.booking.tests.stub;
+
+import com.booking.tests.config.Config;
+import com.booking.tests.core.InProcessHandler;
+import com.booking.tests.core.InProcessTransport;
+import com.booking.tests.core.Json;
+import com.booking.tests.core.SpecFactory;
+import com.booking.tests.core.TransportRequest;
+import com.booking.tests.core.TransportResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * In-JVM stand-in for restful-booker.herokuapp.com, for offline and high-throughput runs ({@code env = "stub"}).
+ *
+ * Routes: POST /auth, GET /ping, GET /booking (filters firstname, lastname, checkin, checkout),
+ * POST /booking, GET/PUT/PATCH/DELETE /booking/{id}. It copies the real API's quirks, which our
+ * negative tests document:
+ * - create answers 200 (not 201), delete answers 201 "Created", /ping answers 201
+ * - bad credentials on /auth: 200 with {"reason":"Bad credentials"}
+ * - PUT/PATCH/DELETE need a valid token cookie or Basic admin auth, else 403;
+ *   an unknown id there is 405 (GET of an unknown id is 404)
+ * - malformed JSON: 400; missing fields on create: 500, on PUT: 400; a non-JSON body on create: 500
+ * - non-ISO dates are accepted and come back as "0NaN-aN-aN"
+ * - an Accept header that allows neither JSON nor anything (e.g. text/plain) is 418
+ * XML bodies are not emulated.
+ *
+ * Started once per JVM by {@link #startIfEnabled()} (support/BookingEmulatorExtension, the Cucumber
+ * EmulatorHooks and SuiteLifecycle call it) on {@code stub.port} (0 = any free port); it then points
+ * baseUrl at itself. Handlers run on virtual threads over a lock-free {@link BookingStore}.
+ * With {@code stub.inProcess = true} no server is started at all: the emulator is installed as the
+ * {@link InProcessHandler} and requests reach {@link #handle(TransportRequest)} without a socket.
+ */
+public final class BookingEmulator implements InProcessHandler, AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BookingEmulator.class);
+    private static final String MANGLED_DATE = "0NaN-aN-aN";
+    /** baseUrl while in-process: only used to build URLs, never resolved. */
+    private static final String IN_PROCESS_URL = "http://booking-emulator.in-process";
+    private static final Map<String, List<String>> JSON_HEADERS =
+            Map.of("Content-Type", List.of("application/json; charset=utf-8"));
+    private static final Map<String, List<String>> TEXT_HEADERS =
+            Map.of("Content-Type", List.of("text/plain; charset=utf-8"));
+
+    private static BookingEmulator shared;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final BookingStore store = new BookingStore();
+    private final Set<String> tokens = ConcurrentHashMap.newKeySet();
+    private final String user;
+    private final String pass;
+    private final String basicAuth;
+
+    /** Serves HTTP on {@code port} of the loopback interface (0 = any free port). */
+    public BookingEmulator(int port, String user, String pass) throws IOException {
+        this.user = user;
+        this.pass = pass;
+        this.basicAuth = "Basic " + Base64.getEncoder().encodeToString((user + ":" + pass).getBytes(StandardCharsets.UTF_8));
+        // headers and body are separate writes: without TCP_NODELAY each response waits ~40 ms on delayed ACKs
+        // (read once, when the first HttpServer is created)
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/", this::serve);
+        server.start();
+    }
+
+    /** No server: answers only through {@link #handle(TransportRequest)}, e.g. once installed in InProcessTransport. */
+    public BookingEmulator(String user, String pass) {
+        this.user = user;
+        this.pass = pass;
+        this.basicAuth = "Basic " + Base64.getEncoder().encodeToString((user + ":" + pass).getBytes(StandardCharsets.UTF_8));
+        this.server = null;
+        this.executor = null;
+    }
+
+    /**
+     * With {@code env = "stub"}: starts the shared emulator (once) and points {@code baseUrl} at it;
+     * with {@code stub.inProcess = true} also installs it as the in-process handler (no socket).
+     *
+     * @return the running emulator, or null for any other env
+     */
+    public static synchronized BookingEmulator startIfEnabled() {
+        if (shared != null || !"stub".equals(Config.env())) {
+            return shared;
+        }
+        boolean inProcess = Config.boolOr("stub.inProcess", false);
+        try {
+            shared = inProcess
+                    ? new BookingEmulator(Config.user(), Config.pass())
+                    : new BookingEmulator(Config.intOr("stub.port", 0), Config.user(), Config.pass());
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot start the booking emulator on port " + Config.intOr("stub.port", 0), e);
+        }
+        shared.seed(Config.intOr("stub.seed", 10));
+        // -Dkey wins over the conf files, so every later Config.baseUrl() sees the emulator
+        System.setProperty("baseUrl", shared.baseUrl());
+        if (inProcess) {
+            InProcessTransport.install(shared);
+        }
+        SpecFactory.rebuild();
+        LOG.info("Booking emulator {} {} ({} seeded bookings)", inProcess ? "answering in-process as" : "listening on",
+                shared.baseUrl(), shared.store.size());
+        return shared;
+    }
+
+    public static synchronized void stopShared() {
+        if (shared != null) {
+            shared.close();
+            shared = null;
+        }
+    }
+
+    public String baseUrl() {
+        if (server == null) {
+            return IN_PROCESS_URL;
+        }
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    public BookingStore store() {
+        return store;
+    }
+
+    /** Adds {@code count} sample bookings, like the real API has after a reset. */
+    public void seed(int count) {
+        String[] first = {"Jim", "Mary", "Sally", "Eric", "Susan", "Mark", "Josh", "John"};
+        String[] last = {"Brown", "Wilson", "Jones", "Smith", "Ericsson", "Jackson", "Allen"};
+        ThreadLocalRandom r = ThreadLocalRandom.current();
+        for (int i = 0; i < count; i++) {
+            LocalDate in = LocalDate.of(2018, 1, 1).plusDays(r.nextInt(2500));
+            store.create(new BookingStore.Booking(first[r.nextInt(first.length)], last[r.nextInt(last.length)],
+                    100 + r.nextInt(900), r.nextBoolean(),
+                    new BookingStore.Dates(in.toString(), in.plusDays(1 + r.nextInt(14)).toString()),
+                    r.nextBoolean() ? "Breakfast" : null));
+        }
+    }
+
+    @Override
+    public void close() {
+        InProcessTransport installed = InProcessTransport.installed();
+        if (installed != null && installed.handler() == this) {
+            InProcessTransport.uninstall();
+        }
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // Routing
+    // ---------------------------------------------------------------------------------------------
+
+    /** Socket adapter: the same {@link #handle(TransportRequest)} behind the HttpServer. */
+    private void serve(HttpExchange ex) throws IOException {
+        try (ex) {
+            TransportResponse response = handle(toRequest(ex));
+            response.headers().forEach((name, values) -> ex.getResponseHeaders().put(name, values));
+            byte[] body = response.body();
+            ex.sendResponseHeaders(response.status(), body.length == 0 ? -1 : body.length);
+            if (body.length > 0) {
+                try (OutputStream out = ex.getResponseBody()) {
+                    out.write(body);
+                }
+            }
+        }
+    }
+
+    @Override
+    public TransportResponse handle(TransportRequest request) {
+        try {
+            String method = request.method();
+            String path = request.resolvedPath();
+            if (path.length() > 1 && path.endsWith("/")) {
+                path = path.substring(0, path.length() - 1);
+            }
+            byte[] body = request.body() == null ? new byte[0] : request.body();
+            return switch (path) {
+                case "/ping" -> method.equals("GET") ? text(201, "Created") : notFound();
+                case "/auth" -> method.equals("POST") ? auth(body) : notFound();
+                case "/booking" -> switch (method) {
+                    case "GET" -> list(request.query());
+                    case "POST" -> create(request, body);
+                    default -> notFound(); // e.g. DELETE /booking: no such route
+                };
+                default -> {
+                    Integer id = path.startsWith("/booking/") ? parseId(path.substring(9)) : null;
+                    if (id == null) {
+                        yield notFound();
+                    }
+                    yield switch (method) {
+                        case "GET" -> get(request, id);
+                        case "PUT" -> update(request, id, body, false);
+                        case "PATCH" -> update(request, id, body, true);
+                        case "DELETE" -> delete(request, id);
+                        default -> notFound();
+                    };
+                }
+            };
+        } catch (RuntimeException e) {
+            LOG.warn("Emulator failed on {} {}", request.method(), request.pathAndQuery(), e);
+            return text(500, "Internal Server Error");
+        }
+    }
+
+    private static Integer parseId(String s) {
+        try {
+            return Integer.valueOf(s);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // Endpoints
+    // ---------------------------------------------------------------------------------------------
+
+    private TransportResponse auth(byte[] body) {
+        JsonNode req = parse(body);
+        if (req == null) return text(400, "Bad Request");
+        if (user.equals(req.path("username").asText(null)) && pass.equals(req.path("password").asText(null))) {
+            String token = Long.toHexString(ThreadLocalRandom.current().nextLong() | Long.MIN_VALUE).substring(1);
+            tokens.add(token);
+            return json(200, ("{\"token\":\"" + token + "\"}").getBytes(StandardCharsets.UTF_8));
+        }
+        return json(200, "{\"reason\":\"Bad credentials\"}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private TransportResponse list(Map<String, String> q) {
+        Predicate<BookingStore.Booking> filter = b -> true;
+        String first = q.get("firstname");
+        String last = q.get("lastname");
+        String checkin = q.get("checkin");
+        String checkout = q.get("checkout");
+        if (first != null) filter = filter.and(b -> first.equals(b.firstname()));
+        if (last != null) filter = filter.and(b -> last.equals(b.lastname()));
+        if (checkin != null) filter = filter.and(b -> b.bookingdates().checkin().compareTo(checkin) >= 0);
+        if (checkout != null) filter = filter.and(b -> b.bookingdates().checkout().compareTo(checkout) <= 0);
+
+        List<Integer> ids = store.ids(filter);
+        StringBuilder sb = new StringBuilder(ids.size() * 16 + 2).append('[');
+        for (int i = 0; i < ids.size(); i++) {
+            if (i > 0) sb.append(',');
+            sb.append("{\"bookingid\":").append(ids.get(i)).append('}');
+        }
+        return json(200, sb.append(']').toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private TransportResponse get(TransportRequest request, int id) {
+        if (!acceptsJson(request)) {
+            return text(418, "I'm a Teapot");
+        }
+        byte[] json = store.json(id);
+        return json == null ? notFound() : json(200, json);
+    }
+
+    private TransportResponse create(TransportRequest request, byte[] body) {
+        if (!acceptsJson(request)) {
+            return text(418, "I'm a Teapot");
+        }
+        if (!isJson(request)) {
+            return text(500, "Internal Server Error"); // body not parsed -> required fields missing
+        }
+        JsonNode req = parse(body);
+        if (req == null) return text(400, "Bad Request");
+        BookingStore.Booking booking = toBooking(req);
+        if (booking == null) {
+            return text(500, "Internal Server Error");
+        }
+        int id = store.create(booking);
+        byte[] head = ("{\"bookingid\":" + id + ",\"booking\":").getBytes(StandardCharsets.UTF_8);
+        byte[] stored = store.json(id);
+        byte[] out = Arrays.copyOf(head, head.length + stored.length + 1);
+        System.arraycopy(stored, 0, out, head.length, stored.length);
+        out[out.length - 1] = '}';
+        return json(200, out);
+    }
+
+    private TransportResponse update(TransportRequest request, int id, byte[] body, boolean partial) {
+        if (!authorized(request)) {
+            return text(403, "Forbidden");
+        }
+        BookingStore.Booking existing = store.get(id);
+        if (existing == null) {
+            return text(405, "Method Not Allowed");
+        }
+        JsonNode req = parse(body);
+        if (req == null) return text(400, "Bad Request");
+        BookingStore.Booking booking = partial ? merge(existing, req) : toBooking(req);
+        if (booking == null || !store.replace(id, booking)) {
+            return text(400, "Bad Request");
+        }
+        return json(200, store.json(id));
+    }
+
+    private TransportResponse delete(TransportRequest request, int id) {
+        if (!authorized(request)) {
+            return text(403, "Forbidden");
+        }
+        return store.delete(id) ? text(201, "Created") : text(405, "Method Not Allowed");
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // Request helpers
+    // ---------------------------------------------------------------------------------------------
+
+    /** Parsed JSON body; null if malformed (the caller answers 400). */
+    private static JsonNode parse(byte[] body) {
+        if (body.length == 0) {
+            return Json.mapper().createObjectNode();
+        }
+        try {
+            return Json.mapper().readTree(body);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /** All fields required, with the loose casting of the real API; null if unusable. */
+    private static BookingStore.Booking toBooking(JsonNode n) {
+        JsonNode dates = n.path("bookingdates");
+        Integer price = toInt(n.get("totalprice"));
+        Boolean deposit = toBool(n.get("depositpaid"));
+        String checkin = date(dates.get("checkin"));
+        String checkout = date(dates.get("checkout"));
+        if (!isText(n.get("firstname")) || !isText(n.get("lastname")) || price == null || deposit == null
+                || checkin == null || checkout == null) {
+            return null;
+        }
+        return new BookingStore.Booking(n.get("firstname").asText(), n.get("lastname").asText(), price, deposit,
+                new BookingStore.Dates(checkin, checkout),
+                isText(n.get("additionalneeds")) ? n.get("additionalneeds").asText() : null);
+    }
+
+    /** PATCH: fields present in the body replace the stored ones; invalid values make it a 400. */
+    private static BookingStore.Booking merge(BookingStore.Booking b, JsonNode n) {
+        String first = n.has("firstname") ? text(n.get("firstname")) : b.firstname();
+        String last = n.has("lastname") ? text(n.get("lastname")) : b.lastname();
+        Integer price = n.has("totalprice") ? toInt(n.get("totalprice")) : Integer.valueOf(b.totalprice());
+        Boolean deposit = n.has("depositpaid") ? toBool(n.get("depositpaid")) : Boolean.valueOf(b.depositpaid());
+        String needs = n.has("additionalneeds") ? text(n.get("additionalneeds")) : b.additionalneeds();
+        BookingStore.Dates dates = b.bookingdates();
+        JsonNode d = n.get("bookingdates");
+        if (d != null) {
+            if (!d.isObject()) return null;
+            String checkin = d.has("checkin") ? date(d.get("checkin")) : dates.checkin();
+            String checkout = d.has("checkout") ? date(d.get("checkout")) : dates.checkout();
+            if (checkin == null || checkout == null) return null;
+            dates = new BookingStore.Dates(checkin, checkout);
+        }
+        if (first == null || last == null || price == null || deposit == null) return null;
+        return new BookingStore.Booking(first, last, price, deposit, dates, needs);
+    }
+
+    private static boolean isText(JsonNode n) {
+        return n != null && n.isValueNode() && !n.isNull();
+    }
+
+    private static String text(JsonNode n) {
+        return isText(n) ? n.asText() : null;
+    }
+
+    private static Integer toInt(JsonNode n) {
+        if (n == null || n.isNull()) return null;
+        if (n.isNumber()) return n.intValue();
+        if (n.isTextual()) {
+            try {
+                return (int) Double.parseDouble(n.asText().trim()); // "150" is cast, "NaN" fails below
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static Boolean toBool(JsonNode n) {
+        if (n == null || n.isNull()) return null;
+        if (n.isBoolean()) return n.booleanValue();
+        if (n.isTextual() && (n.asText().equals("true") || n.asText().equals("false"))) return Boolean.valueOf(n.asText());
+        if (n.isNumber()) return n.intValue() != 0;
+        return null;
+    }
+
+    /**
+     * A date as the real API stores it: ISO dates (or timestamps) become yyyy-MM-dd, [y, m, d] arrays
+     * (Jackson's default for LocalDate) are read like JavaScript's Date does, any other string is
+     * accepted but mangled. Null (unusable, e.g. missing or an object) fails the request.
+     */
+    private static String date(JsonNode n) {
+        if (n != null && n.isArray() && n.size() == 3) {
+            try {
+                return LocalDate.of(n.get(0).asInt(), n.get(1).asInt(), n.get(2).asInt()).toString();
+            } catch (DateTimeException e) {
+                return MANGLED_DATE;
+            }
+        }
+        if (!isText(n)) {
+            return null;
+        }
+        String s = n.asText();
+        try {
+            return LocalDate.parse(s.length() >= 10 ? s.substring(0, 10) : s).toString();
+        } catch (DateTimeParseException e) {
+            return MANGLED_DATE;
+        }
+    }
+
+    private boolean authorized(TransportRequest request) {
+        if (basicAuth.equals(request.header("Authorization"))) {
+            return true;
+        }
+        String token = request.cookies().get("token");
+        return token != null && tokens.contains(token);
+    }
+
+    private static boolean acceptsJson(TransportRequest request) {
+        String accept = request.header("Accept");
+        return accept == null || accept.isBlank() || accept.contains("json") || accept.contains("*/*")
+                || accept.contains("application/*");
+    }
+
+    private static boolean isJson(TransportRequest request) {
+        String ct = request.header("Content-Type");
+        return ct != null && ct.contains("json");
+    }
+
+    /** HttpExchange -> TransportRequest: raw path, decoded query, first value per header, parsed cookies. */
+    private static TransportRequest toRequest(HttpExchange ex) throws IOException {
+        TransportRequest request = TransportRequest.of(ex.getRequestMethod(), ex.getRequestURI().getRawPath());
+        String raw = ex.getRequestURI().getRawQuery();
+        if (raw != null && !raw.isEmpty()) {
+            for (String pair : raw.split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq > 0) {
+                    request = request.withQuery(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                            URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+                }
+            }
+        }
+        for (Map.Entry<String, List<String>> h : ex.getRequestHeaders().entrySet()) {
+            if (h.getValue().isEmpty()) continue;
+            if (h.getKey().equalsIgnoreCase("Cookie")) {
+                for (String header : h.getValue()) {
+                    for (String c : header.split(";")) {
+                        int eq = c.indexOf('=');
+                        if (eq > 0) request = request.withCookie(c.substring(0, eq).trim(), c.substring(eq + 1).trim());
+                    }
+                }
+            } else {
+                request = request.withHeader(h.getKey(), h.getValue().get(0));
+            }
+        }
+        return request.withBody(ex.getRequestBody().readAllBytes());
+    }
+
+    // ---------------------------------------------------------------------------------------------
+    // Responses
+    // ---------------------------------------------------------------------------------------------
+
+    private static TransportResponse notFound() {
+        return text(404, "Not Found");
+    }
+
+    private static TransportResponse json(int status, byte[] body) {
+        return new TransportResponse(status, JSON_HEADERS, body);
+    }
+
+    private static TransportResponse text(int status, String body) {
+        return new TransportResponse(status, TEXT_HEADERS, body.getBytes(StandardCharsets.UTF_8));
+    }
+}
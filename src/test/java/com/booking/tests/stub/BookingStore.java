@@ -0,0 +1,82 @@
+package com.booking.tests.stub;
+
+import com.booking.tests.core.Json;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * In-memory bookings of the {@link BookingEmulator}.
+ *
+ * Bookings are immutable records; each is stored with its JSON already serialized, so a GET is a
+ * map lookup plus a byte copy to the socket. All operations are lock-free (ConcurrentHashMap +
+ * AtomicInteger ids), so parallel tests and load runs never queue behind each other here.
+ */
+public final class BookingStore {
+
+    public record Dates(String checkin, String checkout) {}
+
+    /** One booking as the API stores it (dates as strings: non-ISO input is kept "mangled"). */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Booking(String firstname, String lastname, int totalprice, boolean depositpaid,
+                          Dates bookingdates, String additionalneeds) {}
+
+    private record Stored(Booking booking, byte[] json) {}
+
+    private final ConcurrentMap<Integer, Stored> bookings = new ConcurrentHashMap<>();
+    private final AtomicInteger lastId = new AtomicInteger();
+
+    /** Stores a new booking and returns its id (ids are never reused, like the real API). */
+    public int create(Booking booking) {
+        int id = lastId.incrementAndGet();
+        bookings.put(id, stored(booking));
+        return id;
+    }
+
+    public Booking get(int id) {
+        Stored s = bookings.get(id);
+        return s == null ? null : s.booking;
+    }
+
+    /** The booking's JSON, or null if there is no such booking. */
+    public byte[] json(int id) {
+        Stored s = bookings.get(id);
+        return s == null ? null : s.json;
+    }
+
+    /** Replaces an existing booking; false if there is none. */
+    public boolean replace(int id, Booking booking) {
+        return bookings.replace(id, stored(booking)) != null;
+    }
+
+    public boolean delete(int id) {
+        return bookings.remove(id) != null;
+    }
+
+    /** Ids of the bookings matching {@code filter}, ascending. */
+    public List<Integer> ids(Predicate<Booking> filter) {
+        List<Integer> ids = new ArrayList<>();
+        bookings.forEach((id, s) -> {
+            if (filter.test(s.booking)) ids.add(id);
+        });
+        ids.sort(null);
+        return ids;
+    }
+
+    public int size() {
+        return bookings.size();
+    }
+
+    public void clear() {
+        bookings.clear();
+    }
+
+    private static Stored stored(Booking booking) {
+        return new Stored(booking, Json.writeBytes(booking));
+    }
+}
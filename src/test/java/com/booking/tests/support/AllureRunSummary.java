@@ -0,0 +1,44 @@
+package com.booking.tests.support;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.TestResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Publishes run-level text (metrics tables and the like) to the Allure report.
+ * At the end of the run there is no test to attach to, so each summary becomes its own
+ * "test" under the suite "Run summary", with the content as attachment.
+ */
+final class AllureRunSummary {
+
+    private AllureRunSummary() {}
+
+    static void publish(String name, String text) {
+        publish(name, Status.PASSED, "text/plain", ".txt", text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static void publish(String name, Status status, String type, String extension, byte[] content) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String uuid = UUID.randomUUID().toString();
+        long now = System.currentTimeMillis();
+        lifecycle.scheduleTestCase(new TestResult()
+                .setUuid(uuid)
+                .setHistoryId("run-summary:" + name) // same id every run: Allure keeps a history per summary
+                .setName(name)
+                .setFullName("Run summary: " + name)
+                .setStatus(status)
+                .setStart(now)
+                .setLabels(List.of(new Label().setName("suite").setValue("Run summary"))));
+        lifecycle.startTestCase(uuid);
+        lifecycle.addAttachment(name, type, extension, content);
+        lifecycle.updateTestCase(uuid, r -> r.setStop(System.currentTimeMillis()));
+        lifecycle.stopTestCase(uuid);
+        lifecycle.writeTestCase(uuid);
+    }
+}
@@ -1,9 +1,23 @@
 package com.booking.tests.support;
 
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.ResourceAccessMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
 import java.time.Instant;
 
+/**
+ * Parent of every JUnit test class.
+ * PER_CLASS lifecycle: one instance per class, so instance fields are the place for state
+ * shared between the methods of one class (never static fields - those leak across parallel classes).
+ * Failed tests get the HTTP flight recorder attached to their Allure result (FlightRecorderExtension);
+ * every class and test is traced (TracingExtension). With env = "stub" the classes run against the
+ * in-JVM booking emulator (BookingEmulatorExtension).
+ */
+@ExtendWith({BookingEmulatorExtension.class, TracingExtension.class, FlightRecorderExtension.class})
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ResourceLock(value = Locks.GLOBAL_CONFIG, mode = ResourceAccessMode.READ)
 public abstract class BaseTest {
 
     @BeforeAll
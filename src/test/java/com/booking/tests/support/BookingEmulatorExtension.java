@@ -0,0 +1,18 @@
+package com.booking.tests.support;
+
+import com.booking.tests.stub.BookingEmulator;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * With {@code env = "stub"} (e.g. {@code mvn test -Denv=stub}), makes sure the in-JVM
+ * {@link BookingEmulator} is running and baseUrl points at it before a test class starts.
+ * Does nothing for other envs. Registered on {@link BaseTest}; Cucumber uses bdd/steps/EmulatorHooks.
+ */
+public class BookingEmulatorExtension implements BeforeAllCallback {
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        BookingEmulator.startIfEnabled();
+    }
+}
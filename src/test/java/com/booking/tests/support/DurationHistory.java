@@ -0,0 +1,122 @@
+package com.booking.tests.support;
+
+import com.booking.tests.config.Config;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * How long each scheduling unit ({@link Sharding#unitOf}: a JUnit class or a Cucumber scenario)
+ * takes, kept across builds in one small CSV per environment next to the latency history
+ * ({@code perf.history.dir}/&lt;env&gt;-durations.csv): {@code ms,runs,unit}, unit last so it
+ * may contain anything.
+ *
+ * {@code ms} is a moving average ({@code sharding.alpha} weight for the newest run), so one slow
+ * run does not reshuffle the shards. Units no longer measured keep their last value.
+ * Writers take a file lock: shard results can be folded in from several JVMs at once.
+ */
+public final class DurationHistory {
+
+    static final String HEADER = "ms,runs,unit";
+
+    private DurationHistory() {}
+
+    public static Path file() {
+        return Path.of(Config.stringOr("perf.history.dir", ".perf-history"),
+                Config.env().replaceAll("[^A-Za-z0-9._-]", "_") + "-durations.csv");
+    }
+
+    /** Average ms per unit from the history (empty if there is none yet). */
+    public static Map<String, Long> load() {
+        return read(file());
+    }
+
+    /** Ms per unit from a history or a single run's durations.csv. */
+    public static Map<String, Long> read(Path file) {
+        Map<String, Long> ms = new TreeMap<>();
+        if (!Files.exists(file)) {
+            return ms;
+        }
+        try {
+            for (String[] row : parse(Files.readAllLines(file, StandardCharsets.UTF_8))) {
+                ms.put(row[2], Long.parseLong(row[0]));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + file, e);
+        }
+        return ms;
+    }
+
+    /** Writes one run's measured durations (the same format, runs = 1). */
+    public static void writeRun(Path file, Map<String, Long> measuredMs) {
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        new TreeMap<>(measuredMs).forEach((unit, ms) -> lines.add(ms + ",1," + unit));
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, lines, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write " + file, e);
+        }
+    }
+
+    /** Folds one run's measured durations into the history of this env. */
+    public static void fold(Map<String, Long> measuredMs) {
+        if (measuredMs.isEmpty()) {
+            return;
+        }
+        Path file = file();
+        double alpha = Math.min(1, Math.max(0.01, Config.doubleOr("sharding.alpha", 0.5)));
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE)) {
+                ch.lock(); // released when the channel closes
+                ByteBuffer old = ByteBuffer.allocate((int) ch.size());
+                while (old.hasRemaining() && ch.read(old) >= 0) {
+                    // read it all
+                }
+                Map<String, long[]> rows = new TreeMap<>(); // unit -> {ms, runs}
+                for (String[] row : parse(new String(old.array(), StandardCharsets.UTF_8).lines().toList())) {
+                    rows.put(row[2], new long[]{Long.parseLong(row[0]), Long.parseLong(row[1])});
+                }
+                measuredMs.forEach((unit, ms) -> rows.merge(unit, new long[]{ms, 1}, (was, now) ->
+                        new long[]{Math.round(was[0] * (1 - alpha) + now[0] * alpha), was[1] + 1}));
+
+                var sb = new StringBuilder(HEADER).append('\n');
+                rows.forEach((unit, r) -> sb.append(r[0]).append(',').append(r[1]).append(',').append(unit).append('\n'));
+                ch.truncate(0);
+                ch.write(ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8)), 0);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot update " + file, e);
+        }
+    }
+
+    private static List<String[]> parse(List<String> lines) {
+        List<String[]> rows = new ArrayList<>();
+        for (String line : lines) {
+            if (line.isBlank() || line.equals(HEADER)) continue;
+            String[] f = line.split(",", 3);
+            if (f.length == 3 && !f[0].isEmpty() && f[0].chars().allMatch(Character::isDigit)
+                    && !f[1].isEmpty() && f[1].chars().allMatch(Character::isDigit)) {
+                rows.add(f);
+            } // else: a torn line, skipped
+        }
+        return rows;
+    }
+}
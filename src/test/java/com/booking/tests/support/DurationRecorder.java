@@ -0,0 +1,66 @@
+package com.booking.tests.support;
+
+import com.booking.tests.config.Config;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Measures every scheduling unit of the run (a JUnit class from its first to its last callback,
+ * a Cucumber scenario) for {@link Sharding}. Registered through
+ * META-INF/services/org.junit.platform.launcher.TestExecutionListener.
+ *
+ * At the end of the test plan the durations go to {@code metrics.dir}/durations.csv. An unsharded
+ * run also folds them into {@link DurationHistory} right away; a shard leaves that to
+ * {@link ShardMerger}, so the other shards still split against the history they started with.
+ * Off with {@code sharding.record = false}.
+ */
+public class DurationRecorder implements TestExecutionListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DurationRecorder.class);
+
+    private final boolean enabled = Config.boolOr("sharding.record", true);
+    private final Map<String, Long> started = new ConcurrentHashMap<>();
+    private final Map<String, Long> measuredMs = new ConcurrentHashMap<>();
+
+    @Override
+    public void executionStarted(TestIdentifier id) {
+        if (enabled && Sharding.isUnit(id.getUniqueIdObject(), id.isTest())) {
+            started.put(id.getUniqueId(), System.nanoTime());
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier id, TestExecutionResult result) {
+        Long start = started.remove(id.getUniqueId());
+        if (start != null) {
+            long ms = (System.nanoTime() - start) / 1_000_000;
+            measuredMs.merge(Sharding.unitOf(id.getUniqueIdObject(), id.isTest()), ms, Long::sum);
+        }
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan plan) {
+        if (!enabled || measuredMs.isEmpty()) {
+            return;
+        }
+        Path run = Path.of(Config.stringOr("metrics.dir", "target/metrics"), "durations.csv");
+        try {
+            DurationHistory.writeRun(run, measuredMs);
+            if (Sharding.current() == null) {
+                DurationHistory.fold(measuredMs);
+            }
+            LOG.debug("Durations of {} unit(s) written to {}", measuredMs.size(), run);
+        } catch (RuntimeException e) {
+            LOG.warn("Cannot record test durations", e); // never fails the run
+        }
+        measuredMs.clear();
+    }
+}
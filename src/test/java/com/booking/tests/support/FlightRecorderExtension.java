@@ -0,0 +1,31 @@
+package com.booking.tests.support;
+
+import com.booking.tests.core.FlightRecorder;
+import io.qameta.allure.Allure;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Attaches the HTTP flight recorder (the last N exchanges of the test's thread) to the Allure
+ * result of a failed test; passing tests cost nothing but clearing the buffer.
+ * Registered on {@link BaseTest}. The Cucumber counterpart is bdd/steps/FlightRecorderHooks.
+ *
+ * The buffer is cleared when the class starts and after each test, so the first test
+ * of a class also shows the calls made by its @BeforeAll setup.
+ */
+public class FlightRecorderExtension implements BeforeAllCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        FlightRecorder.clear();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        if (context.getExecutionException().isPresent() && !FlightRecorder.isEmpty()) {
+            Allure.addAttachment("HTTP flight recorder", "text/plain", FlightRecorder.render(), ".txt");
+        }
+        FlightRecorder.clear();
+    }
+}
@@ -0,0 +1,45 @@
+package com.booking.tests.support;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+/**
+ * Parallelism sizing for I/O-bound suites (custom strategy for JUnit's parallel mode, used by
+ * both Jupiter tests and Cucumber scenarios).
+ *
+ * Our tests spend nearly all their time waiting on a remote API, so "one thread per core"
+ * (JUnit's dynamic default) leaves the CPU idle. This strategy runs cores x ioFactor tests at
+ * once, lets the ForkJoinPool add compensating threads while workers block, and never
+ * rejects work when the pool is saturated.
+ *
+ * JUnit 5.10 cannot run test methods on virtual threads; fan-out *inside* a test
+ * (async client, bulk calls, transports) already uses virtual threads.
+ *
+ * Settings (junit-platform.properties or -D), under the engine's prefix
+ * (junit.jupiter.execution.parallel.config. or cucumber.execution.parallel.config.):
+ * - booking.parallel.ioFactor    threads per core (default 4)
+ * - booking.parallel.maxPoolSize hard cap including compensating threads (default 512)
+ */
+public class IoBoundParallelism implements ParallelExecutionConfigurationStrategy {
+
+    @Override
+    public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters params) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        double ioFactor = params.get("booking.parallel.ioFactor", Double::parseDouble).orElse(4.0);
+        int parallelism = Math.max(1, (int) Math.ceil(cores * ioFactor));
+        int maxPool = Math.max(parallelism, params.get("booking.parallel.maxPoolSize", Integer::parseInt).orElse(512));
+
+        return new ParallelExecutionConfiguration() {
+            @Override public int getParallelism()     { return parallelism; }
+            @Override public int getMinimumRunnable() { return parallelism; }
+            @Override public int getMaxPoolSize()     { return maxPool; }
+            @Override public int getCorePoolSize()    { return parallelism; }
+            @Override public int getKeepAliveSeconds() { return 30; }
+            @Override public Predicate<? super ForkJoinPool> getSaturatePredicate() { return pool -> true; }
+        };
+    }
+}
@@ -0,0 +1,216 @@
+package com.booking.tests.support;
+
+import com.booking.tests.config.Config;
+import com.booking.tests.core.HttpMetrics;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-run latency percentiles per endpoint, kept across builds in one small CSV per environment
+ * ({@code perf.history.dir}/&lt;env&gt;.csv, outside target/ so `mvn clean` keeps it).
+ * One line per endpoint per run: {@code time,rev,suite,endpoint,count,p50Us,p95Us,p99Us,maxUs}.
+ *
+ * Only successful attempts (1xx-3xx) count: error latencies would make the trend meaningless.
+ * Each run is tagged with its {@link #suite()} - how it ran and which tests it selected - and
+ * only runs with the same tag are compared: a -Dtest subset or a parallel or load run has other
+ * latencies than the full serial suite, and must not become its baseline.
+ * The file is pruned to the last {@code perf.history.maxRuns} runs. Read by {@link RegressionGate}
+ * and {@link TrendChart}.
+ */
+public final class LatencyHistory {
+
+    static final String HEADER = "time,rev,suite,endpoint,count,p50Us,p95Us,p99Us,maxUs";
+
+    /** Suite of the lines written before runs were tagged; never matches a new run. */
+    static final String UNTAGGED = "untagged";
+
+    /** Runner settings that narrow down which tests run (Surefire, JUnit tags, Cucumber). */
+    private static final List<String> SELECTION = List.of("test", "groups", "excludedGroups",
+            "cucumber.filter.tags", "cucumber.filter.name", "cucumber.features");
+
+    /** Percentiles of one endpoint in one run, in microseconds. */
+    public record Entry(String endpoint, long count, long p50Us, long p95Us, long p99Us, long maxUs) {
+        public long percentileUs(int p) {
+            return switch (p) {
+                case 50 -> p50Us;
+                case 95 -> p95Us;
+                case 99 -> p99Us;
+                default -> throw new IllegalArgumentException("Not kept in history: p" + p);
+            };
+        }
+    }
+
+    /** One test run: when, at which git revision, of which {@link #suite()}, and its endpoints. */
+    public record Run(long time, String rev, String suite, List<Entry> entries) {
+        public Entry entry(String endpoint) {
+            for (Entry e : entries) {
+                if (e.endpoint.equals(endpoint)) return e;
+            }
+            return null;
+        }
+    }
+
+    private LatencyHistory() {}
+
+    public static boolean enabled() {
+        return Config.boolOr("perf.history.enabled", true);
+    }
+
+    public static Path file(String env) {
+        return Path.of(Config.stringOr("perf.history.dir", ".perf-history"), env.replaceAll("[^A-Za-z0-9._-]", "_") + ".csv");
+    }
+
+    /**
+     * What kind of run this is, e.g. "serial/all", "parallel/all" or "serial/sel-5e1f03a2":
+     * the mode (parallel or not, "+load" with the load test on, plus {@code modeSuffix}) and the
+     * selection ("all", or a hash of -Dtest, -Dgroups and the Cucumber filters). Fixed with
+     * {@code perf.history.suite}, e.g. to name a CI job's runs.
+     */
+    public static String suite(String modeSuffix) {
+        String fixed = Config.stringOr("perf.history.suite", "").trim();
+        if (!fixed.isEmpty()) {
+            return fixed.replaceAll("[^A-Za-z0-9._+/-]", "_");
+        }
+        boolean parallel = Boolean.getBoolean("junit.jupiter.execution.parallel.enabled")
+                || Boolean.getBoolean("cucumber.execution.parallel.enabled");
+        String mode = (parallel ? "parallel" : "serial") + (Boolean.getBoolean("load.enabled") ? "+load" : "") + modeSuffix;
+        var selection = new StringBuilder();
+        for (String key : SELECTION) {
+            String value = System.getProperty(key, "").trim();
+            if (!value.isEmpty()) {
+                selection.append(key).append('=').append(value).append('\n');
+            }
+        }
+        return mode + "/" + (selection.isEmpty() ? "all" : String.format("sel-%08x", selection.toString().hashCode()));
+    }
+
+    /** The runs of {@code suite}, oldest first. */
+    public static List<Run> ofSuite(List<Run> runs, String suite) {
+        return runs.stream().filter(r -> r.suite().equals(suite)).toList();
+    }
+
+    /** This run's successful-attempt percentiles per endpoint, from {@link HttpMetrics}. */
+    public static Run currentRun(List<HttpMetrics.Row> rows, String suite) {
+        Map<String, Histogram> ok = new LinkedHashMap<>();
+        for (HttpMetrics.Row r : rows) {
+            if (!r.error()) {
+                ok.computeIfAbsent(r.method() + " " + r.route(), k -> new Histogram(3)).add(r.latency());
+            }
+        }
+        List<Entry> entries = new ArrayList<>();
+        ok.forEach((endpoint, h) -> entries.add(new Entry(endpoint, h.getTotalCount(),
+                micros(h.getValueAtPercentile(50)), micros(h.getValueAtPercentile(95)),
+                micros(h.getValueAtPercentile(99)), micros(h.getMaxValue()))));
+        return new Run(System.currentTimeMillis(), gitRevision(), suite, entries);
+    }
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    /** All runs of {@code env}, oldest first (empty if there is no history yet). */
+    public static List<Run> load(String env) {
+        Path file = file(env);
+        if (!Files.exists(file)) {
+            return new ArrayList<>();
+        }
+        try {
+            return parse(Files.readAllLines(file, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + file, e);
+        }
+    }
+
+    /** Appends {@code run}, prunes old runs and returns the resulting history (oldest first). */
+    public static List<Run> append(String env, Run run) {
+        List<Run> runs = load(env);
+        if (run.entries().isEmpty()) {
+            return runs;
+        }
+        runs.add(run);
+        int max = Math.max(1, Config.intOr("perf.history.maxRuns", 200));
+        if (runs.size() > max) {
+            runs = new ArrayList<>(runs.subList(runs.size() - max, runs.size()));
+        }
+        Path file = file(env);
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.write(file, format(runs), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write " + file, e);
+        }
+        return runs;
+    }
+
+    static List<String> format(List<Run> runs) {
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        for (Run run : runs) {
+            for (Entry e : run.entries()) {
+                lines.add(run.time() + "," + run.rev() + "," + run.suite() + "," + e.endpoint() + "," + e.count() + ","
+                        + e.p50Us() + "," + e.p95Us() + "," + e.p99Us() + "," + e.maxUs());
+            }
+        }
+        return lines;
+    }
+
+    static List<Run> parse(List<String> lines) {
+        // lines of one run are adjacent and share time + rev + suite
+        List<Run> runs = new ArrayList<>();
+        Run current = null;
+        for (String line : lines) {
+            if (line.isBlank() || line.startsWith("time,")) continue;
+            String[] f = line.split(",");
+            if (f.length == 8) { // written before runs were tagged
+                f = new String[]{f[0], f[1], UNTAGGED, f[2], f[3], f[4], f[5], f[6], f[7]};
+            }
+            if (f.length != 9) continue; // tolerate a torn last line
+            long time = Long.parseLong(f[0]);
+            if (current == null || current.time() != time || !current.rev().equals(f[1]) || !current.suite().equals(f[2])) {
+                current = new Run(time, f[1], f[2], new ArrayList<>());
+                runs.add(current);
+            }
+            current.entries().add(new Entry(f[3], Long.parseLong(f[4]), Long.parseLong(f[5]),
+                    Long.parseLong(f[6]), Long.parseLong(f[7]), Long.parseLong(f[8])));
+        }
+        return runs;
+    }
+
+    /**
+     * Short git revision of the working tree: -Dgit.rev, then CI variables, then `git rev-parse`;
+     * "unknown" if none works.
+     */
+    static String gitRevision() {
+        String rev = System.getProperty("git.rev");
+        if (rev == null) rev = System.getenv("GITHUB_SHA");
+        if (rev == null) rev = System.getenv("GIT_COMMIT");
+        if (rev == null) {
+            try {
+                Process p = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").redirectErrorStream(true).start();
+                String out = new String(p.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+                if (p.waitFor(5, TimeUnit.SECONDS) && p.exitValue() == 0 && !out.isEmpty()) {
+                    rev = out;
+                }
+            } catch (IOException e) {
+                // no git on PATH: fall through
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (rev == null) return "unknown";
+        rev = rev.replaceAll("[^A-Za-z0-9._-]", "");
+        return rev.length() > 12 ? rev.substring(0, 12) : rev;
+    }
+}
@@ -0,0 +1,18 @@
+package com.booking.tests.support;
+
+/**
+ * Resource-lock keys for JUnit's parallel mode ({@code @ResourceLock(Locks.X)}).
+ *
+ * Tests that only read a resource use {@code mode = READ}; a READ_WRITE holder runs alone
+ * with respect to every other test that names the same key.
+ */
+public final class Locks {
+    private Locks() {}
+
+    /**
+     * JVM-wide test state: Config, the SpecFactory caches, the shared TokenProvider and RetryFilter's
+     * decision counters. Every BaseTest reads it; tests that swap any of it, or count on nothing else
+     * moving it while they run, take it READ_WRITE.
+     */
+    public static final String GLOBAL_CONFIG = "booking.global-config";
+}
@@ -5,6 +5,8 @@ import io.restassured.response.ValidatableResponse;
 import org.hamcrest.Matcher;
 import org.hamcrest.Matchers;
 
+import java.util.Map;
+
 import static io.restassured.RestAssured.given;
 
 public final class Neg {
@@ -23,8 +25,11 @@ public final class Neg {
                 .then().statusCode(allowed(allowedStatuses));
     }
 
-    public static ValidatableResponse putNoAuthExpecting(Object body, String path, int... allowedStatuses) {
+    /** {@code path} is a template ("/booking/{id}"), so metrics and spans get one route, not one per id. */
+    public static ValidatableResponse putNoAuthExpecting(Object body, String path, Map<String, ?> pathParams,
+                                                         int... allowedStatuses) {
         return given().spec(SpecFactory.requestJson())
+                .pathParams(pathParams)
                 .body(body)
                 .when().put(path)
                 .then().statusCode(allowed(allowedStatuses));
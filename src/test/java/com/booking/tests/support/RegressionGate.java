@@ -0,0 +1,127 @@
+package com.booking.tests.support;
+
+import com.booking.tests.config.Config;
+import io.qameta.allure.model.Status;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Fails the build when the latest run is slower than its rolling baseline ({@code mvn verify -Pperf-gate}).
+ *
+ * For every endpoint of the latest run in {@link LatencyHistory} (same {@code Config.env()}), the
+ * baseline of p95 and p99 is the median over the previous {@code perf.gate.baselineRuns} runs of the
+ * same suite (mode and test selection, see {@link LatencyHistory#suite}) that have the endpoint.
+ * It regresses when the current value is more than {@code perf.gate.maxRegression} (fraction) above
+ * that median AND at least {@code perf.gate.minDeltaMs} slower; endpoints with fewer than
+ * {@code perf.gate.minSamples} requests, or fewer than {@code perf.gate.minBaselineRuns} baseline
+ * runs, are reported but not judged.
+ *
+ * Runs as its own JVM after the tests; exit code 1 on regression. The verdict is printed, written to
+ * {@code metrics.dir}/regression-gate.txt and added to the Allure report.
+ */
+public final class RegressionGate {
+
+    private static final int[] PERCENTILES = {95, 99};
+
+    /** One endpoint + percentile comparison. {@code judged=false}: not enough data to decide. */
+    public record Check(String endpoint, int percentile, long baselineUs, long currentUs, int baselineRuns,
+                        boolean judged, boolean regressed) {
+        double change() {
+            return baselineUs == 0 ? 0 : (double) currentUs / baselineUs - 1;
+        }
+    }
+
+    private RegressionGate() {}
+
+    public static void main(String[] args) {
+        String env = Config.env();
+        List<LatencyHistory.Run> runs = LatencyHistory.load(env);
+        if (runs.isEmpty()) {
+            System.out.println("[perf-gate] No latency history for env '" + env + "' at "
+                    + LatencyHistory.file(env) + "; nothing to compare.");
+            return;
+        }
+        List<Check> checks = evaluate(runs);
+        boolean failed = checks.stream().anyMatch(Check::regressed);
+        String report = report(env, runs.get(runs.size() - 1), checks, failed);
+        System.out.print(report);
+
+        Path dir = Path.of(Config.stringOr("metrics.dir", "target/metrics"));
+        try {
+            Files.createDirectories(dir);
+            Files.writeString(dir.resolve("regression-gate.txt"), report, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write the regression gate report to " + dir, e);
+        }
+        AllureRunSummary.publish("Latency regression gate", failed ? Status.FAILED : Status.PASSED,
+                "text/plain", ".txt", report.getBytes(StandardCharsets.UTF_8));
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    /** Compares the last run of {@code runs} (oldest first) with the ones of its suite before it. */
+    public static List<Check> evaluate(List<LatencyHistory.Run> runs) {
+        runs = LatencyHistory.ofSuite(runs, runs.get(runs.size() - 1).suite());
+        int window = Math.max(1, Config.intOr("perf.gate.baselineRuns", 5));
+        int minBaselineRuns = Math.max(1, Config.intOr("perf.gate.minBaselineRuns", 3));
+        long minSamples = Config.intOr("perf.gate.minSamples", 20);
+        double maxRegression = Config.doubleOr("perf.gate.maxRegression", 0.20);
+        long minDeltaUs = Config.longOr("perf.gate.minDeltaMs", 20) * 1000;
+
+        LatencyHistory.Run current = runs.get(runs.size() - 1);
+        List<Check> checks = new ArrayList<>();
+        for (LatencyHistory.Entry now : current.entries()) {
+            for (int p : PERCENTILES) {
+                long[] past = new long[window];
+                int n = 0;
+                for (int i = runs.size() - 2; i >= 0 && n < window; i--) {
+                    LatencyHistory.Entry then = runs.get(i).entry(now.endpoint());
+                    if (then != null && then.count() >= minSamples) {
+                        past[n++] = then.percentileUs(p);
+                    }
+                }
+                long baseline = median(past, n);
+                boolean judged = n >= minBaselineRuns && now.count() >= minSamples;
+                long currentUs = now.percentileUs(p);
+                boolean regressed = judged
+                        && currentUs > baseline * (1 + maxRegression)
+                        && currentUs - baseline >= minDeltaUs;
+                checks.add(new Check(now.endpoint(), p, baseline, currentUs, n, judged, regressed));
+            }
+        }
+        return checks;
+    }
+
+    private static long median(long[] values, int n) {
+        if (n == 0) return 0;
+        long[] v = Arrays.copyOf(values, n);
+        Arrays.sort(v);
+        return n % 2 == 1 ? v[n / 2] : (v[n / 2 - 1] + v[n / 2]) / 2;
+    }
+
+    static String report(String env, LatencyHistory.Run current, List<Check> checks, boolean failed) {
+        var sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "[perf-gate] env=%s rev=%s suite=%s: %s (max +%.0f%% and >= %d ms over the median of the last %d runs)%n",
+                env, current.rev(), current.suite(), failed ? "REGRESSION" : "ok",
+                Config.doubleOr("perf.gate.maxRegression", 0.20) * 100, Config.longOr("perf.gate.minDeltaMs", 20),
+                Config.intOr("perf.gate.baselineRuns", 5)));
+        sb.append(String.format(Locale.ROOT, "%-28s %4s %12s %12s %8s %5s  %s%n",
+                "endpoint", "pct", "baseline ms", "current ms", "change", "runs", "verdict"));
+        for (Check c : checks) {
+            sb.append(String.format(Locale.ROOT, "%-28s %4s %12.1f %12.1f %+7.0f%% %5d  %s%n",
+                    c.endpoint(), "p" + c.percentile(), c.baselineUs() / 1000.0, c.currentUs() / 1000.0,
+                    c.change() * 100, c.baselineRuns(),
+                    c.regressed() ? "REGRESSED" : c.judged() ? "ok" : "not judged (too little data)"));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,196 @@
+package com.booking.tests.support;
+
+import com.booking.tests.core.Json;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.LogLevel;
+import com.github.fge.jsonschema.core.report.ProcessingMessage;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeMatcher;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Every JSON schema under src/test/resources/schemas, loaded and compiled once.
+ *
+ * Schemas are keyed by classpath path (the constants in {@link Schemas}, e.g. "schemas/booking.schema.json")
+ * and compiled from their classpath URI, so relative "$ref"s between files resolve as before.
+ * Compiled schemas are immutable and shared by all threads.
+ *
+ * Validate from the response bytes (one Jackson parse) or from a tree you already have (no parse):
+ * <pre>
+ *   SchemaRegistry.validate(Schemas.BOOK, response.asByteArray()).assertValid();
+ * </pre>
+ */
+public final class SchemaRegistry {
+
+    private static final String DIR = "schemas";
+
+    /** One schema violation: where in the document, which keyword failed, and the validator's message. */
+    public record Violation(String pointer, String keyword, String message) {
+        @Override
+        public String toString() {
+            return (pointer.isEmpty() ? "/" : pointer) + ": " + message + " [" + keyword + "]";
+        }
+    }
+
+    /** Outcome of one validation; {@link #valid()} when there are no violations. */
+    public record Result(String schema, List<Violation> violations) {
+        public boolean valid() {
+            return violations.isEmpty();
+        }
+
+        public Result assertValid() {
+            if (!valid()) {
+                throw new AssertionError("Response does not match " + schema + ":\n  "
+                        + String.join("\n  ", violations.stream().map(Violation::toString).toList()));
+            }
+            return this;
+        }
+    }
+
+    private static final Map<String, JsonSchema> SCHEMAS = loadAll();
+
+    private SchemaRegistry() {}
+
+    /** Names of all compiled schemas (classpath paths). */
+    public static List<String> names() {
+        return List.copyOf(SCHEMAS.keySet());
+    }
+
+    public static Result validate(String schema, byte[] json) {
+        try {
+            return validate(schema, Json.mapper().readTree(json));
+        } catch (IOException e) {
+            return notJson(schema, e);
+        }
+    }
+
+    public static Result validate(String schema, String json) {
+        try {
+            return validate(schema, Json.mapper().readTree(json));
+        } catch (IOException e) {
+            return notJson(schema, e);
+        }
+    }
+
+    public static Result validate(String schema, JsonNode json) {
+        ProcessingReport report = compiled(schema).validateUnchecked(json, true);
+        if (report.isSuccess()) {
+            return new Result(schema, List.of());
+        }
+        List<Violation> violations = new ArrayList<>();
+        collect(report, violations);
+        return new Result(schema, Collections.unmodifiableList(violations));
+    }
+
+    private static Result notJson(String schema, IOException e) {
+        String reason = e instanceof JsonProcessingException jpe ? jpe.getOriginalMessage() : e.getMessage();
+        return new Result(schema, List.of(new Violation("", "json", "not valid JSON: " + reason)));
+    }
+
+    /**
+     * Hamcrest matcher for {@code .body(...)} in Rest Assured chains (what {@link Schemas} returns).
+     * Same contract as matchesJsonSchemaInClasspath, but backed by the precompiled schema and
+     * listing every violation in the failure message.
+     */
+    public static Matcher<String> matcher(String schema) {
+        compiled(schema); // fail fast on an unknown name
+        return new TypeSafeMatcher<>() {
+            @Override
+            protected boolean matchesSafely(String body) {
+                return validate(schema, body).valid();
+            }
+
+            @Override
+            public void describeTo(Description description) {
+                description.appendText("JSON matching schema ").appendValue(schema);
+            }
+
+            @Override
+            protected void describeMismatchSafely(String body, Description mismatch) {
+                mismatch.appendText("violations: ").appendValueList("[", ", ", "]", validate(schema, body).violations());
+            }
+        };
+    }
+
+    private static JsonSchema compiled(String schema) {
+        JsonSchema compiled = SCHEMAS.get(schema);
+        if (compiled == null) {
+            throw new IllegalArgumentException("Unknown schema '" + schema + "'; known: " + SCHEMAS.keySet());
+        }
+        return compiled;
+    }
+
+    private static void collect(Iterable<ProcessingMessage> messages, List<Violation> out) {
+        for (ProcessingMessage m : messages) {
+            if (m.getLogLevel().compareTo(LogLevel.ERROR) < 0) {
+                continue; // warnings (e.g. unsupported keywords) are not violations
+            }
+            JsonNode node = m.asJson();
+            out.add(new Violation(node.path("instance").path("pointer").asText(""),
+                    node.path("keyword").asText(""), node.path("message").asText(m.getMessage())));
+            // Keywords such as anyOf/oneOf nest the reports of their branches under "reports".
+            node.path("reports").forEach(branch -> branch.forEach(nested -> out.add(new Violation(
+                    nested.path("instance").path("pointer").asText(""),
+                    nested.path("keyword").asText(""), nested.path("message").asText("")))));
+        }
+    }
+
+    private static Map<String, JsonSchema> loadAll() {
+        URL dir = Thread.currentThread().getContextClassLoader().getResource(DIR);
+        if (dir == null) {
+            return Map.of();
+        }
+        JsonSchemaFactory factory = JsonSchemaFactory.byDefault();
+        Map<String, JsonSchema> schemas = new TreeMap<>();
+        try {
+            URI uri = dir.toURI();
+            if ("jar".equals(uri.getScheme())) {
+                try (FileSystem fs = FileSystems.newFileSystem(uri, Map.of())) {
+                    compileAll(factory, fs.getPath(DIR), schemas);
+                }
+            } else {
+                compileAll(factory, Path.of(uri), schemas);
+            }
+        } catch (URISyntaxException | IOException e) {
+            throw new IllegalStateException("Cannot list schemas under classpath:" + DIR, e);
+        }
+        return Collections.unmodifiableMap(schemas);
+    }
+
+    private static void compileAll(JsonSchemaFactory factory, Path dir, Map<String, JsonSchema> out) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : files.filter(f -> f.getFileName().toString().endsWith(".json")).toList()) {
+                String name = DIR + "/" + file.getFileName();
+                URL url = Thread.currentThread().getContextClassLoader().getResource(name);
+                try {
+                    JsonSchema schema = factory.getJsonSchema(url.toURI().toString());
+                    // The factory builds validators lazily; one throwaway run builds and caches them now.
+                    schema.validateUnchecked(Json.mapper().createObjectNode(), true);
+                    out.put(name, schema);
+                } catch (ProcessingException | URISyntaxException e) {
+                    throw new IllegalStateException("Cannot compile schema " + name, e);
+                }
+            }
+        }
+    }
+}
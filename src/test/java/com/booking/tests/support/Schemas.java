@@ -1,14 +1,17 @@
 package com.booking.tests.support;
 
-import static io.restassured.module.jsv.JsonSchemaValidator.matchesJsonSchemaInClasspath;
-
+/**
+ * Schema names + Hamcrest matchers for {@code .body(Schemas.booking())}.
+ * Matchers are backed by {@link SchemaRegistry}: schemas are compiled once and shared,
+ * so a contract check no longer re-reads and re-compiles the file on every call.
+ */
 public final class Schemas {
     private Schemas(){}
     public static final String AUTH  = "schemas/auth.schema.json";
     public static final String BOOK  = "schemas/booking.schema.json";
     public static final String CREATE_RESP = "schemas/create-booking-response.schema.json";
 
-    public static org.hamcrest.Matcher<?> auth(){ return matchesJsonSchemaInClasspath(AUTH); }
-    public static org.hamcrest.Matcher<?> booking(){ return matchesJsonSchemaInClasspath(BOOK); }
-    public static org.hamcrest.Matcher<?> createResp(){ return matchesJsonSchemaInClasspath(CREATE_RESP); }
+    public static org.hamcrest.Matcher<?> auth(){ return SchemaRegistry.matcher(AUTH); }
+    public static org.hamcrest.Matcher<?> booking(){ return SchemaRegistry.matcher(BOOK); }
+    public static org.hamcrest.Matcher<?> createResp(){ return SchemaRegistry.matcher(CREATE_RESP); }
 }
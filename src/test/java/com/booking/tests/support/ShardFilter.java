@@ -0,0 +1,61 @@
+package com.booking.tests.support;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+
+/**
+ * Keeps only the units of this JVM's shard ({@code -Dshard=i/N}, see {@link Sharding}); without
+ * a shard setting everything is included. Registered through
+ * META-INF/services/org.junit.platform.launcher.PostDiscoveryFilter, so it applies to Surefire
+ * and to {@link ShardRunner} forks alike.
+ *
+ * The split depends only on the duration history (as it was when this JVM started; shards never
+ * write it, {@link ShardMerger} does) and the unit names, never on what a discovery pass happens
+ * to contain: Surefire discovers more than once, with different selectors, and every pass in
+ * every shard must agree. Units in the history are bin-packed; a unit without history yet goes
+ * to the shard its name hashes to, until its first duration is recorded.
+ * Containers that lose all their children are pruned by the launcher.
+ */
+public class ShardFilter implements PostDiscoveryFilter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ShardFilter.class);
+
+    private final Sharding.Shard shard = Sharding.current();
+    private Map<String, Integer> plan;
+
+    @Override
+    public synchronized FilterResult apply(TestDescriptor descriptor) {
+        if (shard == null) {
+            return FilterResult.included("not sharded");
+        }
+        String unit = Sharding.unitOf(descriptor.getUniqueId(), descriptor.isTest());
+        if (unit == null) {
+            return FilterResult.included("container of units");
+        }
+        if (plan == null) {
+            plan = plan();
+        }
+        Integer planned = plan.get(unit);
+        int bin = planned != null ? planned : Math.floorMod(unit.hashCode(), shard.total());
+        return bin == shard.index() - 1
+                ? FilterResult.included("shard " + shard)
+                : FilterResult.excluded("runs in shard " + (bin + 1) + "/" + shard.total());
+    }
+
+    private Map<String, Integer> plan() {
+        Map<String, Long> history = DurationHistory.load();
+        long[] load = new long[shard.total()];
+        Map<String, Integer> bins = Sharding.assign(history, load);
+        long total = 0;
+        for (long l : load) total += l;
+        long mine = bins.values().stream().filter(b -> b == shard.index() - 1).count();
+        LOG.info("Shard {}: {} of {} unit(s) with history, ~{} of ~{} s ({}); new units by name",
+                shard, mine, bins.size(), load[shard.index() - 1] / 1000, total / 1000, DurationHistory.file());
+        return bins;
+    }
+}
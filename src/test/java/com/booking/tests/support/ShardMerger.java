@@ -0,0 +1,140 @@
+package com.booking.tests.support;
+
+import com.booking.tests.config.Config;
+import com.booking.tests.core.HttpMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Combines the results of the shards of one run ({@code mvn verify -Pshard-merge}, or called by
+ * {@link ShardRunner}). Expects one directory per shard under {@code sharding.dir}
+ * (default target/shards), each with what a shard leaves behind:
+ * <pre>
+ *   &lt;sharding.dir&gt;/1/allure-results/...    (allure.results.directory of shard 1)
+ *   &lt;sharding.dir&gt;/1/metrics/http.json     (metrics.dir of shard 1)
+ *   &lt;sharding.dir&gt;/1/metrics/durations.csv
+ *   &lt;sharding.dir&gt;/2/...
+ * </pre>
+ * On CI, download each node's allure-results and target/metrics into that layout first.
+ *
+ * - Allure: every shard's result files are copied into one allure-results directory.
+ * - HTTP metrics: counters are summed and latency histograms merged per endpoint, then written
+ *   to {@code metrics.dir} like a single run (http.prom, http.json), appended to the latency history
+ *   (as a "+shards" suite of its own) and published to Allure - what an unsharded run does at its end.
+ * - Durations: folded into {@link DurationHistory} for the next split; the per-shard totals go to
+ *   {@code metrics.dir}/shards.txt and the Allure report ("Shard balance").
+ */
+public final class ShardMerger {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ShardMerger.class);
+
+    private ShardMerger() {}
+
+    public static void main(String[] args) {
+        merge(dir(), Map.of());
+    }
+
+    static Path dir() {
+        return Path.of(Config.stringOr("sharding.dir", "target/shards"));
+    }
+
+    /**
+     * Merges every shard directory under {@code dir}.
+     *
+     * @param wallMs wall-clock time per shard directory name, when known (ShardRunner), for the balance report
+     */
+    static void merge(Path dir, Map<String, Long> wallMs) {
+        List<Path> shards = shardDirs(dir);
+        if (shards.isEmpty()) {
+            LOG.warn("No shard results under {}; nothing to merge", dir);
+            return;
+        }
+        Path allure = Path.of(System.getProperty("allure.results.directory", "allure-results"));
+        Path metrics = Path.of(Config.stringOr("metrics.dir", "target/metrics"));
+
+        List<List<HttpMetrics.Row>> runs = new ArrayList<>();
+        Map<String, Long> durations = new TreeMap<>();
+        var balance = new StringBuilder(String.format(Locale.ROOT, "%-8s %6s %10s %10s%n", "shard", "units", "units s", "wall s"));
+        int files = 0;
+        for (Path shard : shards) {
+            files += copyTree(shard.resolve("allure-results"), allure);
+            Path json = shard.resolve("metrics").resolve("http.json");
+            if (Files.exists(json)) {
+                runs.add(HttpMetrics.readJson(json));
+            }
+            Map<String, Long> measured = DurationHistory.read(shard.resolve("metrics").resolve("durations.csv"));
+            durations.putAll(measured);
+            long unitsMs = measured.values().stream().mapToLong(Long::longValue).sum();
+            Long wall = wallMs.get(shard.getFileName().toString());
+            balance.append(String.format(Locale.ROOT, "%-8s %6d %10.1f %10s%n", shard.getFileName(), measured.size(),
+                    unitsMs / 1000.0, wall == null ? "-" : String.format(Locale.ROOT, "%.1f", wall / 1000.0)));
+        }
+        LOG.info("Merged {} Allure result file(s) of {} shard(s) into {}", files, shards.size(), allure);
+
+        List<HttpMetrics.Row> rows = HttpMetrics.merge(runs);
+        String latency = HttpMetrics.writeReports(rows);
+        if (latency != null) {
+            LOG.info("HTTP latency by endpoint, all shards:\n{}", latency);
+            AllureRunSummary.publish("HTTP latency by endpoint", latency);
+            SuiteLifecycle.recordHistory(rows, LatencyHistory.suite("+shards"));
+        }
+
+        DurationHistory.writeRun(metrics.resolve("durations.csv"), durations);
+        DurationHistory.fold(durations);
+        try {
+            Files.createDirectories(metrics);
+            Files.writeString(metrics.resolve("shards.txt"), balance, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write the shard balance to " + metrics, e);
+        }
+        LOG.info("Shard balance (durations of {} unit(s) folded into {}):\n{}", durations.size(),
+                DurationHistory.file(), balance);
+        AllureRunSummary.publish("Shard balance", balance.toString());
+    }
+
+    private static List<Path> shardDirs(Path dir) {
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> children = Files.list(dir)) {
+            return children.filter(Files::isDirectory)
+                    .sorted(Comparator.comparing((Path p) -> p.getFileName().toString().length())
+                            .thenComparing(p -> p.getFileName().toString())) // 2 before 10
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list " + dir, e);
+        }
+    }
+
+    private static int copyTree(Path from, Path to) {
+        if (!Files.isDirectory(from)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.walk(from)) {
+            int n = 0;
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                Path target = to.resolve(from.relativize(file).toString());
+                Files.createDirectories(target.getParent());
+                Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING);
+                n++;
+            }
+            return n;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot copy " + from + " to " + to, e);
+        }
+    }
+}
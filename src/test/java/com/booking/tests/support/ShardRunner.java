@@ -0,0 +1,143 @@
+package com.booking.tests.support;
+
+import com.booking.tests.builders.TestDataPool;
+import com.booking.tests.config.Config;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.junit.platform.engine.discovery.ClassNameFilter.includeClassNamePatterns;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectPackage;
+
+/**
+ * Runs the suite as N shards in N JVMs on this machine, then merges their results
+ * ({@code mvn verify -Pshards}, {@code -Dsharding.forks=4}): the local stand-in for N CI nodes
+ * each running {@code mvn test -Dshard=i/N}.
+ *
+ * Each fork is this class with {@code --fork}: a JUnit Platform launcher over
+ * {@code sharding.package} / {@code sharding.classes} with {@code -Dshard=i/N} and its own output
+ * directories under {@code sharding.dir}/&lt;i&gt; (allure-results, metrics, traces, load), its
+ * console output in output.log there. -D options given to this JVM are passed on to every fork.
+ * Once all forks have ended, {@link ShardMerger} combines what they wrote. The exit code is
+ * non-zero when any fork failed.
+ */
+public final class ShardRunner {
+
+    private static final Set<String> PER_FORK = Set.of("shard", "metrics.dir", "allure.results.directory",
+            "tracing.file", "load.reportDir", "testdata.runTag");
+
+    private ShardRunner() {}
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--fork")) {
+            System.exit(fork());
+        }
+        int forks = Math.max(1, Config.intOr("sharding.forks", 2));
+        Path dir = ShardMerger.dir();
+        deleteTree(dir); // a smaller fork count must not leave old shards behind for the merge
+        // generated once here, not by every fork at the same time; the forks tag names with this
+        // run's tag plus their shard, so no two of them hand out the same name
+        String runTag = TestDataPool.shared().runTag();
+
+        List<String> inherited = new ArrayList<>();
+        for (String arg : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            int eq = arg.indexOf('=');
+            if (arg.startsWith("-D") && !PER_FORK.contains(eq < 0 ? arg.substring(2) : arg.substring(2, eq))) {
+                inherited.add(arg);
+            }
+        }
+
+        Map<String, Process> running = new LinkedHashMap<>();
+        Map<String, CompletableFuture<Long>> ended = new LinkedHashMap<>();
+        long start = System.nanoTime();
+        for (int i = 1; i <= forks; i++) {
+            Path out = dir.resolve(Integer.toString(i)).toAbsolutePath();
+            Files.createDirectories(out);
+            List<String> cmd = new ArrayList<>(List.of(
+                    Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                    "-cp", System.getProperty("java.class.path"),
+                    "-Dfile.encoding=UTF-8",
+                    "-Djunit.jupiter.extensions.autodetection.enabled=true"));
+            cmd.addAll(inherited);
+            cmd.addAll(List.of(
+                    "-Dshard=" + i + "/" + forks,
+                    "-Dmetrics.dir=" + out.resolve("metrics"),
+                    "-Dallure.results.directory=" + out.resolve("allure-results"),
+                    "-Dtracing.file=" + out.resolve("traces").resolve("spans.otlp.json"),
+                    "-Dload.reportDir=" + out.resolve("load"),
+                    "-Dtestdata.runTag=" + (runTag.isEmpty() ? "none" : runTag + "s" + i),
+                    ShardRunner.class.getName(), "--fork"));
+            String name = Integer.toString(i);
+            Process p = new ProcessBuilder(cmd)
+                    .redirectErrorStream(true)
+                    .redirectOutput(out.resolve("output.log").toFile())
+                    .start();
+            running.put(name, p);
+            ended.put(name, p.onExit().thenApply(done -> (System.nanoTime() - start) / 1_000_000));
+        }
+        System.out.println("[shards] started " + forks + " fork(s); output in " + dir + "/<i>/output.log");
+
+        Map<String, Long> wallMs = new LinkedHashMap<>();
+        int worst = 0;
+        for (var e : running.entrySet()) {
+            int exit = e.getValue().waitFor();
+            wallMs.put(e.getKey(), ended.get(e.getKey()).join());
+            worst = Math.max(worst, exit);
+            System.out.println("[shards] shard " + e.getKey() + "/" + forks + " exited with " + exit
+                    + (exit == 0 ? "" : " (see " + dir.resolve(e.getKey()).resolve("output.log") + ")"));
+        }
+        System.out.printf("[shards] all forks done in %.1f s%n", (System.nanoTime() - start) / 1e9);
+
+        ShardMerger.merge(dir, wallMs);
+        System.exit(worst);
+    }
+
+    /** One shard, in this JVM: the same engines and listeners as under Surefire. */
+    private static int fork() {
+        LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request()
+                .selectors(selectPackage(Config.stringOr("sharding.package", "com.booking.tests")))
+                .filters(includeClassNamePatterns(Config.stringListOr("sharding.classes", List.of(".*Test"))
+                        .toArray(String[]::new)))
+                .build();
+        SummaryGeneratingListener listener = new SummaryGeneratingListener();
+        try (LauncherSession session = LauncherFactory.openSession()) {
+            session.getLauncher().execute(request, listener);
+        }
+        TestExecutionSummary summary = listener.getSummary();
+        PrintWriter out = new PrintWriter(System.out, true);
+        summary.printTo(out);
+        summary.printFailuresTo(out, 20);
+        return summary.getTotalFailureCount() == 0 ? 0 : 1;
+    }
+
+    private static void deleteTree(Path dir) {
+        if (!Files.exists(dir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(p);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot clear " + dir, e);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.booking.tests.support;
+
+import com.booking.tests.config.Config;
+import org.junit.platform.engine.UniqueId;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits the suite into N shards that run in separate JVMs (forks on one machine, or CI nodes),
+ * selected with {@code -Dshard=i/N} (1-based: 1/4 .. 4/4).
+ *
+ * The unit of scheduling is a JUnit class (with its nested classes) or a single Cucumber
+ * scenario / outline row: small enough to balance well, large enough that ordered classes and
+ * their @BeforeAll stay together. Units are bin-packed by their recorded duration
+ * ({@link DurationHistory}) with LPT - longest first, each onto the shard with the least work so
+ * far - which is deterministic, so every shard computes the same split from the same history and
+ * each unit runs exactly once. A unit not in the history yet goes by the hash of its name.
+ *
+ * Used by {@link ShardFilter} (discovery) and {@link DurationRecorder} (execution).
+ */
+public final class Sharding {
+
+    /** Shard {@code index} (1-based) of {@code total}. */
+    public record Shard(int index, int total) {
+        public Shard {
+            if (total < 1 || index < 1 || index > total) {
+                throw new IllegalArgumentException("Bad shard " + index + "/" + total + ": expected i/N with 1 <= i <= N");
+            }
+        }
+
+        public static Shard parse(String spec) {
+            int slash = spec.indexOf('/');
+            try {
+                return new Shard(Integer.parseInt(spec.substring(0, slash).trim()),
+                        Integer.parseInt(spec.substring(slash + 1).trim()));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Bad shard '" + spec + "': expected i/N, e.g. 2/4", e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return index + "/" + total;
+        }
+    }
+
+    private static final String CUCUMBER = "cucumber";
+    private static final String SUITE = "junit-platform-suite";
+
+    private Sharding() {}
+
+    /** The shard this JVM runs ({@code shard} setting), or null when the whole suite runs here. */
+    public static Shard current() {
+        String spec = Config.stringOr("shard", "").trim();
+        if (spec.isEmpty()) {
+            return null;
+        }
+        Shard shard = Shard.parse(spec);
+        return shard.total() == 1 ? null : shard;
+    }
+
+    /**
+     * The scheduling unit {@code id} belongs to, or null for descriptors above the units (engines,
+     * suites, features, outlines): those run wherever one of their children runs.
+     *
+     * Below the innermost engine of the id: Cucumber tests are units on their own
+     * ("classpath:features/x.feature:20"), for every other engine it is the top-level container
+     * (the class name for Jupiter). A @Suite only wraps another engine and is never a unit.
+     */
+    public static String unitOf(UniqueId id, boolean isTest) {
+        List<UniqueId.Segment> segments = id.getSegments();
+        int engine = innermostEngine(segments);
+        String engineId = segments.get(engine).getValue();
+        if (engine + 1 >= segments.size() || engineId.equals(SUITE)) {
+            return null;
+        }
+        if (engineId.equals(CUCUMBER)) {
+            return isTest ? segments.get(engine + 1).getValue() + ":" + segments.get(segments.size() - 1).getValue() : null;
+        }
+        return segments.get(engine + 1).getValue();
+    }
+
+    /** True for the descriptor that is the unit itself (Jupiter class, Cucumber test), not one below it. */
+    public static boolean isUnit(UniqueId id, boolean isTest) {
+        List<UniqueId.Segment> segments = id.getSegments();
+        int engine = innermostEngine(segments);
+        return unitOf(id, isTest) != null
+                && (segments.get(engine).getValue().equals(CUCUMBER) || segments.size() == engine + 2);
+    }
+
+    private static int innermostEngine(List<UniqueId.Segment> segments) {
+        for (int i = segments.size() - 1; i > 0; i--) {
+            if (segments.get(i).getType().equals("engine")) return i;
+        }
+        return 0;
+    }
+
+    /**
+     * LPT assignment of the units in {@code durationsMs} to {@code load.length} bins (0-based).
+     *
+     * @param load per-bin total of the assigned durations, filled in
+     */
+    public static Map<String, Integer> assign(Map<String, Long> durationsMs, long[] load) {
+        List<String> order = new ArrayList<>(durationsMs.keySet());
+        // longest first; equal durations by name so every JVM sorts the same way
+        order.sort((a, b) -> {
+            int byDuration = Long.compare(durationsMs.get(b), durationsMs.get(a));
+            return byDuration != 0 ? byDuration : a.compareTo(b);
+        });
+
+        Arrays.fill(load, 0);
+        Map<String, Integer> bins = new HashMap<>();
+        for (String unit : order) {
+            int lightest = 0;
+            for (int b = 1; b < load.length; b++) {
+                if (load[b] < load[lightest]) lightest = b;
+            }
+            bins.put(unit, lightest);
+            load[lightest] += Math.max(1, durationsMs.get(unit));
+        }
+        return bins;
+    }
+}
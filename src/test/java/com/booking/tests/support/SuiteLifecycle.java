@@ -0,0 +1,99 @@
+package com.booking.tests.support;
+
+import com.booking.tests.builders.TestDataPool;
+import com.booking.tests.config.Config;
+import com.booking.tests.core.FailureLog;
+import com.booking.tests.core.HttpConnectionPool;
+import com.booking.tests.core.HttpMetrics;
+import com.booking.tests.core.InProcessTransport;
+import com.booking.tests.core.ResourceRegistry;
+import com.booking.tests.core.RetryFilter;
+import com.booking.tests.core.TokenProvider;
+import com.booking.tests.core.Tracer;
+import com.booking.tests.stub.BookingEmulator;
+import io.qameta.allure.model.Status;
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.LauncherSessionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Run-level hooks: called once before the first test and once after the last one,
+ * for every engine on the JUnit Platform (Jupiter and Cucumber alike).
+ * Registered through META-INF/services/org.junit.platform.launcher.LauncherSessionListener.
+ */
+public class SuiteLifecycle implements LauncherSessionListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SuiteLifecycle.class);
+
+    @Override
+    public void launcherSessionOpened(LauncherSession session) {
+        LOG.debug("Compiled JSON schemas: {}", SchemaRegistry.names());
+        BookingEmulator emulator = BookingEmulator.startIfEnabled(); // env = "stub": before anything reads baseUrl
+        TestDataPool pool = TestDataPool.shared(); // generated/mapped here, not inside a test
+        LOG.debug("Test-data pool: {} bookings, seed {}, run tag '{}'", pool.size(), pool.seed(), pool.runTag());
+        int prewarm = Config.intOr("http.pool.prewarm", 0);
+        if (prewarm > 0 && HttpConnectionPool.enabled() && InProcessTransport.installed() == null) {
+            int opened = HttpConnectionPool.shared().prewarm(Config.baseUrl(), prewarm);
+            LOG.info("Pre-warmed {}/{} connections to {}", opened, prewarm, Config.baseUrl());
+        }
+        CreatedBookings.sweepStale(emulator == null); // bookings a crashed earlier run never deleted
+    }
+
+    @Override
+    public void launcherSessionClosed(LauncherSession session) {
+        LOG.info("Retry decisions: {}", RetryFilter.decisions());
+        FailureLog.flush();
+        Path traces = Tracer.export();
+        if (traces != null) {
+            LOG.info("Trace spans written to {} ({} dropped)", traces, Tracer.dropped());
+        }
+        List<HttpMetrics.Row> rows = HttpMetrics.rows();
+        String latency = HttpMetrics.writeReports(rows);
+        if (latency != null) {
+            LOG.info("HTTP latency by endpoint:\n{}", latency);
+            if (Sharding.current() == null) { // a shard's share is published by ShardMerger, over all shards
+                AllureRunSummary.publish("HTTP latency by endpoint", latency);
+                recordHistory(rows, LatencyHistory.suite(""));
+            }
+        }
+        // after the reports, so cleanup traffic does not show up in this run's latencies
+        CreatedBookings.deleteRecorded();
+        ResourceRegistry.closeShared();
+        TokenProvider.resetShared();
+        if (HttpConnectionPool.isStarted()) {
+            LOG.info("HTTP pool: {}", HttpConnectionPool.shared().stats());
+            HttpConnectionPool.closeShared();
+        }
+        BookingEmulator.stopShared();
+    }
+
+    /**
+     * Appends this run's percentiles to the latency history, tagged with {@code suite}, and
+     * publishes the p95 trend chart of that suite's runs.
+     */
+    static void recordHistory(List<HttpMetrics.Row> rows, String suite) {
+        if (!LatencyHistory.enabled()) {
+            return;
+        }
+        List<LatencyHistory.Run> runs = LatencyHistory.ofSuite(
+                LatencyHistory.append(Config.env(), LatencyHistory.currentRun(rows, suite)), suite);
+        LOG.info("Latency history: run recorded as suite '{}' ({} run(s) of it)", suite, runs.size());
+        byte[] svg = TrendChart.svg(runs, 95, Config.intOr("perf.history.chartRuns", 30))
+                .getBytes(StandardCharsets.UTF_8);
+        Path dir = Path.of(Config.stringOr("metrics.dir", "target/metrics"));
+        try {
+            Files.createDirectories(dir);
+            Files.write(dir.resolve("latency-trend.svg"), svg);
+        } catch (IOException e) {
+            LOG.warn("Cannot write the latency trend chart to {}", dir, e);
+        }
+        AllureRunSummary.publish("Latency trend (p95)", Status.PASSED, "image/svg+xml", ".svg", svg);
+    }
+}
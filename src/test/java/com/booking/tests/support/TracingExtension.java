@@ -0,0 +1,91 @@
+package com.booking.tests.support;
+
+import com.booking.tests.core.Span;
+import com.booking.tests.core.Tracer;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.InvocationInterceptor;
+import org.junit.jupiter.api.extension.ReflectiveInvocationContext;
+
+import java.lang.reflect.Method;
+
+/**
+ * One trace per test class: a span for the class with a child span per test and per
+ * @BeforeAll/@AfterAll method, which in turn parents the client steps and HTTP calls made there.
+ * Registered on {@link BaseTest}; the spans are written at the end of the run (see core/Tracer).
+ *
+ * The class span is never entered: in parallel mode its callbacks may run on a pool thread that
+ * goes on to run other classes, where it would stay current. Its children take it from the class
+ * context instead, and are entered and closed on the thread that runs them.
+ */
+public class TracingExtension
+        implements BeforeAllCallback, AfterAllCallback, BeforeEachCallback, AfterEachCallback, InvocationInterceptor {
+
+    private static final ExtensionContext.Namespace NS = ExtensionContext.Namespace.create(TracingExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        Span span = Tracer.start(context.getDisplayName(), Span.Kind.INTERNAL, null)
+                .attribute("test.class", context.getRequiredTestClass().getName());
+        context.getStore(NS).put("span", span);
+    }
+
+    @Override
+    public void interceptBeforeAllMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> method,
+                                         ExtensionContext context) throws Throwable {
+        traced(invocation, method, context);
+    }
+
+    @Override
+    public void interceptAfterAllMethod(Invocation<Void> invocation, ReflectiveInvocationContext<Method> method,
+                                        ExtensionContext context) throws Throwable {
+        traced(invocation, method, context);
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        Span parent = context.getParent().map(p -> p.getStore(NS).get("span", Span.class)).orElse(null);
+        Span span = Tracer.start(context.getDisplayName(), Span.Kind.INTERNAL, parent)
+                .attribute("test.class", context.getRequiredTestClass().getName())
+                .attribute("test.method", context.getRequiredTestMethod().getName())
+                .enter();
+        context.getStore(NS).put("span", span);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        close(context);
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) {
+        close(context);
+    }
+
+    private static void traced(Invocation<Void> invocation, ReflectiveInvocationContext<Method> method,
+                               ExtensionContext context) throws Throwable {
+        Span span = Tracer.start(method.getExecutable().getName(), Span.Kind.INTERNAL,
+                        context.getStore(NS).get("span", Span.class))
+                .attribute("test.class", context.getRequiredTestClass().getName())
+                .enter();
+        try {
+            invocation.proceed();
+        } catch (Throwable t) {
+            span.error(t);
+            throw t;
+        } finally {
+            span.close();
+        }
+    }
+
+    private static void close(ExtensionContext context) {
+        Span span = context.getStore(NS).remove("span", Span.class);
+        if (span != null) {
+            context.getExecutionException().ifPresent(span::error);
+            span.close();
+        }
+    }
+}
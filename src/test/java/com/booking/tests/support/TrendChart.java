@@ -0,0 +1,103 @@
+package com.booking.tests.support;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Renders a latency trend from {@link LatencyHistory} as a self-contained SVG line chart:
+ * one line per endpoint, one point per run (x), the chosen percentile in ms (y).
+ * No charting library - the output is a few KB of markup that Allure shows inline.
+ */
+final class TrendChart {
+
+    private static final String[] COLORS = {"#1f77b4", "#ff7f0e", "#2ca02c", "#d62728", "#9467bd",
+            "#8c564b", "#e377c2", "#7f7f7f", "#bcbd22", "#17becf"};
+    private static final int W = 900, H = 360, LEFT = 60, RIGHT = 230, TOP = 30, BOTTOM = 40;
+
+    private TrendChart() {}
+
+    static String svg(List<LatencyHistory.Run> runs, int percentile, int lastRuns) {
+        List<LatencyHistory.Run> shown = runs.subList(Math.max(0, runs.size() - lastRuns), runs.size());
+        Set<String> endpoints = new LinkedHashSet<>();
+        long maxUs = 1;
+        for (LatencyHistory.Run run : shown) {
+            for (LatencyHistory.Entry e : run.entries()) {
+                endpoints.add(e.endpoint());
+                maxUs = Math.max(maxUs, e.percentileUs(percentile));
+            }
+        }
+        double maxMs = niceCeiling(maxUs / 1000.0);
+        int plotW = W - LEFT - RIGHT, plotH = H - TOP - BOTTOM;
+
+        var sb = new StringBuilder(4096);
+        sb.append(String.format(Locale.ROOT,
+                "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%d\" height=\"%d\" font-family=\"sans-serif\" font-size=\"11\">%n", W, H));
+        sb.append("<rect width=\"100%\" height=\"100%\" fill=\"white\"/>\n");
+        sb.append(String.format(Locale.ROOT, "<text x=\"%d\" y=\"18\" font-size=\"13\">p%d latency per run (ms), last %d runs</text>%n",
+                LEFT, percentile, shown.size()));
+        // y grid: 5 steps
+        for (int i = 0; i <= 5; i++) {
+            double ms = maxMs * i / 5;
+            double y = TOP + plotH - plotH * i / 5.0;
+            sb.append(String.format(Locale.ROOT, "<line x1=\"%d\" y1=\"%.1f\" x2=\"%d\" y2=\"%.1f\" stroke=\"#ddd\"/>"
+                    + "<text x=\"%d\" y=\"%.1f\" text-anchor=\"end\">%s</text>%n",
+                    LEFT, y, LEFT + plotW, y, LEFT - 6, y + 4, fmt(ms)));
+        }
+        // x labels: revision of the first, middle and last run
+        int n = shown.size();
+        for (int i : n == 1 ? new int[]{0} : new int[]{0, n / 2, n - 1}) {
+            sb.append(String.format(Locale.ROOT, "<text x=\"%.1f\" y=\"%d\" text-anchor=\"middle\">%s</text>%n",
+                    x(i, n, plotW), H - BOTTOM + 16, escape(shown.get(i).rev())));
+        }
+        int c = 0;
+        for (String endpoint : endpoints) {
+            String color = COLORS[c % COLORS.length];
+            List<String> points = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                LatencyHistory.Entry e = shown.get(i).entry(endpoint);
+                if (e != null) {
+                    double y = TOP + plotH - plotH * (e.percentileUs(percentile) / 1000.0) / maxMs;
+                    points.add(String.format(Locale.ROOT, "%.1f,%.1f", x(i, n, plotW), y));
+                }
+            }
+            sb.append("<polyline fill=\"none\" stroke=\"").append(color).append("\" stroke-width=\"2\" points=\"")
+              .append(String.join(" ", points)).append("\"/>\n");
+            for (String p : points) {
+                String[] xy = p.split(",");
+                sb.append("<circle cx=\"").append(xy[0]).append("\" cy=\"").append(xy[1])
+                  .append("\" r=\"2.5\" fill=\"").append(color).append("\"/>\n");
+            }
+            int ly = TOP + 14 * c;
+            sb.append(String.format(Locale.ROOT, "<rect x=\"%d\" y=\"%d\" width=\"10\" height=\"10\" fill=\"%s\"/>"
+                    + "<text x=\"%d\" y=\"%d\">%s</text>%n",
+                    W - RIGHT + 15, ly, color, W - RIGHT + 30, ly + 9, escape(endpoint)));
+            c++;
+        }
+        sb.append("</svg>\n");
+        return sb.toString();
+    }
+
+    private static double x(int i, int n, int plotW) {
+        return LEFT + (n == 1 ? plotW / 2.0 : plotW * (double) i / (n - 1));
+    }
+
+    /** 1, 2 or 5 times a power of ten, >= v. */
+    private static double niceCeiling(double v) {
+        double pow = Math.pow(10, Math.floor(Math.log10(Math.max(v, 0.001))));
+        for (double m : new double[]{1, 2, 5, 10}) {
+            if (m * pow >= v) return m * pow;
+        }
+        return 10 * pow;
+    }
+
+    private static String fmt(double ms) {
+        return ms == Math.rint(ms) ? String.valueOf((long) ms) : String.format(Locale.ROOT, "%.1f", ms);
+    }
+
+    private static String escape(String s) {
+        return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+}